@@ -0,0 +1,407 @@
+package com.zen.timer.app;
+
+import com.zen.timer.completion.AppendToFileAction;
+import com.zen.timer.completion.CompletionAction;
+import com.zen.timer.completion.CompletionPipeline;
+import com.zen.timer.completion.RunCommandAction;
+import com.zen.timer.control.ControlServer;
+import com.zen.timer.control.SharedStateBridge;
+import com.zen.timer.events.TimerEventBus;
+import com.zen.timer.events.WaitStrategy;
+import com.zen.timer.history.SessionHistory;
+import com.zen.timer.journal.TimerJournal;
+import com.zen.timer.preset.PresetFile;
+import com.zen.timer.service.DesktopNotificationAction;
+import com.zen.timer.service.LowPowerMode;
+import com.zen.timer.preset.PresetLibrary;
+import com.zen.timer.service.SoundService;
+import com.zen.timer.service.ThemeManager;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.shared.SharedTimerFile;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 简单的依赖注入容器，集中管理应用中需要共享的服务实例。
+ */
+public class AppContainer {
+
+    private static final System.Logger LOGGER = System.getLogger(AppContainer.class.getName());
+    private static final String ALERT_SOUNDS_PROPERTY = "nebula.alertSounds";
+    private static final String METRICS_DUMP_PROPERTY = "nebula.metrics.dumpSeconds";
+    private static final String LOW_POWER_PROPERTY = "nebula.lowPower";
+    private static final String CONTROL_PORT_PROPERTY = "nebula.control.port";
+    private static final String TIME_RENDERER_PROPERTY = "nebula.timeRenderer";
+    private static final String DASHBOARD_TIMERS_PROPERTY = "nebula.dashboard.timers";
+    private static final String COMPLETION_FILE_PROPERTY = "nebula.completion.file";
+    private static final String COMPLETION_COMMAND_PROPERTY = "nebula.completion.command";
+    private static final String NOTIFICATIONS_PROPERTY = "nebula.notifications";
+    private static final String HISTORY_PROPERTY = "nebula.history";
+    private static final String SHARED_PROPERTY = "nebula.shared";
+    private static final String EVENT_LOG_PROPERTY = "nebula.events.log";
+    private static final String METRICS_OBJECT_NAME = "com.zen.timer:type=TimerMetrics";
+    private static final String COMPLETION_METRICS_OBJECT_NAME = "com.zen.timer:type=CompletionMetrics";
+    private static final String EVENT_BUS_METRICS_OBJECT_NAME = "com.zen.timer:type=EventBusMetrics";
+    private static final long SOUND_TIMEOUT_MILLIS = 1_000;
+    private static final long COMMAND_TIMEOUT_MILLIS = 10_000;
+    private static final long COMPLETION_DRAIN_MILLIS = 2_000;
+    private static final Path DATA_DIR = Path.of(System.getProperty("user.home"), ".nebula-countdown");
+    private static final Path JOURNAL_FILE = DATA_DIR.resolve("timers.journal");
+    private static final Path PRESET_FILE = DATA_DIR.resolve("presets.bin");
+    private static final Path HISTORY_DIR = DATA_DIR.resolve("history");
+    private static final Path SHARED_FILE = DATA_DIR.resolve("shared-state.bin");
+
+    private final TimerService timerService;
+    private final TimerEventBus eventBus;
+    private final SoundService soundService;
+    private final ThemeManager themeManager;
+    private final SharedTimerFile sharedState;
+    private volatile TimerJournal journal;
+    private final SessionHistory history;
+    private final DesktopNotificationAction notifications;
+    private final CompletionPipeline completionPipeline;
+    private final ScheduledExecutorService metricsDumper;
+    private final List<ObjectName> metricsNames = new ArrayList<>();
+    private LowPowerMode lowPowerMode;
+    private ControlServer controlServer;
+    private SharedStateBridge sharedBridge;
+    private CountdownViewModel viewModel;
+    private volatile PresetLibrary presetLibrary;
+    private volatile int savedPresetModCount;
+
+    public AppContainer() {
+        this.timerService = new TimerService();
+        this.eventBus = new TimerEventBus();
+        timerService.useEventBus(eventBus);
+        startEventLog();
+        this.soundService = new SoundService(alertSounds());
+        this.themeManager = new ThemeManager();
+        this.sharedState = openSharedState();
+        // 跟随其他实例时不打开日志：压缩日志会替换拥有者正在写入的文件；接管时再打开
+        this.journal = sharedState == null || sharedState.isOwner() ? openJournal() : null;
+        this.history = openHistory();
+        this.notifications = Boolean.getBoolean(NOTIFICATIONS_PROPERTY) ? DesktopNotificationAction.create() : null;
+        this.completionPipeline = new CompletionPipeline(completionActions());
+        registerMetrics();
+        this.metricsDumper = startMetricsDump();
+    }
+
+    private void registerMetrics() {
+        registerMBean(METRICS_OBJECT_NAME, timerService.metrics());
+        registerMBean(COMPLETION_METRICS_OBJECT_NAME, completionPipeline.metrics());
+        registerMBean(EVENT_BUS_METRICS_OBJECT_NAME, eventBus.metrics());
+    }
+
+    private void registerMBean(String objectName, Object mbean) {
+        try {
+            ObjectName name = new ObjectName(objectName);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) {
+                server.registerMBean(mbean, name);
+                metricsNames.add(name);
+            }
+        } catch (JMException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "无法注册指标 MBean：" + objectName, ex);
+        }
+    }
+
+    /**
+     * 系统属性 {@code nebula.events.log=true} 时把事件总线上的主倒计时事件逐条写入日志，便于排查。
+     */
+    private void startEventLog() {
+        if (!Boolean.getBoolean(EVENT_LOG_PROPERTY)) {
+            return;
+        }
+        eventBus.addConsumer("log", (event, sequence, endOfBatch) ->
+                        LOGGER.log(System.Logger.Level.INFO, "计时器事件 #" + sequence + "：" + event),
+                WaitStrategy.BLOCKING, TimerEventBus.DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * 倒计时完成后执行的动作：提示音总是启用，同一批完成只响一次；{@code nebula.notifications=true} 时弹出托盘通知，
+     * {@code nebula.completion.file} 指定追加记录的文件，{@code nebula.completion.command} 指定要运行的命令。
+     */
+    private List<CompletionAction> completionActions() {
+        List<CompletionAction> actions = new ArrayList<>();
+        actions.add(CompletionAction.ofBatch("sound", SOUND_TIMEOUT_MILLIS, batch -> soundService.playCompletionTone()));
+        if (notifications != null) {
+            actions.add(notifications);
+        }
+        String file = System.getProperty(COMPLETION_FILE_PROPERTY, "");
+        if (!file.isBlank()) {
+            actions.add(new AppendToFileAction(Path.of(file.trim())));
+        }
+        String command = System.getProperty(COMPLETION_COMMAND_PROPERTY, "");
+        if (!command.isBlank()) {
+            actions.add(RunCommandAction.parse(command, COMMAND_TIMEOUT_MILLIS));
+        }
+        return actions;
+    }
+
+    /**
+     * 按系统属性 {@code nebula.metrics.dumpSeconds}（默认 0 表示关闭）周期性地把指标以文本写入日志。
+     */
+    private ScheduledExecutorService startMetricsDump() {
+        long seconds = Long.getLong(METRICS_DUMP_PROPERTY, 0L);
+        if (seconds <= 0) {
+            return null;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(
+                () -> LOGGER.log(System.Logger.Level.INFO,
+                        () -> "计时器指标\n" + timerService.metrics().dump() + completionPipeline.metrics().dump()
+                                + eventBus.metrics().dump()),
+                seconds, seconds, TimeUnit.SECONDS);
+        return executor;
+    }
+
+    /**
+     * 从系统属性 {@code nebula.alertSounds}（逗号分隔的文件路径）读取自定义提示音。
+     */
+    private static List<URL> alertSounds() {
+        String configured = System.getProperty(ALERT_SOUNDS_PROPERTY, "");
+        List<URL> sources = new ArrayList<>();
+        for (String path : configured.split(",")) {
+            if (path.isBlank()) {
+                continue;
+            }
+            try {
+                sources.add(Path.of(path.trim()).toUri().toURL());
+            } catch (MalformedURLException | RuntimeException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "忽略无效的提示音路径：" + path, ex);
+            }
+        }
+        return sources;
+    }
+
+    private static TimerJournal openJournal() {
+        try {
+            return TimerJournal.open(JOURNAL_FILE);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "无法打开计时器日志，将不保存运行状态：" + JOURNAL_FILE, ex);
+            return null;
+        }
+    }
+
+    /**
+     * 系统属性 {@code nebula.shared=true} 时打开多个实例共享的状态文件，并尝试成为拥有者。
+     */
+    private static SharedTimerFile openSharedState() {
+        if (!Boolean.getBoolean(SHARED_PROPERTY)) {
+            return null;
+        }
+        try {
+            SharedTimerFile file = SharedTimerFile.open(SHARED_FILE);
+            file.tryAcquireOwnership();
+            return file;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "无法打开共享状态文件，本实例单独计时：" + SHARED_FILE, ex);
+            return null;
+        }
+    }
+
+    /**
+     * 打开会话历史；系统属性 {@code nebula.history=false} 可关闭记录。
+     */
+    private static SessionHistory openHistory() {
+        if (!Boolean.parseBoolean(System.getProperty(HISTORY_PROPERTY, "true"))) {
+            return null;
+        }
+        try {
+            return SessionHistory.open(HISTORY_DIR);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "无法打开会话历史，将不记录计时会话：" + HISTORY_DIR, ex);
+            return null;
+        }
+    }
+
+    /**
+     * 在后台线程读取预设库，避免首帧等待磁盘；读取失败时退回内置预设。
+     */
+    public CompletableFuture<PresetLibrary> loadPresets() {
+        return CompletableFuture.supplyAsync(() -> {
+            PresetLibrary library;
+            try {
+                library = PresetFile.load(PRESET_FILE);
+            } catch (IOException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "无法读取预设库，改用内置预设：" + PRESET_FILE, ex);
+                library = PresetLibrary.defaults();
+            }
+            savedPresetModCount = library.modCount();
+            presetLibrary = library;
+            return library;
+        }, runnable -> {
+            Thread thread = new Thread(runnable, "preset-loader");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * 预设库有改动时保存，需在持有预设库的 FX 线程上调用。
+     */
+    private void savePresets() {
+        PresetLibrary library = presetLibrary;
+        if (library == null || library.modCount() == savedPresetModCount) {
+            return;
+        }
+        try {
+            PresetFile.save(PRESET_FILE, library);
+            savedPresetModCount = library.modCount();
+        } catch (IOException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "保存预设库失败：" + PRESET_FILE, ex);
+        }
+    }
+
+    /**
+     * 窗口隐藏或最小化时让计时引擎进入低功耗模式；系统属性 {@code nebula.lowPower=false} 可关闭。
+     */
+    public void watchVisibility(Stage stage) {
+        if (lowPowerMode == null && Boolean.parseBoolean(System.getProperty(LOW_POWER_PROPERTY, "true"))) {
+            lowPowerMode = LowPowerMode.attach(stage, timerService);
+        }
+    }
+
+    /**
+     * 设置了系统属性 {@code nebula.control.port} 时在回环地址上开放本地控制接口（0 表示随机端口）。
+     */
+    public void startControlServer(CountdownViewModel viewModel) {
+        Integer port = Integer.getInteger(CONTROL_PORT_PROPERTY);
+        if (port == null || controlServer != null) {
+            return;
+        }
+        try {
+            controlServer = ControlServer.start(viewModel, Platform::runLater, port);
+            LOGGER.log(System.Logger.Level.INFO, "本地控制接口已启动：http://127.0.0.1:" + controlServer.port() + "/timer");
+        } catch (IOException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "无法启动本地控制接口，端口：" + port, ex);
+        }
+    }
+
+    /**
+     * 启用共享状态时把视图模型接到共享文件上：拥有者照常计时并发布状态，其他实例跟随显示并转发操作。
+     * 需在恢复日志之后、UI 线程上调用。
+     */
+    public void startSharedState(CountdownViewModel viewModel) {
+        if (sharedState == null || sharedBridge != null) {
+            return;
+        }
+        try {
+            sharedBridge = SharedStateBridge.start(sharedState, viewModel, Platform::runLater, this::journalOnTakeOver);
+            LOGGER.log(System.Logger.Level.INFO, (sharedBridge.isOwner() ? "本实例驱动共享倒计时：" : "跟随共享倒计时：")
+                    + SHARED_FILE);
+        } catch (IOException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "无法启用共享状态：" + SHARED_FILE, ex);
+        }
+    }
+
+    /**
+     * 跟随的实例取得拥有权时在共享状态的轮询线程上调用：此前没有打开日志的，现在打开。
+     */
+    private TimerJournal journalOnTakeOver() {
+        if (journal == null) {
+            journal = openJournal();
+        }
+        return journal;
+    }
+
+    public CountdownViewModel provideViewModel() {
+        CountdownViewModel viewModel = new CountdownViewModel(timerService, soundService, journal);
+        viewModel.useCompletionPipeline(completionPipeline);
+        viewModel.useSessionHistory(history);
+        this.viewModel = viewModel;
+        return viewModel;
+    }
+
+    /**
+     * 系统属性 {@code nebula.timeRenderer=canvas} 时用画布与字形图集绘制时间数字，默认使用 Label。
+     */
+    public boolean useCanvasTimeDisplay() {
+        return "canvas".equalsIgnoreCase(System.getProperty(TIME_RENDERER_PROPERTY, "label"));
+    }
+
+    /**
+     * 系统属性 {@code nebula.dashboard.timers} 指定仪表盘窗口中演示计时器的数量，默认 0 表示不打开仪表盘。
+     */
+    public int dashboardTimers() {
+        return Math.max(0, Integer.getInteger(DASHBOARD_TIMERS_PROPERTY, 0));
+    }
+
+    public ThemeManager getThemeManager() {
+        return themeManager;
+    }
+
+    public void shutdown() {
+        if (metricsDumper != null) {
+            metricsDumper.shutdownNow();
+        }
+        for (ObjectName name : metricsNames) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException ex) {
+                LOGGER.log(System.Logger.Level.DEBUG, "注销指标 MBean 失败：" + name, ex);
+            }
+        }
+        savePresets();
+        if (viewModel != null) {
+            viewModel.shutdown();
+        }
+        if (controlServer != null) {
+            controlServer.stop();
+        }
+        if (sharedBridge != null) {
+            sharedBridge.stop();
+        } else if (sharedState != null) {
+            try {
+                sharedState.close();
+            } catch (IOException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "关闭共享状态文件失败", ex);
+            }
+        }
+        if (lowPowerMode != null) {
+            lowPowerMode.detach();
+        }
+        timerService.shutdown();
+        eventBus.close();
+        completionPipeline.shutdown(COMPLETION_DRAIN_MILLIS);
+        if (notifications != null) {
+            notifications.remove();
+        }
+        soundService.shutdown();
+        TimerJournal journal = this.journal;
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "关闭计时器日志失败", ex);
+            }
+        }
+        if (history != null) {
+            try {
+                history.close();
+            } catch (IOException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "关闭会话历史失败", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.zen.timer.app;
+
+import com.zen.timer.dashboard.TimerTable;
+import com.zen.timer.engine.TimerClock;
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.preset.PresetLibrary;
+import com.zen.timer.service.ThemeManager;
+import com.zen.timer.view.CountdownView;
+import com.zen.timer.view.DashboardView;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.util.List;
+
+/**
+ * 应用入口。负责初始化依赖容器、构建视图并在应用结束时清理资源。
+ */
+public class CountdownTimerApp extends Application {
+
+    private transient AppContainer container;
+
+    @Override
+    public void start(Stage primaryStage) {
+        container = new AppContainer();
+
+        CountdownViewModel viewModel = container.provideViewModel();
+        ThemeManager themeManager = container.getThemeManager();
+        CountdownView view = new CountdownView(viewModel, themeManager, container.useCanvasTimeDisplay());
+        Scene scene = view.createScene();
+
+        primaryStage.setTitle("Nebula 倒计时中心");
+        primaryStage.setScene(scene);
+        primaryStage.show();
+        container.watchVisibility(primaryStage);
+
+        viewModel.initialize();
+        container.startSharedState(viewModel);
+        container.loadPresets().thenAcceptAsync(viewModel::usePresetLibrary, Platform::runLater);
+        container.startControlServer(viewModel);
+        if (container.dashboardTimers() > 0) {
+            openDashboard(container.dashboardTimers());
+        }
+    }
+
+    /**
+     * 打开仪表盘窗口，按内置预设轮流填充演示计时器，时长错开以便同时看到各种状态。
+     */
+    private void openDashboard(int timers) {
+        TimerTable table = new TimerTable(TimerClock.system());
+        List<PresetDuration> presets = PresetLibrary.defaults().all();
+        for (int i = 0; i < timers; i++) {
+            PresetDuration preset = presets.get(i % presets.size());
+            table.start(preset.label(), Math.max(1, preset.seconds() - (i * 7L) % preset.seconds()));
+        }
+        DashboardView dashboard = new DashboardView(table);
+        Stage stage = new Stage();
+        stage.setTitle("计时器仪表盘");
+        stage.setScene(dashboard.createScene());
+        stage.setOnHidden(event -> dashboard.stop());
+        stage.show();
+    }
+
+    @Override
+    public void stop() {
+        if (container != null) {
+            container.shutdown();
+        }
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,560 @@
+package com.zen.timer.control;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.zen.timer.model.CountdownStatus;
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.model.TimerSnapshot;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import javafx.beans.value.ChangeListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 只监听回环地址的本地控制接口，供脚本与其他本地工具驱动倒计时。
+ * <ul>
+ *     <li>{@code POST /timer/start?seconds=N} 或 {@code ?preset=名称}、{@code /timer/pause}、{@code /timer/resume}、
+ *     {@code /timer/reset}、{@code /timer/preset?label=名称}：在 UI 线程上执行后返回最新状态（JSON）。</li>
+ *     <li>{@code GET /timer}：读取当前状态。</li>
+ *     <li>{@code GET /timer/events}：Server-Sent Events 状态流。</li>
+ * </ul>
+ * 事件流不为每个客户端占用线程：视图模型每次变化只在 UI 线程上编码一次 JSON，唯一的广播线程把一个批次窗口内的
+ * 多次变化合并为一帧，放进每个订阅者只保留最新一帧的槽位，由写出线程池取走写出。写失败或单次写出超过
+ * {@value #WRITE_TIMEOUT_MILLIS}ms 的订阅者会被移除，卡住的客户端不会拖慢其他订阅者。
+ * <p>
+ * 状态中的剩余时间按计时引擎的当前值计算。窗口隐藏进入低功耗模式后视图模型不再逐秒发布快照，
+ * 广播线程便在每个整秒边界自行请 UI 线程重新编码，订阅者照常每秒收到一帧。
+ * 请求由固定数量的工作线程处理，队列已满时直接拒绝连接。
+ */
+public final class ControlServer {
+
+    private static final System.Logger LOGGER = System.getLogger(ControlServer.class.getName());
+
+    private static final int WORKER_THREADS = 4;
+    private static final int WORKER_QUEUE = 256;
+    private static final int MAX_SUBSCRIBERS = 2_048;
+    private static final long REQUEST_TIMEOUT_MILLIS = 2_000;
+    private static final long WRITE_TIMEOUT_MILLIS = 2_000;
+    private static final long WRITE_TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(WRITE_TIMEOUT_MILLIS);
+    private static final long BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long HEARTBEAT_NANOS = TimeUnit.SECONDS.toNanos(15);
+    /**
+     * 整秒边界之后再等这么久仍没有收到视图模型的 tick，才由广播线程补一帧。
+     */
+    private static final long TICK_SLACK_NANOS = BATCH_NANOS;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final CountdownViewModel viewModel;
+    private final Executor uiExecutor;
+    private final HttpServer server;
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor writers;
+    private final Thread broadcaster;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicReference<String> pendingState = new AtomicReference<>();
+    private final ChangeListener<Object> stateListener = (obs, oldVal, newVal) -> stateChanged();
+    private final AtomicLong framesSent = new AtomicLong();
+    private volatile long nextTickNanos = Long.MAX_VALUE;
+    private volatile boolean running = true;
+
+    private ControlServer(CountdownViewModel viewModel, Executor uiExecutor, HttpServer server) {
+        this.viewModel = viewModel;
+        this.uiExecutor = uiExecutor;
+        this.server = server;
+        this.workers = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(WORKER_QUEUE), daemonThreads("control-http-"));
+        // 每个订阅者同一时刻至多排队一次，队列容量按订阅者上限留足
+        this.writers = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_SUBSCRIBERS + WORKER_QUEUE), daemonThreads("control-sse-writer-"));
+        this.broadcaster = new Thread(this::broadcastLoop, "control-sse");
+        broadcaster.setDaemon(true);
+    }
+
+    /**
+     * 在回环地址的 {@code port} 端口（0 表示随机端口）上启动控制接口。
+     *
+     * @param uiExecutor 视图模型所在线程的执行器，界面环境下为 {@code Platform::runLater}
+     */
+    public static ControlServer start(CountdownViewModel viewModel, Executor uiExecutor, int port) throws IOException {
+        // 内置 HttpServer 默认启用 Nagle 算法，小响应会与延迟确认叠加出约 40ms 的等待。该属性只在首次创建
+        // HttpServer 时读取，这里临时设置、创建后即清除，不改变用户显式给出的值，也不把属性留给进程里的其他代码；
+        // 若进程此前已创建过 HttpServer，则需在启动参数中加 -Dsun.net.httpserver.nodelay=true
+        boolean setNoDelay = System.getProperty(NO_DELAY_PROPERTY) == null;
+        if (setNoDelay) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        HttpServer server;
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } finally {
+            if (setNoDelay) {
+                System.clearProperty(NO_DELAY_PROPERTY);
+            }
+        }
+        ControlServer control = new ControlServer(viewModel, uiExecutor, server);
+        server.createContext("/timer", control::handle);
+        server.setExecutor(control.workers);
+        uiExecutor.execute(() -> {
+            viewModel.snapshotProperty().addListener(control.stateListener);
+            viewModel.statusProperty().addListener(control.stateListener);
+            viewModel.statusMessageProperty().addListener(control.stateListener);
+        });
+        control.broadcaster.start();
+        server.start();
+        return control;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * 已写出的事件帧总数（每个订阅者每帧计一次）。
+     */
+    public long framesSent() {
+        return framesSent.get();
+    }
+
+    public void stop() {
+        running = false;
+        uiExecutor.execute(() -> {
+            viewModel.snapshotProperty().removeListener(stateListener);
+            viewModel.statusProperty().removeListener(stateListener);
+            viewModel.statusMessageProperty().removeListener(stateListener);
+        });
+        LockSupport.unpark(broadcaster);
+        // 先中断写出线程，卡在写出上的连接随之关闭，下面的 close 不会被它们挡住
+        writers.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.exchange.close();
+        }
+        subscribers.clear();
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            switch (path) {
+                case "/timer" -> {
+                    requireMethod(exchange, "GET");
+                    respond(exchange, 200, onUi(this::encodeState));
+                }
+                case "/timer/events" -> {
+                    requireMethod(exchange, "GET");
+                    subscribe(exchange);
+                }
+                case "/timer/start" -> {
+                    requireMethod(exchange, "POST");
+                    respond(exchange, 200, onUi(() -> start(query)));
+                }
+                case "/timer/pause" -> {
+                    requireMethod(exchange, "POST");
+                    respond(exchange, 200, onUi(() -> {
+                        viewModel.pause();
+                        return encodeState();
+                    }));
+                }
+                case "/timer/resume" -> {
+                    requireMethod(exchange, "POST");
+                    respond(exchange, 200, onUi(() -> {
+                        viewModel.resume();
+                        return encodeState();
+                    }));
+                }
+                case "/timer/reset" -> {
+                    requireMethod(exchange, "POST");
+                    respond(exchange, 200, onUi(() -> {
+                        viewModel.reset();
+                        return encodeState();
+                    }));
+                }
+                case "/timer/preset" -> {
+                    requireMethod(exchange, "POST");
+                    respond(exchange, 200, onUi(() -> {
+                        viewModel.selectPreset(findPreset(query.get("label")));
+                        return encodeState();
+                    }));
+                }
+                default -> throw new RequestException(404, "没有这个接口：" + path);
+            }
+        } catch (RequestException ex) {
+            respond(exchange, ex.status, error(ex.getMessage()));
+        } catch (IllegalArgumentException ex) {
+            respond(exchange, 400, error(ex.getMessage()));
+        } catch (RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "控制接口处理请求失败：" + exchange.getRequestMethod() + " "
+                    + exchange.getRequestURI(), ex);
+            respond(exchange, 500, error("内部错误"));
+        }
+    }
+
+    /**
+     * 在 UI 线程上执行并等待结果；UI 线程长时间无响应时返回 503。
+     */
+    private String onUi(Supplier<String> action) {
+        try {
+            return CompletableFuture.supplyAsync(action, uiExecutor).get(REQUEST_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new RequestException(503, "界面线程繁忙，请稍后重试");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RequestException(503, "请求被中断");
+        }
+    }
+
+    private String start(Map<String, String> query) {
+        if (viewModel.statusProperty().get() == CountdownStatus.RUNNING) {
+            throw new RequestException(409, "倒计时正在运行，请先复位");
+        }
+        long seconds;
+        String label = query.get("preset");
+        if (label != null) {
+            PresetDuration preset = findPreset(label);
+            viewModel.selectPreset(preset);
+            seconds = preset.seconds();
+        } else {
+            String value = query.get("seconds");
+            if (value == null) {
+                throw new IllegalArgumentException("需要 seconds 或 preset 参数");
+            }
+            seconds = Long.parseLong(value);
+        }
+        if (seconds < 0 || seconds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("时长超出范围：" + seconds);
+        }
+        if (!viewModel.start(0, 0, (int) seconds)) {
+            throw new IllegalArgumentException(viewModel.statusMessageProperty().get());
+        }
+        return encodeState();
+    }
+
+    private PresetDuration findPreset(String label) {
+        if (label == null) {
+            throw new IllegalArgumentException("需要 label 参数");
+        }
+        for (PresetDuration preset : viewModel.getPresetLibrary().all()) {
+            if (preset.label().equals(label)) {
+                return preset;
+            }
+        }
+        throw new RequestException(404, "没有这个预设：" + label);
+    }
+
+    /**
+     * 发出响应头后把当前状态放进槽位再加入订阅列表，之后的帧都由写出线程池写出；处理线程随即返回，不为订阅者常驻。
+     */
+    private void subscribe(HttpExchange exchange) throws IOException {
+        if (subscribers.size() >= MAX_SUBSCRIBERS) {
+            throw new RequestException(503, "订阅者过多");
+        }
+        String state = onUi(this::encodeAndScheduleTick);
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        Subscriber subscriber = new Subscriber(exchange);
+        // 先放入初始帧再加入列表，广播线程之后放入的新帧只会覆盖它，不会被它覆盖
+        subscriber.offer(frame(state));
+        subscribers.add(subscriber);
+        // 没有订阅者时广播线程按心跳间隔休眠，需要唤醒它改按整秒边界等待
+        LockSupport.unpark(broadcaster);
+    }
+
+    /**
+     * 在 UI 线程上调用：有订阅者时编码一次状态并唤醒广播线程，未发出的旧状态直接被覆盖。
+     */
+    private void stateChanged() {
+        if (!subscribers.isEmpty()) {
+            pendingState.set(encodeAndScheduleTick());
+            LockSupport.unpark(broadcaster);
+        }
+    }
+
+    /**
+     * 在 UI 线程上调用：编码当前状态，并记下运行中的倒计时下一次跨过整秒的时刻。
+     */
+    private String encodeAndScheduleTick() {
+        String state = encodeState();
+        long remaining = viewModel.statusProperty().get() == CountdownStatus.RUNNING ? viewModel.remainingMillis() : 0;
+        if (remaining > 0) {
+            long untilSecond = remaining % 1_000 == 0 ? 1_000 : remaining % 1_000;
+            nextTickNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(untilSecond) + TICK_SLACK_NANOS;
+        } else {
+            nextTickNanos = Long.MAX_VALUE;
+        }
+        return state;
+    }
+
+    private void broadcastLoop() {
+        long lastSent = System.nanoTime();
+        while (running) {
+            expireStalledWriters();
+            if (pendingState.get() == null) {
+                // 有订阅者时至少每个写出超时醒来一次检查卡住的写出，运行中还要在下一个整秒边界醒来
+                long park = subscribers.isEmpty() ? HEARTBEAT_NANOS : WRITE_TIMEOUT_NANOS;
+                long tick = nextTickNanos;
+                if (tick != Long.MAX_VALUE && !subscribers.isEmpty()) {
+                    park = Math.max(0, Math.min(park, tick - System.nanoTime()));
+                }
+                LockSupport.parkNanos(this, park);
+                tick = nextTickNanos;
+                if (pendingState.get() == null && tick != Long.MAX_VALUE && System.nanoTime() - tick >= 0
+                        && !subscribers.isEmpty() && running) {
+                    // 视图模型没有按时发布快照（低功耗模式），由广播线程补一次
+                    nextTickNanos = Long.MAX_VALUE;
+                    uiExecutor.execute(this::stateChanged);
+                    continue;
+                }
+                if (pendingState.get() == null && System.nanoTime() - lastSent >= HEARTBEAT_NANOS) {
+                    send(HEARTBEAT);
+                    lastSent = System.nanoTime();
+                }
+                continue;
+            }
+            // 等待一个批次窗口，让紧随其后的变化合并进同一帧
+            long windowEnd = System.nanoTime() + BATCH_NANOS;
+            for (long wait = BATCH_NANOS; wait > 0 && running; wait = windowEnd - System.nanoTime()) {
+                LockSupport.parkNanos(this, wait);
+            }
+            String state = pendingState.getAndSet(null);
+            if (state != null) {
+                send(frame(state));
+                lastSent = System.nanoTime();
+            }
+        }
+    }
+
+    private void send(byte[] frame) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    /**
+     * 在广播线程上调用：移除单次写出超过 {@value #WRITE_TIMEOUT_MILLIS}ms 的订阅者，并中断其写出线程。
+     * 阻塞写出被中断时连接随之关闭，写出线程抛出异常后自行收尾。
+     */
+    private void expireStalledWriters() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            synchronized (subscriber) {
+                if (subscriber.writer != null && now - subscriber.writeStarted > WRITE_TIMEOUT_NANOS) {
+                    subscriber.expired = true;
+                    subscribers.remove(subscriber);
+                    subscriber.writer.interrupt();
+                    LOGGER.log(System.Logger.Level.INFO, "事件流订阅者写出超时，已移除："
+                            + subscriber.exchange.getRemoteAddress());
+                }
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.exchange.close();
+        LOGGER.log(System.Logger.Level.DEBUG, "事件流订阅者已断开：" + subscriber.exchange.getRemoteAddress());
+    }
+
+    private static byte[] frame(String state) {
+        return ("event: state\ndata: " + state + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 在 UI 线程上调用。
+     */
+    private String encodeState() {
+        // 不直接读快照属性：低功耗模式下它不再逐秒更新
+        TimerSnapshot snapshot = viewModel.liveSnapshot();
+        StringBuilder json = new StringBuilder(192).append('{');
+        appendString(json, "status", viewModel.statusProperty().get().name()).append(',');
+        json.append("\"remaining\":").append(snapshot.remainingSeconds()).append(',');
+        json.append("\"initial\":").append(snapshot.initialSeconds()).append(',');
+        appendString(json, "formatted", snapshot.formattedTime()).append(',');
+        appendString(json, "finish", snapshot.finishTimeText()).append(',');
+        json.append("\"progress\":").append(snapshot.progress()).append(',');
+        json.append("\"segment\":").append(viewModel.liveSegmentIndex()).append(',');
+        appendString(json, "message", viewModel.statusMessageProperty().get());
+        return json.append('}').toString();
+    }
+
+    private static String error(String message) {
+        return appendString(new StringBuilder("{"), "error", message).append('}').toString();
+    }
+
+    private static StringBuilder appendString(StringBuilder json, String name, String value) {
+        json.append('"').append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                default -> {
+                    if (ch < 0x20) {
+                        json.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        json.append(ch);
+                    }
+                }
+            }
+        }
+        return json.append('"');
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+            throw new RequestException(405, "只支持 " + method);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    /**
+     * 一个事件流订阅者：槽位只保留最新一帧，同一时刻至多有一个写出任务在排队或执行。
+     */
+    private final class Subscriber {
+
+        private final HttpExchange exchange;
+        private final AtomicReference<byte[]> latest = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        /** 正在写出的线程与开始时间，由本对象的锁保护。 */
+        private Thread writer;
+        private long writeStarted;
+        private boolean expired;
+
+        private Subscriber(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        private void offer(byte[] frame) {
+            latest.set(frame);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    drop(this);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    for (byte[] frame = latest.getAndSet(null); frame != null; frame = latest.getAndSet(null)) {
+                        write(frame);
+                        framesSent.incrementAndGet();
+                    }
+                    scheduled.set(false);
+                } while (latest.get() != null && scheduled.compareAndSet(false, true));
+            } catch (IOException ex) {
+                drop(this);
+            }
+        }
+
+        private void write(byte[] frame) throws IOException {
+            synchronized (this) {
+                writer = Thread.currentThread();
+                writeStarted = System.nanoTime();
+            }
+            boolean timedOut;
+            try {
+                OutputStream out = exchange.getResponseBody();
+                out.write(frame);
+                out.flush();
+            } finally {
+                synchronized (this) {
+                    writer = null;
+                    timedOut = expired;
+                    // 超时中断只针对这次写出，不能留给线程池里的下一个任务
+                    Thread.interrupted();
+                }
+            }
+            if (timedOut) {
+                // 中断落在写出刚完成之后，连接未被关闭，这里同样按超时处理
+                throw new IOException("写出超时");
+            }
+        }
+    }
+
+    /**
+     * 带 HTTP 状态码的请求错误。
+     */
+    private static final class RequestException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        private RequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.zen.timer.control;
+
+import com.zen.timer.journal.TimerJournal;
+import com.zen.timer.model.CountdownStatus;
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.model.TimerSnapshot;
+import com.zen.timer.shared.SharedCommand;
+import com.zen.timer.shared.SharedTimerFile;
+import com.zen.timer.shared.SharedTimerState;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import com.zen.timer.viewmodel.RemoteTimerControl;
+import javafx.beans.value.ChangeListener;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 把视图模型接到 {@link SharedTimerFile} 上，让同一台机器上的多个窗口显示同一个倒计时。
+ * <p>
+ * 拥有者照常在本地计时，每次快照或状态变化时在 UI 线程上写入槽位，并由后台线程取出命令环中的命令交给 UI 线程执行。
+ * 其他实例进入跟随模式：后台线程轮询槽位版本号，有变化时读出状态交给 UI 线程显示，用户操作写入命令环；
+ * 同时定期尝试取得文件锁，拥有者退出后由第一个抢到锁的实例从共享状态接着计时。
+ * <p>
+ * 拥有者只在状态变化时写槽位，窗口隐藏进入低功耗模式后不再逐秒写入；跟随者因此按槽位中的写入时刻自行推算剩余时间，
+ * 在每个整秒边界刷新一次显示，不依赖拥有者的 tick。
+ * <p>
+ * 轮询线程在有变化或刚发出命令后从每 {@code 100µs} 检查一次开始，之后每次没有变化就把间隔加倍，
+ * 最长 {@code 100ms}，空闲时每秒只醒来十余次。
+ */
+public final class SharedStateBridge implements RemoteTimerControl {
+
+    private static final System.Logger LOGGER = System.getLogger(SharedStateBridge.class.getName());
+
+    private static final int SLOT = 0;
+    private static final int DRAIN_BATCH = 64;
+    private static final long ACTIVE_POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long ELECTION_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long HEARTBEAT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long STALE_OWNER_MILLIS = 5_000;
+
+    private final SharedTimerFile file;
+    private final CountdownViewModel viewModel;
+    private final Executor uiExecutor;
+    private final Supplier<TimerJournal> journalOnTakeOver;
+    private final Thread poller;
+    private final AtomicReference<SharedTimerState> pendingState = new AtomicReference<>();
+    private final ChangeListener<Object> stateListener = (obs, oldVal, newVal) -> publishState();
+    private volatile boolean running = true;
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    private SharedStateBridge(SharedTimerFile file, CountdownViewModel viewModel, Executor uiExecutor,
+                              Supplier<TimerJournal> journalOnTakeOver) {
+        this.file = file;
+        this.viewModel = viewModel;
+        this.uiExecutor = uiExecutor;
+        this.journalOnTakeOver = journalOnTakeOver;
+        this.poller = new Thread(this::poll, "shared-state");
+        this.poller.setDaemon(true);
+    }
+
+    /**
+     * 在 UI 线程上调用。文件尚无拥有者时本实例成为拥有者，否则进入跟随模式并立即显示共享状态。
+     */
+    public static SharedStateBridge start(SharedTimerFile file, CountdownViewModel viewModel, Executor uiExecutor)
+            throws IOException {
+        return start(file, viewModel, uiExecutor, () -> null);
+    }
+
+    /**
+     * 同 {@link #start(SharedTimerFile, CountdownViewModel, Executor)}；跟随的实例接管时先在轮询线程上调用
+     * {@code journalOnTakeOver} 打开状态日志（回放并压缩），再交给视图模型，使接管后的倒计时同样能在崩溃后恢复。
+     * 返回 null 表示不使用日志。
+     */
+    public static SharedStateBridge start(SharedTimerFile file, CountdownViewModel viewModel, Executor uiExecutor,
+                                          Supplier<TimerJournal> journalOnTakeOver) throws IOException {
+        SharedStateBridge bridge = new SharedStateBridge(file, viewModel, uiExecutor, journalOnTakeOver);
+        if (file.tryAcquireOwnership()) {
+            bridge.publishState();
+        } else {
+            viewModel.followRemote(bridge);
+            bridge.mirror(file.read(SLOT));
+        }
+        viewModel.snapshotProperty().addListener(bridge.stateListener);
+        viewModel.statusProperty().addListener(bridge.stateListener);
+        bridge.poller.start();
+        return bridge;
+    }
+
+    public boolean isOwner() {
+        return file.isOwner();
+    }
+
+    @Override
+    public void start(long seconds) {
+        send(SharedCommand.START, seconds);
+    }
+
+    @Override
+    public void pause() {
+        send(SharedCommand.PAUSE, 0);
+    }
+
+    @Override
+    public void resume() {
+        send(SharedCommand.RESUME, 0);
+    }
+
+    @Override
+    public void reset() {
+        send(SharedCommand.RESET, 0);
+    }
+
+    /**
+     * 停止轮询并释放共享文件，拥有者退出后其他实例随即接管。需在 UI 线程上调用。
+     */
+    public void stop() {
+        running = false;
+        LockSupport.unpark(poller);
+        viewModel.snapshotProperty().removeListener(stateListener);
+        viewModel.statusProperty().removeListener(stateListener);
+        try {
+            poller.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            file.close();
+        } catch (IOException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "关闭共享状态文件失败：" + file.file(), ex);
+        }
+    }
+
+    private void send(SharedCommand command, long argument) {
+        if (!file.offer(command, SLOT, argument)) {
+            viewModel.statusMessageProperty().set("命令队列已满，请稍后再试");
+            return;
+        }
+        lastActivityNanos = System.nanoTime();
+        LockSupport.unpark(poller);
+    }
+
+    /**
+     * 拥有者在 UI 线程上把视图模型的当前状态写入槽位。
+     */
+    private void publishState() {
+        if (!file.isOwner()) {
+            return;
+        }
+        TimerSnapshot snapshot = viewModel.snapshotProperty().get();
+        PresetDuration preset = viewModel.activePresetProperty().get();
+        file.write(SLOT, new SharedTimerState(viewModel.statusProperty().get(), snapshot.initialSeconds(),
+                viewModel.remainingMillis(), System.currentTimeMillis(), preset != null ? preset.label() : ""));
+    }
+
+    private void poll() {
+        long seenVersion = -1;
+        long lastElection = 0;
+        long lastHeartbeat = 0;
+        boolean staleReported = false;
+        long seenActivity = lastActivityNanos;
+        long pollNanos = ACTIVE_POLL_NANOS;
+        SharedTimerState followed = null;
+        long nextSecondMillis = Long.MAX_VALUE;
+        while (running) {
+            long now = System.nanoTime();
+            try {
+                if (file.isOwner()) {
+                    if (file.drain(this::execute, DRAIN_BATCH) > 0) {
+                        lastActivityNanos = now;
+                    }
+                    if (now - lastHeartbeat >= HEARTBEAT_INTERVAL_NANOS) {
+                        file.heartbeat();
+                        lastHeartbeat = now;
+                    }
+                } else {
+                    long version = file.version(SLOT);
+                    if (version != seenVersion && (version & 1) == 0) {
+                        seenVersion = version;
+                        followed = file.read(SLOT);
+                        deliver(followed);
+                        nextSecondMillis = nextSecondMillis(followed);
+                        lastActivityNanos = now;
+                    } else if (System.currentTimeMillis() >= nextSecondMillis) {
+                        // 拥有者两次写入之间由跟随者自己倒数，拥有者处于低功耗模式时同样走时
+                        deliver(followed);
+                        nextSecondMillis = nextSecondMillis(followed);
+                    }
+                    if (now - lastElection >= ELECTION_INTERVAL_NANOS) {
+                        lastElection = now;
+                        if (file.tryAcquireOwnership()) {
+                            nextSecondMillis = Long.MAX_VALUE;
+                            SharedTimerState state = file.read(SLOT);
+                            // 取得锁之后原拥有者已不再写日志，此时才能压缩；文件读写放在轮询线程上
+                            TimerJournal journal = journalOnTakeOver.get();
+                            uiExecutor.execute(() -> takeOver(state, journal));
+                            continue;
+                        }
+                        boolean stale = System.currentTimeMillis() - file.ownerHeartbeatMillis() > STALE_OWNER_MILLIS;
+                        if (stale && !staleReported) {
+                            LOGGER.log(System.Logger.Level.WARNING, "共享状态的拥有者（进程 " + file.ownerPid()
+                                    + "）超过 " + STALE_OWNER_MILLIS + "ms 没有心跳，可能已无响应");
+                        }
+                        staleReported = stale;
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "共享状态轮询失败", ex);
+            }
+            long activity = lastActivityNanos;
+            if (activity != seenActivity) {
+                seenActivity = activity;
+                pollNanos = ACTIVE_POLL_NANOS;
+            } else {
+                pollNanos = Math.min(pollNanos * 2, IDLE_POLL_NANOS);
+            }
+            long park = pollNanos;
+            if (nextSecondMillis != Long.MAX_VALUE) {
+                long untilSecond = TimeUnit.MILLISECONDS.toNanos(nextSecondMillis - System.currentTimeMillis());
+                park = Math.max(0, Math.min(park, untilSecond));
+            }
+            LockSupport.parkNanos(park);
+        }
+    }
+
+    /**
+     * 运行中的状态下一次跨过整秒（显示的秒数减一）的墙上时刻，多留 1ms 避免提前醒来；不在运行时为 {@link Long#MAX_VALUE}。
+     */
+    private static long nextSecondMillis(SharedTimerState state) {
+        long now = System.currentTimeMillis();
+        long remaining = state.remainingMillisAt(now);
+        if (state.status() != CountdownStatus.RUNNING || remaining <= 0) {
+            return Long.MAX_VALUE;
+        }
+        long untilSecond = remaining % 1_000;
+        return now + (untilSecond == 0 ? 1_000 : untilSecond) + 1;
+    }
+
+    /**
+     * 把最新状态交给 UI 线程；UI 线程来不及处理时只显示最后一份。
+     */
+    private void deliver(SharedTimerState state) {
+        if (pendingState.getAndSet(state) == null) {
+            uiExecutor.execute(() -> {
+                SharedTimerState latest = pendingState.getAndSet(null);
+                if (latest != null && viewModel.isFollowingRemote()) {
+                    mirror(latest);
+                }
+            });
+        }
+    }
+
+    private void mirror(SharedTimerState state) {
+        viewModel.mirror(state.status(), state.initialSeconds(), state.remainingMillisAt(System.currentTimeMillis()));
+    }
+
+    private void takeOver(SharedTimerState state, TimerJournal journal) {
+        pendingState.set(null);
+        viewModel.takeOver(state.status(), state.initialSeconds(), state.remainingMillisAt(System.currentTimeMillis()),
+                journal);
+        publishState();
+        LOGGER.log(System.Logger.Level.INFO, "已成为共享状态的拥有者：" + file.file());
+    }
+
+    private void execute(SharedCommand command, int slot, long argument, long senderPid) {
+        uiExecutor.execute(() -> {
+            switch (command) {
+                case START -> {
+                    long seconds = Math.max(0, Math.min(argument, Integer.MAX_VALUE));
+                    viewModel.start((int) (seconds / 3_600), (int) (seconds % 3_600 / 60), (int) (seconds % 60));
+                }
+                case PAUSE -> viewModel.pause();
+                case RESUME -> viewModel.resume();
+                case RESET -> viewModel.reset();
+            }
+        });
+    }
+}
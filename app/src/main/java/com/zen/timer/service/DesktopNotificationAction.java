@@ -0,0 +1,57 @@
+package com.zen.timer.service;
+
+import com.zen.timer.completion.CompletionAction;
+import com.zen.timer.completion.CompletionEvent;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.SystemTray;
+import java.awt.TrayIcon;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+/**
+ * 通过系统托盘弹出完成通知；同一批次只弹一条，多个计时器同时完成时合并为摘要。
+ * 系统不支持托盘（包括无界面环境）时 {@link #create()} 返回 null。
+ */
+public final class DesktopNotificationAction implements CompletionAction {
+
+    private static final System.Logger LOGGER = System.getLogger(DesktopNotificationAction.class.getName());
+
+    private final TrayIcon trayIcon;
+
+    private DesktopNotificationAction(TrayIcon trayIcon) {
+        this.trayIcon = trayIcon;
+    }
+
+    public static DesktopNotificationAction create() {
+        if (GraphicsEnvironment.isHeadless() || !SystemTray.isSupported()) {
+            return null;
+        }
+        try {
+            TrayIcon icon = new TrayIcon(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB), "Nebula 倒计时中心");
+            icon.setImageAutoSize(true);
+            SystemTray.getSystemTray().add(icon);
+            return new DesktopNotificationAction(icon);
+        } catch (Exception ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "无法创建托盘图标，桌面通知已禁用", ex);
+            return null;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "notification";
+    }
+
+    @Override
+    public void execute(List<CompletionEvent> batch) {
+        String text = batch.size() == 1
+                ? batch.get(0).label() + " 时间到！"
+                : batch.size() + " 个计时器已完成，最后一个：" + batch.get(batch.size() - 1).label();
+        trayIcon.displayMessage("Nebula 倒计时中心", text, TrayIcon.MessageType.INFO);
+    }
+
+    public void remove() {
+        SystemTray.getSystemTray().remove(trayIcon);
+    }
+}
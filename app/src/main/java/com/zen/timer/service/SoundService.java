@@ -0,0 +1,240 @@
+package com.zen.timer.service;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.SourceDataLine;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 负责播放提醒声音。
+ * <p>
+ * 启动时在后台线程把提示音一次性解码为 PCM，并预先打开一条音频输出线路；播放请求只是把一个声部
+ * 放入队列，由独立的混音线程叠加所有同时进行的提示音后写入线路，因此调用方（通常是 FX 线程）不会被阻塞，
+ * 同一秒内大量计时器完成时也能同时听到。没有可用音频设备时静默降级为不发声。
+ */
+public class SoundService {
+
+    private static final System.Logger LOGGER = System.getLogger(SoundService.class.getName());
+
+    private static final float SAMPLE_RATE = 44_100f;
+    private static final int CHANNELS = 2;
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, CHANNELS, true, false);
+    private static final int CHUNK_FRAMES = 256;
+    private static final int LINE_BUFFER_BYTES = CHUNK_FRAMES * CHANNELS * 2 * 4;
+
+    private final List<URL> alertSources;
+    private final Queue<Voice> pendingVoices = new ConcurrentLinkedQueue<>();
+    private final Thread mixer;
+    private volatile boolean running = true;
+    private volatile short[][] alerts = new short[0][];
+    private volatile boolean available = true;
+
+    private final AtomicLong playedCount = new AtomicLong();
+    private final AtomicLong lastLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+
+    public SoundService() {
+        this(List.of());
+    }
+
+    /**
+     * @param alertSources 可选的提示音文件（WAV/AIFF/AU）；为空时使用内置合成的提示音
+     */
+    public SoundService(List<URL> alertSources) {
+        this.alertSources = List.copyOf(alertSources);
+        this.mixer = new Thread(this::runMixer, "sound-mixer");
+        mixer.setDaemon(true);
+        mixer.start();
+    }
+
+    public void playCompletionTone() {
+        play(0);
+    }
+
+    /**
+     * 播放第 {@code alertIndex} 个提示音，立即返回。
+     */
+    public void play(int alertIndex) {
+        if (!available || !running) {
+            return;
+        }
+        pendingVoices.offer(new Voice(alertIndex, System.nanoTime()));
+        LockSupport.unpark(mixer);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long playedCount() {
+        return playedCount.get();
+    }
+
+    /**
+     * 最近一次从请求播放到第一个采样写入音频线路的延迟。
+     */
+    public long lastLatencyNanos() {
+        return lastLatencyNanos.get();
+    }
+
+    public long maxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    public long averageLatencyNanos() {
+        long count = playedCount.get();
+        return count == 0 ? 0 : totalLatencyNanos.get() / count;
+    }
+
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(mixer);
+    }
+
+    private void runMixer() {
+        SourceDataLine line = openLine();
+        if (line == null) {
+            available = false;
+            pendingVoices.clear();
+            return;
+        }
+        alerts = decodeAlerts();
+        List<Voice> active = new ArrayList<>();
+        int[] mix = new int[CHUNK_FRAMES * CHANNELS];
+        byte[] out = new byte[mix.length * 2];
+        try {
+            while (running) {
+                Voice voice;
+                while ((voice = pendingVoices.poll()) != null) {
+                    if (voice.alertIndex >= 0 && voice.alertIndex < alerts.length) {
+                        voice.samples = alerts[voice.alertIndex];
+                        active.add(voice);
+                    }
+                }
+                if (active.isEmpty()) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                int samples = mixChunk(active, mix);
+                for (int i = 0; i < samples; i++) {
+                    int value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+                    out[i * 2] = (byte) value;
+                    out[i * 2 + 1] = (byte) (value >> 8);
+                }
+                line.write(out, 0, samples * 2);
+                recordFirstWrites(active);
+                active.removeIf(Voice::finished);
+            }
+        } finally {
+            line.drain();
+            line.close();
+        }
+    }
+
+    private int mixChunk(List<Voice> active, int[] mix) {
+        Arrays.fill(mix, 0);
+        int written = 0;
+        for (Voice voice : active) {
+            int count = Math.min(mix.length, voice.samples.length - voice.position);
+            for (int i = 0; i < count; i++) {
+                mix[i] += voice.samples[voice.position + i];
+            }
+            voice.position += count;
+            written = Math.max(written, count);
+        }
+        return written;
+    }
+
+    private void recordFirstWrites(List<Voice> active) {
+        long now = System.nanoTime();
+        for (Voice voice : active) {
+            if (!voice.started) {
+                voice.started = true;
+                long latency = now - voice.requestedAt;
+                playedCount.incrementAndGet();
+                lastLatencyNanos.set(latency);
+                totalLatencyNanos.addAndGet(latency);
+                maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            }
+        }
+    }
+
+    private SourceDataLine openLine() {
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, LINE_BUFFER_BYTES);
+            line.start();
+            return line;
+        } catch (Exception ex) {
+            LOGGER.log(System.Logger.Level.DEBUG, "没有可用的音频设备，提示音已禁用：" + ex.getMessage());
+            return null;
+        }
+    }
+
+    private short[][] decodeAlerts() {
+        if (alertSources.isEmpty()) {
+            return new short[][]{synthesizeChime()};
+        }
+        List<short[]> decoded = new ArrayList<>();
+        for (URL source : alertSources) {
+            try (AudioInputStream raw = AudioSystem.getAudioInputStream(source);
+                 AudioInputStream pcm = AudioSystem.getAudioInputStream(FORMAT, raw)) {
+                byte[] bytes = pcm.readAllBytes();
+                short[] samples = new short[bytes.length / 2];
+                for (int i = 0; i < samples.length; i++) {
+                    samples[i] = (short) ((bytes[i * 2] & 0xFF) | (bytes[i * 2 + 1] << 8));
+                }
+                decoded.add(samples);
+            } catch (Exception ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "无法解码提示音，改用内置提示音：" + source, ex);
+                decoded.add(synthesizeChime());
+            }
+        }
+        return decoded.toArray(short[][]::new);
+    }
+
+    /**
+     * 合成一段两音的柔和提示音（约 0.6 秒），带指数衰减以避免爆音。
+     */
+    private static short[] synthesizeChime() {
+        int frames = (int) (SAMPLE_RATE * 0.6f);
+        short[] samples = new short[frames * CHANNELS];
+        for (int frame = 0; frame < frames; frame++) {
+            double t = frame / (double) SAMPLE_RATE;
+            double frequency = t < 0.3 ? 880.0 : 1318.5;
+            double segment = t < 0.3 ? t : t - 0.3;
+            double attack = Math.min(1.0, segment / 0.005);
+            double envelope = attack * Math.exp(-segment * 9.0);
+            short value = (short) (Math.sin(2 * Math.PI * frequency * t) * envelope * 0.35 * Short.MAX_VALUE);
+            samples[frame * CHANNELS] = value;
+            samples[frame * CHANNELS + 1] = value;
+        }
+        return samples;
+    }
+
+    private static final class Voice {
+        private final int alertIndex;
+        private final long requestedAt;
+        private short[] samples;
+        private int position;
+        private boolean started;
+
+        private Voice(int alertIndex, long requestedAt) {
+            this.alertIndex = alertIndex;
+            this.requestedAt = requestedAt;
+        }
+
+        private boolean finished() {
+            return position >= samples.length;
+        }
+    }
+}
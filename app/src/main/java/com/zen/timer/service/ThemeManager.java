@@ -28,6 +28,13 @@ public class ThemeManager {
         root.getStyleClass().add(dark ? DARK_CLASS : LIGHT_CLASS);
     }
 
+    /**
+     * 当前主题对应的根节点样式类。
+     */
+    public String styleClass() {
+        return darkMode.get() ? DARK_CLASS : LIGHT_CLASS;
+    }
+
     public BooleanProperty darkModeProperty() {
         return darkMode;
     }
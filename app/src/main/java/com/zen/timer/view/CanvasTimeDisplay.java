@@ -0,0 +1,134 @@
+package com.zen.timer.view;
+
+import com.zen.timer.service.ThemeManager;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import javafx.beans.InvalidationListener;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+import java.util.List;
+
+/**
+ * 用 {@link Canvas} 绘制的倒计时数字，替代每次 tick 都要重新排版、查找样式与渲染阴影的 {@code Label}。
+ * <p>
+ * 字形连同阴影预先栅格化在 {@link GlyphAtlas} 中，每个主题只生成一次。每次 tick 只比较新旧文本，
+ * 清除并重绘发生变化的字符单元格；阴影会伸入相邻单元格，因此在清除区域内与之相交的字形都按裁剪区重绘一次。
+ * 文本长度、临界状态或主题变化时整体重绘。
+ */
+public class CanvasTimeDisplay {
+
+    private final CountdownViewModel viewModel;
+    private final ThemeManager themeManager;
+    private final List<String> stylesheets;
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext graphics = canvas.getGraphicsContext2D();
+
+    private GlyphAtlas atlas;
+    private int[] shown = new int[0];
+    private double[] cellX = new double[0];
+    private boolean shownCritical;
+    private long paintedCells;
+
+    /**
+     * @param stylesheets 主界面使用的样式表，字形按其中的 {@code .time-display} 样式栅格化
+     */
+    public CanvasTimeDisplay(CountdownViewModel viewModel, ThemeManager themeManager, List<String> stylesheets) {
+        this.viewModel = viewModel;
+        this.themeManager = themeManager;
+        this.stylesheets = List.copyOf(stylesheets);
+        InvalidationListener repaint = obs -> paint();
+        viewModel.formattedTimeProperty().addListener(repaint);
+        viewModel.criticalProperty().addListener(repaint);
+        themeManager.darkModeProperty().addListener(obs -> {
+            atlas = null;
+            paint();
+        });
+        paint();
+    }
+
+    public Canvas getNode() {
+        return canvas;
+    }
+
+    /**
+     * 累计重绘过的字符单元格数，用于和逐帧重绘整段文本的 {@code Label} 对比。
+     */
+    public long paintedCells() {
+        return paintedCells;
+    }
+
+    private void paint() {
+        String text = viewModel.formattedTimeProperty().get();
+        boolean critical = viewModel.criticalProperty().get();
+        boolean full = false;
+        if (atlas == null) {
+            atlas = GlyphAtlas.rasterize(stylesheets, List.of(themeManager.styleClass()));
+            full = true;
+        }
+        int[] glyphs = new int[text.length()];
+        for (int i = 0; i < glyphs.length; i++) {
+            glyphs[i] = Math.max(GlyphAtlas.indexOf(text.charAt(i)), 0);
+        }
+        if (full || glyphs.length != shown.length || critical != shownCritical) {
+            shownCritical = critical;
+            relayout(glyphs);
+            paintRegion(0, canvas.getWidth());
+            return;
+        }
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < glyphs.length; i++) {
+            if (glyphs[i] != shown[i]) {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+            }
+        }
+        if (first < 0) {
+            return;
+        }
+        System.arraycopy(glyphs, first, shown, first, last - first + 1);
+        double from = cellX[first];
+        double to = cellX[last] + atlas.tileWidth(shown[last]);
+        paintRegion(from, to);
+    }
+
+    private void relayout(int[] glyphs) {
+        shown = glyphs;
+        cellX = new double[glyphs.length];
+        double x = 0;
+        double right = 0;
+        for (int i = 0; i < glyphs.length; i++) {
+            cellX[i] = x;
+            right = Math.max(right, x + atlas.tileWidth(glyphs[i]));
+            x += atlas.advance(glyphs[i]);
+        }
+        canvas.setWidth(right);
+        canvas.setHeight(atlas.tileHeight());
+    }
+
+    /**
+     * 清除 [from, to) 的横向区域，并在该裁剪区内重绘所有与之相交的字形图块。
+     */
+    private void paintRegion(double from, double to) {
+        double height = canvas.getHeight();
+        graphics.save();
+        graphics.beginPath();
+        graphics.rect(from, 0, to - from, height);
+        graphics.clip();
+        graphics.clearRect(from, 0, to - from, height);
+        double sourceY = atlas.tileY(shownCritical);
+        for (int i = 0; i < shown.length; i++) {
+            int glyph = shown[i];
+            double width = atlas.tileWidth(glyph);
+            if (cellX[i] >= to || cellX[i] + width <= from) {
+                continue;
+            }
+            graphics.drawImage(atlas.image(), atlas.tileX(glyph), sourceY, width, atlas.tileHeight(),
+                    cellX[i], 0, width, atlas.tileHeight());
+            paintedCells++;
+        }
+        graphics.restore();
+    }
+}
@@ -1,21 +1,23 @@
 package com.zen.timer.view;
 
 import com.zen.timer.model.CountdownStatus;
-import com.zen.timer.model.PresetDuration;
+import com.zen.timer.model.SegmentSequence;
 import com.zen.timer.service.ThemeManager;
 import com.zen.timer.viewmodel.CountdownViewModel;
 import javafx.beans.binding.Bindings;
-import javafx.collections.ListChangeListener;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.geometry.VPos;
+import javafx.scene.CacheHint;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
+import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.control.Tooltip;
 import javafx.scene.layout.BorderPane;
@@ -27,17 +29,33 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.shape.Circle;
 
+import java.util.List;
+
 /**
  * 现代化的倒计时界面，包含主题切换、预设选择、进度条等新特性。
+ * <p>
+ * 启用画布渲染时，时间数字由 {@link CanvasTimeDisplay} 从字形图集绘制；光晕与主卡片的阴影拆到单独的静态节点上
+ * 并缓存为位图，每次 tick 只重绘变化的数字，不再重新计算整张卡片的高斯阴影。
  */
 public class CountdownView {
 
+    static final String STYLESHEET = "/com/zen/timer/styles/app-theme.css";
+
     private final CountdownViewModel viewModel;
     private final ThemeManager themeManager;
+    private final boolean canvasTimeDisplay;
 
     public CountdownView(CountdownViewModel viewModel, ThemeManager themeManager) {
+        this(viewModel, themeManager, false);
+    }
+
+    /**
+     * @param canvasTimeDisplay 为 true 时用画布与字形图集绘制时间数字，并缓存静态的阴影层
+     */
+    public CountdownView(CountdownViewModel viewModel, ThemeManager themeManager, boolean canvasTimeDisplay) {
         this.viewModel = viewModel;
         this.themeManager = themeManager;
+        this.canvasTimeDisplay = canvasTimeDisplay;
     }
 
     public Scene createScene() {
@@ -57,18 +75,10 @@ public class CountdownView {
         VBox header = new VBox(8, title, subtitle);
         header.setAlignment(Pos.CENTER);
 
-        Label timeDisplay = new Label();
-        timeDisplay.getStyleClass().add("time-display");
-        timeDisplay.textProperty().bind(viewModel.formattedTimeProperty());
-        viewModel.criticalProperty().addListener((obs, oldVal, newVal) -> {
-            if (newVal) {
-                if (!timeDisplay.getStyleClass().contains("critical")) {
-                    timeDisplay.getStyleClass().add("critical");
-                }
-            } else {
-                timeDisplay.getStyleClass().remove("critical");
-            }
-        });
+        String stylesheet = getClass().getResource(STYLESHEET).toExternalForm();
+        Node timeDisplay = canvasTimeDisplay
+                ? new CanvasTimeDisplay(viewModel, themeManager, List.of(stylesheet)).getNode()
+                : buildTimeLabel();
 
         ProgressBar progressBar = new ProgressBar();
         progressBar.getStyleClass().add("countdown-progress");
@@ -83,8 +93,9 @@ public class CountdownView {
         statusLabel.getStyleClass().add("status-label");
         statusLabel.textProperty().bind(viewModel.statusMessageProperty());
 
-        VBox displayCard = new VBox(16, timeDisplay, progressBar, finishLabel, statusLabel);
-        displayCard.getStyleClass().addAll("display-card", "hero-card");
+        VBox sequencePane = buildSequencePane();
+
+        VBox displayCard = new VBox(16, timeDisplay, progressBar, finishLabel, sequencePane, statusLabel);
         displayCard.setAlignment(Pos.CENTER);
         displayCard.setPadding(new Insets(28));
         displayCard.setMinWidth(360);
@@ -108,15 +119,18 @@ public class CountdownView {
         timeInputs.getStyleClass().add("time-inputs");
         timeInputs.setAlignment(Pos.CENTER);
 
-        FlowPane presetPane = new FlowPane();
-        presetPane.setHgap(12);
-        presetPane.setVgap(12);
-        presetPane.setAlignment(Pos.CENTER);
-        presetPane.setPrefWrapLength(420);
+        PresetPicker presetPicker = new PresetPicker(viewModel, preset -> {
+            hourSpinner.getValueFactory().setValue(preset.hours());
+            minuteSpinner.getValueFactory().setValue(preset.minutes());
+            secondSpinner.getValueFactory().setValue(preset.secondsPart());
+        });
+        TextField presetSearch = new TextField();
+        presetSearch.setPromptText("搜索预设：名称或分钟数");
+        presetSearch.getStyleClass().add("preset-search");
+        presetSearch.textProperty().bindBidirectional(viewModel.presetQueryProperty());
+        VBox presetPane = new VBox(10, presetSearch, presetPicker.getNode());
         presetPane.getStyleClass().add("preset-pane");
 
-        bindPresets(presetPane, hourSpinner, minuteSpinner, secondSpinner);
-
         HBox controlBar = buildControlBar(hourSpinner, minuteSpinner, secondSpinner);
         controlBar.setAlignment(Pos.CENTER_LEFT);
 
@@ -134,7 +148,15 @@ public class CountdownView {
         halo.getStyleClass().add("halo-circle");
         halo.setMouseTransparent(true);
 
-        StackPane heroStack = new StackPane(halo, displayCard);
+        StackPane heroStack = new StackPane(halo);
+        if (canvasTimeDisplay) {
+            halo.setCache(true);
+            halo.setCacheHint(CacheHint.SPEED);
+            heroStack.getChildren().addAll(buildCardBackdrop(displayCard), displayCard);
+        } else {
+            displayCard.getStyleClass().addAll("display-card", "hero-card");
+            heroStack.getChildren().add(displayCard);
+        }
         heroStack.getStyleClass().add("hero-stack");
 
         FlowPane columns = new FlowPane();
@@ -189,19 +211,72 @@ public class CountdownView {
         root.setCenter(center);
 
         Scene scene = new Scene(root, 900, 640);
-        scene.getStylesheets().add(getClass().getResource("/com/zen/timer/styles/app-theme.css").toExternalForm());
+        scene.getStylesheets().add(stylesheet);
         themeManager.bind(root);
         return scene;
     }
 
+    private Label buildTimeLabel() {
+        Label timeDisplay = new Label();
+        timeDisplay.getStyleClass().add("time-display");
+        timeDisplay.textProperty().bind(viewModel.formattedTimeProperty());
+        viewModel.criticalProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal) {
+                if (!timeDisplay.getStyleClass().contains("critical")) {
+                    timeDisplay.getStyleClass().add("critical");
+                }
+            } else {
+                timeDisplay.getStyleClass().remove("critical");
+            }
+        });
+        return timeDisplay;
+    }
+
+    /**
+     * 主卡片的背景、边框与阴影，尺寸跟随卡片；内容不在其中，缓存的位图只在卡片尺寸或主题变化时重建。
+     */
+    private Region buildCardBackdrop(Region card) {
+        Region backdrop = new Region();
+        backdrop.getStyleClass().addAll("display-card", "hero-card");
+        backdrop.setMouseTransparent(true);
+        backdrop.setCache(true);
+        backdrop.setCacheHint(CacheHint.SPEED);
+        backdrop.maxWidthProperty().bind(card.widthProperty());
+        backdrop.maxHeightProperty().bind(card.heightProperty());
+        return backdrop;
+    }
+
+    /**
+     * 分段序列的整体进度与完成时间，只在运行序列时显示。
+     */
+    private VBox buildSequencePane() {
+        ProgressBar sequenceBar = new ProgressBar();
+        sequenceBar.getStyleClass().add("sequence-progress");
+        sequenceBar.setPrefWidth(420);
+        sequenceBar.progressProperty().bind(viewModel.sequenceProgressProperty());
+
+        Label sequenceLabel = new Label();
+        sequenceLabel.getStyleClass().add("finish-time-label");
+        sequenceLabel.textProperty().bind(Bindings.concat("全部完成时间：", viewModel.sequenceFinishTextProperty()));
+
+        VBox pane = new VBox(6, sequenceBar, sequenceLabel);
+        pane.setAlignment(Pos.CENTER);
+        pane.visibleProperty().bind(viewModel.segmentIndexProperty().greaterThanOrEqualTo(0));
+        pane.managedProperty().bind(pane.visibleProperty());
+        return pane;
+    }
+
     private HBox buildControlBar(Spinner<Integer> hourSpinner, Spinner<Integer> minuteSpinner, Spinner<Integer> secondSpinner) {
         Button startButton = new Button("开始");
         Button toggleButton = new Button();
         Button resetButton = new Button("复位");
+        Button pomodoroButton = new Button("番茄钟 ×4");
+        pomodoroButton.setTooltip(new Tooltip("连续运行 4 轮专注与休息，分段之间自动衔接"));
 
         startButton.getStyleClass().add("primary-action");
         toggleButton.getStyleClass().add("secondary-action");
         resetButton.getStyleClass().add("ghost-action");
+        pomodoroButton.getStyleClass().add("ghost-action");
 
         startButton.setOnAction(event -> {
             boolean started = viewModel.start(
@@ -225,6 +300,11 @@ public class CountdownView {
 
         resetButton.setOnAction(event -> viewModel.reset());
 
+        pomodoroButton.setOnAction(event -> {
+            viewModel.selectPreset(null);
+            viewModel.startSequence(SegmentSequence.pomodoro(4));
+        });
+
         toggleButton.textProperty().bind(Bindings.createStringBinding(() -> {
             CountdownStatus status = viewModel.statusProperty().get();
             return status == CountdownStatus.RUNNING ? "暂停" : "继续";
@@ -236,49 +316,16 @@ public class CountdownView {
         }, viewModel.statusProperty()));
 
         startButton.disableProperty().bind(viewModel.runningProperty());
+        pomodoroButton.disableProperty().bind(viewModel.runningProperty());
         resetButton.disableProperty().bind(Bindings.createBooleanBinding(() -> viewModel.statusProperty().get() == CountdownStatus.IDLE,
                 viewModel.statusProperty()));
 
-        HBox controls = new HBox(18, startButton, toggleButton, resetButton);
+        HBox controls = new HBox(18, startButton, toggleButton, resetButton, pomodoroButton);
         controls.setAlignment(Pos.CENTER);
         controls.getStyleClass().add("control-bar");
         return controls;
     }
 
-    private void bindPresets(FlowPane presetPane,
-                             Spinner<Integer> hourSpinner,
-                             Spinner<Integer> minuteSpinner,
-                             Spinner<Integer> secondSpinner) {
-        viewModel.getPresets().addListener((ListChangeListener<PresetDuration>) change ->
-                rebuildPresetButtons(presetPane, hourSpinner, minuteSpinner, secondSpinner));
-        rebuildPresetButtons(presetPane, hourSpinner, minuteSpinner, secondSpinner);
-    }
-
-    private void rebuildPresetButtons(FlowPane presetPane,
-                                      Spinner<Integer> hourSpinner,
-                                      Spinner<Integer> minuteSpinner,
-                                      Spinner<Integer> secondSpinner) {
-        presetPane.getChildren().clear();
-        viewModel.getPresets().forEach(preset -> {
-            ToggleButton button = new ToggleButton(preset.label());
-            button.getStyleClass().add("preset-button");
-            button.setOnAction(event -> {
-                if (button.isSelected()) {
-                    viewModel.selectPreset(preset);
-                    hourSpinner.getValueFactory().setValue(preset.hours());
-                    minuteSpinner.getValueFactory().setValue(preset.minutes());
-                    secondSpinner.getValueFactory().setValue(preset.secondsPart());
-                } else {
-                    viewModel.selectPreset(null);
-                }
-            });
-            button.disableProperty().bind(viewModel.allowEditsProperty().not());
-            viewModel.activePresetProperty().addListener((obs, oldVal, newVal) ->
-                    button.setSelected(newVal != null && newVal.equals(preset)));
-            presetPane.getChildren().add(button);
-        });
-    }
-
     private VBox labeledBox(String labelText, Spinner<Integer> spinner) {
         Label label = new Label(labelText);
         label.getStyleClass().add("input-label");
@@ -0,0 +1,221 @@
+package com.zen.timer.view;
+
+import com.zen.timer.dashboard.TimerTable;
+import com.zen.timer.model.CountdownStatus;
+import com.zen.timer.util.TimeUtils;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * 同时显示成千上万个倒计时的仪表盘。
+ * <p>
+ * 数据来自列存的 {@link TimerTable}，界面是一块按行虚拟化的画布：每个脉冲只为可见的单元格推算剩余时间，
+ * 与上次绘制的值比较，有变化时才重绘可见区域，不可见的计时器既不格式化也不绘制。单元格不创建节点，
+ * 因此计时器数量只影响表的内存与到期扫描，不影响每帧的绘制成本。点击单元格可暂停、继续或重新开始该计时器。
+ */
+public class DashboardView {
+
+    private static final double CELL_WIDTH = 176;
+    private static final double CELL_HEIGHT = 64;
+    private static final double GAP = 8;
+    private static final Color BACKGROUND = Color.web("#141e30");
+    private static final Color CELL_RUNNING = Color.web("#243b55");
+    private static final Color CELL_PAUSED = Color.web("#3a3f58");
+    private static final Color CELL_COMPLETED = Color.web("#5a2a35");
+    private static final Color CELL_IDLE = Color.web("#2a3142");
+    private static final Color TEXT = Color.web("#f5f8ff");
+    private static final Color TEXT_DIM = Color.web("#f5f8ff", 0.6);
+    private static final Color CRITICAL = Color.web("#ff6b6b");
+    private static final Color PROGRESS = Color.web("#7f9cff");
+    private static final Font LABEL_FONT = Font.font("System", 12);
+    private static final Font TIME_FONT = Font.font("Monospaced", FontWeight.BOLD, 22);
+
+    private final TimerTable table;
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext graphics = canvas.getGraphicsContext2D();
+    private final ScrollBar scrollBar = new ScrollBar();
+    private final Label summary = new Label();
+    private final BorderPane root = new BorderPane();
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse();
+        }
+    };
+
+    private int columns = 1;
+    private int visibleRows;
+    private int laidOutSize = -1;
+    private long[] shownSeconds = new long[0];
+    private byte[] shownStatus = new byte[0];
+    private boolean layoutDirty = true;
+    private int shownRunning = -1;
+    private int shownCompleted = -1;
+    private long paintedCells;
+
+    public DashboardView(TimerTable table) {
+        this.table = table;
+        Pane host = new Pane(canvas);
+        host.setMinSize(0, 0);
+        canvas.widthProperty().bind(host.widthProperty());
+        canvas.heightProperty().bind(host.heightProperty());
+        canvas.widthProperty().addListener(obs -> layoutDirty = true);
+        canvas.heightProperty().addListener(obs -> layoutDirty = true);
+        canvas.setOnScroll(event -> scrollBar.setValue(clampRow(scrollBar.getValue() - Math.signum(event.getDeltaY()) * 3)));
+        canvas.setOnMouseClicked(event -> toggle(event.getX(), event.getY()));
+
+        scrollBar.setOrientation(Orientation.VERTICAL);
+        scrollBar.setUnitIncrement(1);
+        scrollBar.valueProperty().addListener(obs -> layoutDirty = true);
+
+        summary.getStyleClass().add("status-label");
+        BorderPane.setMargin(summary, new Insets(12, 16, 8, 16));
+        // 画布使用暗色配色，标题栏保持一致
+        root.getStyleClass().addAll("app-root", "theme-dark");
+        root.setTop(summary);
+        root.setCenter(host);
+        root.setRight(scrollBar);
+    }
+
+    public Scene createScene() {
+        Scene scene = new Scene(root, 1280, 800);
+        scene.getStylesheets().add(getClass().getResource(CountdownView.STYLESHEET).toExternalForm());
+        pulse.start();
+        return scene;
+    }
+
+    /**
+     * 停止逐帧刷新，窗口关闭时调用。
+     */
+    public void stop() {
+        pulse.stop();
+    }
+
+    /**
+     * 累计绘制过的单元格数，用于确认每帧只绘制可见区域。
+     */
+    public long paintedCells() {
+        return paintedCells;
+    }
+
+    private void onPulse() {
+        table.sweep();
+        if (table.size() != laidOutSize) {
+            layoutDirty = true;
+        }
+        if (layoutDirty) {
+            relayout();
+        }
+        long now = table.clock().nanoTime();
+        boolean dirty = layoutDirty;
+        int firstCell = (int) scrollBar.getValue() * columns;
+        int cells = Math.min(shownSeconds.length, Math.max(0, table.size() - firstCell));
+        for (int i = 0; i < cells && !dirty; i++) {
+            int row = firstCell + i;
+            dirty = table.remainingSeconds(row, now) != shownSeconds[i]
+                    || table.status(row).ordinal() != shownStatus[i];
+        }
+        if (dirty) {
+            paint(firstCell, cells, now);
+            layoutDirty = false;
+        }
+        if (table.runningCount() != shownRunning || table.completedCount() != shownCompleted) {
+            shownRunning = table.runningCount();
+            shownCompleted = table.completedCount();
+            summary.setText(String.format("共 %d 个计时器 · 运行中 %d · 已完成 %d",
+                    table.size(), shownRunning, shownCompleted));
+        }
+    }
+
+    private void relayout() {
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        columns = Math.max(1, (int) ((width - GAP) / (CELL_WIDTH + GAP)));
+        visibleRows = (int) Math.ceil((height - GAP) / (CELL_HEIGHT + GAP)) + 1;
+        int capacity = columns * visibleRows;
+        if (shownSeconds.length != capacity) {
+            shownSeconds = new long[capacity];
+            shownStatus = new byte[capacity];
+        }
+        laidOutSize = table.size();
+        int totalRows = (laidOutSize + columns - 1) / columns;
+        scrollBar.setMax(Math.max(0, totalRows - visibleRows + 1));
+        scrollBar.setVisibleAmount(visibleRows);
+        scrollBar.setValue(clampRow(scrollBar.getValue()));
+    }
+
+    private void paint(int firstCell, int cells, long now) {
+        graphics.setFill(BACKGROUND);
+        graphics.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        graphics.setTextBaseline(VPos.TOP);
+        graphics.setTextAlign(TextAlignment.LEFT);
+        for (int i = 0; i < cells; i++) {
+            int row = firstCell + i;
+            long seconds = table.remainingSeconds(row, now);
+            CountdownStatus status = table.status(row);
+            shownSeconds[i] = seconds;
+            shownStatus[i] = (byte) status.ordinal();
+            double x = GAP + (i % columns) * (CELL_WIDTH + GAP);
+            double y = GAP + (i / columns) * (CELL_HEIGHT + GAP);
+            graphics.setFill(cellColor(status));
+            graphics.fillRoundRect(x, y, CELL_WIDTH, CELL_HEIGHT, 12, 12);
+            graphics.setFont(LABEL_FONT);
+            graphics.setFill(TEXT_DIM);
+            graphics.fillText(table.label(row), x + 10, y + 6, CELL_WIDTH - 20);
+            graphics.setFont(TIME_FONT);
+            graphics.setFill(status == CountdownStatus.RUNNING && seconds <= 60 ? CRITICAL : TEXT);
+            graphics.fillText(TimeUtils.formatCached(seconds), x + 10, y + 24);
+            double progress = TimeUtils.progress(seconds, table.initialSeconds(row));
+            graphics.setFill(PROGRESS);
+            graphics.fillRect(x + 10, y + CELL_HEIGHT - 8, (CELL_WIDTH - 20) * progress, 3);
+        }
+        paintedCells += cells;
+    }
+
+    private void toggle(double x, double y) {
+        int column = (int) ((x - GAP) / (CELL_WIDTH + GAP));
+        int line = (int) ((y - GAP) / (CELL_HEIGHT + GAP));
+        if (column < 0 || column >= columns || line < 0) {
+            return;
+        }
+        int row = ((int) scrollBar.getValue() + line) * columns + column;
+        if (row >= table.size()) {
+            return;
+        }
+        switch (table.status(row)) {
+            case RUNNING -> table.pause(row);
+            case COMPLETED -> {
+                table.reset(row);
+                table.resume(row);
+            }
+            default -> table.resume(row);
+        }
+        layoutDirty = true;
+    }
+
+    private double clampRow(double value) {
+        return Math.max(0, Math.min(Math.floor(value), scrollBar.getMax()));
+    }
+
+    private static Color cellColor(CountdownStatus status) {
+        return switch (status) {
+            case RUNNING -> CELL_RUNNING;
+            case PAUSED -> CELL_PAUSED;
+            case COMPLETED -> CELL_COMPLETED;
+            case IDLE -> CELL_IDLE;
+        };
+    }
+}
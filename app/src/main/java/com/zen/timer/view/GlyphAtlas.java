@@ -0,0 +1,137 @@
+package com.zen.timer.view;
+
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+
+import java.util.List;
+
+/**
+ * 倒计时数字的字形图集：用与界面相同的样式表把 {@code 0-9} 与冒号连同阴影效果预先栅格化到一张图片上，
+ * 普通与临界两种样式各占一行。数字等宽，绘制时只需按字符查表拷贝对应区域，不再做文字排版与效果计算。
+ * 必须在 FX 线程上创建。
+ */
+final class GlyphAtlas {
+
+    static final String GLYPHS = "0123456789:";
+    private static final String TIME_DISPLAY_CLASS = "time-display";
+    private static final String CRITICAL_CLASS = "critical";
+
+    private final Image image;
+    private final double[] tileX;
+    private final double[] tileWidth;
+    private final double[] advance;
+    private final double tileHeight;
+
+    private GlyphAtlas(Image image, double[] tileX, double[] tileWidth, double[] advance, double tileHeight) {
+        this.image = image;
+        this.tileX = tileX;
+        this.tileWidth = tileWidth;
+        this.advance = advance;
+        this.tileHeight = tileHeight;
+    }
+
+    /**
+     * 在一个不显示的场景中按 {@code rootStyleClasses}（例如主题样式类）套用样式表后逐个字形截图。
+     */
+    static GlyphAtlas rasterize(List<String> stylesheets, List<String> rootStyleClasses) {
+        Label probe = new Label();
+        probe.getStyleClass().add(TIME_DISPLAY_CLASS);
+        probe.setAlignment(Pos.CENTER);
+        StackPane root = new StackPane(probe);
+        root.getStyleClass().addAll(rootStyleClasses);
+        Scene scene = new Scene(root, Color.TRANSPARENT);
+        scene.getStylesheets().setAll(stylesheets);
+
+        int glyphs = GLYPHS.length();
+        double[] advance = new double[glyphs];
+        double digitAdvance = 0;
+        for (int i = 0; i < glyphs; i++) {
+            probe.setText(GLYPHS.substring(i, i + 1));
+            probe.applyCss();
+            advance[i] = Math.ceil(probe.prefWidth(-1));
+            if (Character.isDigit(GLYPHS.charAt(i))) {
+                digitAdvance = Math.max(digitAdvance, advance[i]);
+            }
+        }
+        for (int i = 0; i < glyphs; i++) {
+            if (Character.isDigit(GLYPHS.charAt(i))) {
+                advance[i] = digitAdvance;
+            }
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        WritableImage[][] tiles = new WritableImage[2][glyphs];
+        for (int row = 0; row < 2; row++) {
+            if (row == 1) {
+                probe.getStyleClass().add(CRITICAL_CLASS);
+            }
+            for (int i = 0; i < glyphs; i++) {
+                probe.setText(GLYPHS.substring(i, i + 1));
+                probe.applyCss();
+                double height = Math.ceil(probe.prefHeight(advance[i]));
+                probe.resizeRelocate(0, 0, advance[i], height);
+                probe.layout();
+                // 截图范围包含阴影，所有字形的阴影相同，因此排版原点在各图块内的偏移一致
+                tiles[row][i] = probe.snapshot(parameters, null);
+            }
+        }
+
+        double[] tileX = new double[glyphs];
+        double[] tileWidth = new double[glyphs];
+        double x = 0;
+        int tileHeight = 0;
+        for (int i = 0; i < glyphs; i++) {
+            tileX[i] = x;
+            tileWidth[i] = Math.max(tiles[0][i].getWidth(), tiles[1][i].getWidth());
+            x += tileWidth[i];
+            tileHeight = (int) Math.max(tileHeight, Math.max(tiles[0][i].getHeight(), tiles[1][i].getHeight()));
+        }
+        WritableImage atlas = new WritableImage((int) Math.ceil(x), tileHeight * 2);
+        for (int row = 0; row < 2; row++) {
+            for (int i = 0; i < glyphs; i++) {
+                WritableImage tile = tiles[row][i];
+                atlas.getPixelWriter().setPixels((int) tileX[i], row * tileHeight,
+                        (int) tile.getWidth(), (int) tile.getHeight(), tile.getPixelReader(), 0, 0);
+            }
+        }
+        return new GlyphAtlas(atlas, tileX, tileWidth, advance, tileHeight);
+    }
+
+    static int indexOf(char glyph) {
+        return GLYPHS.indexOf(glyph);
+    }
+
+    Image image() {
+        return image;
+    }
+
+    double tileX(int glyph) {
+        return tileX[glyph];
+    }
+
+    double tileY(boolean critical) {
+        return critical ? tileHeight : 0;
+    }
+
+    double tileWidth(int glyph) {
+        return tileWidth[glyph];
+    }
+
+    double tileHeight() {
+        return tileHeight;
+    }
+
+    /**
+     * 字形占用的排版宽度；数字等宽。
+     */
+    double advance(int glyph) {
+        return advance[glyph];
+    }
+}
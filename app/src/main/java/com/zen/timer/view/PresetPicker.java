@@ -0,0 +1,106 @@
+package com.zen.timer.view;
+
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WeakChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.WeakListChangeListener;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.input.MouseEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * 虚拟化的预设选择器。
+ * <p>
+ * 直接以视图模型的预设列表作为 {@link ListView} 的数据源，列表变化时只增删受影响的单元格，
+ * 可见区域之外的预设不会创建任何节点，因此上万条预设也能保持流畅。选中状态只通过一个弱引用监听器
+ * 与 {@code activePresetProperty} 同步，不会因为预设重新加载而累积监听器。
+ */
+public class PresetPicker {
+
+    private static final double CELL_HEIGHT = 40;
+    private static final int VISIBLE_ROWS = 6;
+
+    private final CountdownViewModel viewModel;
+    private final Consumer<PresetDuration> onPicked;
+    private final ListView<PresetDuration> listView = new ListView<>();
+
+    private final ChangeListener<PresetDuration> activePresetListener = (obs, oldVal, newVal) -> syncSelection(newVal);
+    private final ListChangeListener<PresetDuration> presetsListener = change -> resync();
+
+    private boolean syncing;
+
+    /**
+     * @param onPicked 用户选中某个预设后的回调，例如把时长回填到输入框
+     */
+    public PresetPicker(CountdownViewModel viewModel, Consumer<PresetDuration> onPicked) {
+        this.viewModel = viewModel;
+        this.onPicked = onPicked;
+
+        listView.getStyleClass().add("preset-list");
+        listView.setItems(viewModel.getPresets());
+        listView.setFixedCellSize(CELL_HEIGHT);
+        listView.setCellFactory(list -> new PresetCell());
+        listView.getSelectionModel().setSelectionMode(SelectionMode.SINGLE);
+        listView.prefHeightProperty().bind(Bindings.createDoubleBinding(
+                () -> Math.max(1, Math.min(VISIBLE_ROWS, viewModel.getPresets().size())) * CELL_HEIGHT + 2,
+                viewModel.getPresets()));
+        listView.disableProperty().bind(viewModel.allowEditsProperty().not());
+
+        listView.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
+            if (!syncing && newVal != null && !newVal.equals(viewModel.activePresetProperty().get())) {
+                viewModel.selectPreset(newVal);
+                onPicked.accept(newVal);
+            }
+        });
+        viewModel.activePresetProperty().addListener(new WeakChangeListener<>(activePresetListener));
+        viewModel.getPresets().addListener(new WeakListChangeListener<>(presetsListener));
+        syncSelection(viewModel.activePresetProperty().get());
+    }
+
+    public ListView<PresetDuration> getNode() {
+        return listView;
+    }
+
+    private void resync() {
+        syncSelection(viewModel.activePresetProperty().get());
+    }
+
+    private void syncSelection(PresetDuration active) {
+        syncing = true;
+        try {
+            if (active == null) {
+                listView.getSelectionModel().clearSelection();
+            } else if (!active.equals(listView.getSelectionModel().getSelectedItem())) {
+                listView.getSelectionModel().select(active);
+            }
+        } finally {
+            syncing = false;
+        }
+    }
+
+    private final class PresetCell extends ListCell<PresetDuration> {
+
+        private PresetCell() {
+            getStyleClass().add("preset-cell");
+            // 再次点击已选中的预设时取消选择，保持与原先切换按钮一致的交互
+            addEventFilter(MouseEvent.MOUSE_PRESSED, event -> {
+                if (!isEmpty() && isSelected()) {
+                    viewModel.selectPreset(null);
+                    event.consume();
+                }
+            });
+        }
+
+        @Override
+        protected void updateItem(PresetDuration preset, boolean empty) {
+            super.updateItem(preset, empty);
+            setText(empty || preset == null ? null : preset.label());
+        }
+    }
+}
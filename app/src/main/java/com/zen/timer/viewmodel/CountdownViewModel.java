@@ -0,0 +1,827 @@
+package com.zen.timer.viewmodel;
+
+import com.zen.timer.completion.CompletionEvent;
+import com.zen.timer.completion.CompletionPipeline;
+import com.zen.timer.engine.TimerClock;
+import com.zen.timer.history.SessionHistory;
+import com.zen.timer.history.SessionOutcome;
+import com.zen.timer.journal.RecoveredTimer;
+import com.zen.timer.journal.TimerJournal;
+import com.zen.timer.model.CompiledSequence;
+import com.zen.timer.model.CountdownStatus;
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.model.SegmentSequence;
+import com.zen.timer.model.TimerSnapshot;
+import com.zen.timer.preset.PresetLibrary;
+import com.zen.timer.service.SoundService;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.util.FinishTimeEstimator;
+import com.zen.timer.util.TimeUtils;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanPropertyBase;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoublePropertyBase;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringPropertyBase;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 倒计时的视图模型，桥接 UI 与底层服务。
+ * <p>
+ * 时间相关的显示状态每次 tick 只以一个 {@link TimerSnapshot} 整体发布；格式化文本、进度、预计完成时间与临界状态
+ * 都是从快照派生的惰性属性，只有对应字段真正变化时才失效，并在被读取时才计算。
+ * <p>
+ * 运行分段序列时，快照描述的是当前分段；当前分段、整个序列的进度与预计完成时间另行暴露，只在变化时更新。
+ */
+public class CountdownViewModel {
+
+    /**
+     * 视图模型中主倒计时在日志里的标识。
+     */
+    static final long JOURNAL_ID = 1L;
+
+    /**
+     * 搜索结果最多展示的条数；搜索词为空时展示全部预设。
+     */
+    static final int PRESET_RESULT_LIMIT = 1_000;
+
+    private final TimerService timerService;
+    private final SoundService soundService;
+    private TimerJournal journal;
+    private final TimerClock clock;
+    private final FinishTimeEstimator finishEstimator;
+    private CompletionPipeline completionPipeline;
+    private final SessionRecorder sessionRecorder;
+    private RemoteTimerControl remote;
+
+    private final ReadOnlyObjectWrapper<TimerSnapshot> snapshot = new ReadOnlyObjectWrapper<>(TimerSnapshot.idle(0));
+    private volatile TimerSnapshot publishedSnapshot = snapshot.get();
+
+    private final DerivedString formattedTime = new DerivedString("formattedTime", TimerSnapshot::formattedTime);
+    private final DerivedString finishTimeText = new DerivedString("finishTimeText", TimerSnapshot::finishTimeText);
+    private final DerivedDouble progress = new DerivedDouble("progress");
+    private final DerivedBoolean critical = new DerivedBoolean("critical");
+
+    private CompiledSequence sequence;
+    private final FinishTimeEstimator sequenceFinishEstimator;
+    private final ReadOnlyIntegerWrapper segmentIndex = new ReadOnlyIntegerWrapper(-1);
+    private final ReadOnlyObjectWrapper<PresetDuration> currentSegment = new ReadOnlyObjectWrapper<>();
+    private final ReadOnlyDoubleWrapper sequenceProgress = new ReadOnlyDoubleWrapper(0);
+    private final ReadOnlyStringWrapper sequenceFinishText = new ReadOnlyStringWrapper("-");
+
+    private final StringProperty statusMessage = new SimpleStringProperty("等待开始");
+
+    private final ObjectProperty<CountdownStatus> status = new SimpleObjectProperty<>(CountdownStatus.IDLE);
+    private final BooleanProperty running = new SimpleBooleanProperty(false);
+    private final BooleanProperty allowEdits = new SimpleBooleanProperty(true);
+
+    private final ObservableList<PresetDuration> presets = FXCollections.observableArrayList();
+    private final ObservableList<PresetDuration> readOnlyPresets = FXCollections.unmodifiableObservableList(presets);
+    private final ReadOnlyObjectWrapper<PresetDuration> activePreset = new ReadOnlyObjectWrapper<>();
+    private final StringProperty presetQuery = new SimpleStringProperty("");
+    private PresetLibrary presetLibrary = PresetLibrary.defaults();
+    /** 预设库加载完成前的增删操作，换用加载结果时重放；加载完成后为 null。 */
+    private List<Consumer<PresetLibrary>> pendingPresetEdits = new ArrayList<>();
+
+    public CountdownViewModel(TimerService timerService, SoundService soundService) {
+        this(timerService, soundService, null);
+    }
+
+    /**
+     * @param journal 可选的状态日志；为 null 时不做持久化
+     */
+    public CountdownViewModel(TimerService timerService, SoundService soundService, TimerJournal journal) {
+        this(timerService, soundService, journal, TimerClock.system());
+    }
+
+    /**
+     * @param clock 预计完成时间所用的时钟；模拟运行时传入与引擎相同的虚拟时钟
+     */
+    public CountdownViewModel(TimerService timerService, SoundService soundService, TimerJournal journal, TimerClock clock) {
+        this.timerService = timerService;
+        this.clock = clock;
+        this.finishEstimator = new FinishTimeEstimator(clock::wallMillis, clock::nanoTime, ZoneId::systemDefault);
+        this.sequenceFinishEstimator = new FinishTimeEstimator(clock::wallMillis, clock::nanoTime, ZoneId::systemDefault);
+        this.soundService = soundService;
+        this.journal = journal;
+        this.sessionRecorder = new SessionRecorder(clock);
+        allowEdits.bind(running.not());
+        presetQuery.addListener((obs, oldVal, newVal) -> refreshPresets());
+        timerService.addClockListener(this::handleClockJump);
+    }
+
+    public void initialize() {
+        refreshPresets();
+        if (journal != null) {
+            journal.recovered().stream()
+                    .filter(timer -> timer.timerId() == JOURNAL_ID)
+                    .findFirst()
+                    .ifPresent(this::restore);
+        }
+    }
+
+    private void restore(RecoveredTimer timer) {
+        long secondsLeft = (timer.remainingMillis() + 999) / 1000;
+        TimerSnapshot restored = new TimerSnapshot(timer.initialSeconds(), secondsLeft, "-", false);
+        long elapsedMillis = Math.max(0, timer.initialSeconds() * 1000L - timer.remainingMillis());
+        status.set(timer.status());
+        // 停机前的开始时间没有记录，按已计时长反推；停机期间的暂停次数也无从得知
+        sessionRecorder.begin(completionLabel(), timer.initialSeconds(), elapsedMillis,
+                timer.status() == CountdownStatus.RUNNING);
+        switch (timer.status()) {
+            case RUNNING -> {
+                running.set(true);
+                publish(restored.withRemaining(secondsLeft, finishEstimator.begin(timer.remainingMillis())));
+                statusMessage.set("已恢复上次未完成的倒计时");
+                timerService.startMillis(timer.remainingMillis(), this::handleTick, this::handleCompletion);
+            }
+            case PAUSED -> {
+                publish(restored);
+                statusMessage.set("已恢复暂停中的倒计时");
+            }
+            default -> {
+                sessionRecorder.end(SessionOutcome.COMPLETED);
+                publish(new TimerSnapshot(timer.initialSeconds(), secondsLeft, "现在", false));
+                statusMessage.set("倒计时已在程序关闭期间结束");
+            }
+        }
+    }
+
+    public boolean start(int hours, int minutes, int seconds) {
+        long totalSeconds = TimeUtils.toSeconds(hours, minutes, seconds);
+        if (totalSeconds <= 0) {
+            statusMessage.set("请输入一个大于 0 的时间");
+            return false;
+        }
+        if (remote != null) {
+            remote.start(totalSeconds);
+            return true;
+        }
+        clearSequence();
+        sessionRecorder.begin(completionLabel(), totalSeconds, 0, true);
+        publish(TimerSnapshot.idle(totalSeconds).withRemaining(totalSeconds, finishEstimator.begin(totalSeconds * 1000L)));
+        running.set(true);
+        status.set(CountdownStatus.RUNNING);
+        statusMessage.set("倒计时进行中");
+        timerService.start(totalSeconds, this::handleTick, this::handleCompletion);
+        if (journal != null) {
+            journal.started(JOURNAL_ID, totalSeconds, totalSeconds * 1000L);
+        }
+        return true;
+    }
+
+    /**
+     * 启动分段序列，整个序列在调度线程上一次排定，分段之间没有间隙。
+     */
+    public void startSequence(SegmentSequence definition) {
+        if (remote != null) {
+            statusMessage.set("跟随其他窗口时无法启动分段序列");
+            return;
+        }
+        CompiledSequence compiled = definition.compile();
+        long totalSeconds = compiled.totalSeconds();
+        timerService.startSequence(compiled, this::handleSequenceTick, this::handleCompletion);
+        sequence = compiled;
+        sessionRecorder.begin(compiled.name(), totalSeconds, 0, true);
+        sequenceProgress.set(0);
+        sequenceFinishText.set(sequenceFinishEstimator.begin(totalSeconds * 1000L));
+        running.set(true);
+        status.set(CountdownStatus.RUNNING);
+        enterSegment(0, compiled.segment(0).seconds());
+        if (journal != null) {
+            journal.started(JOURNAL_ID, totalSeconds, totalSeconds * 1000L);
+        }
+    }
+
+    public void pause() {
+        if (remote != null) {
+            if (status.get() == CountdownStatus.RUNNING) {
+                remote.pause();
+            }
+            return;
+        }
+        // 已经到期的倒计时无法再暂停，完成回调随后到达
+        if (status.get() != CountdownStatus.RUNNING || !timerService.pause()) {
+            return;
+        }
+        if (journal != null) {
+            journal.paused(JOURNAL_ID, journalInitialSeconds(), timerService.remainingMillis());
+        }
+        sessionRecorder.paused();
+        running.set(false);
+        status.set(CountdownStatus.PAUSED);
+        statusMessage.set("倒计时已暂停");
+    }
+
+    public void resume() {
+        if (status.get() != CountdownStatus.PAUSED) {
+            return;
+        }
+        if (remote != null) {
+            remote.resume();
+            return;
+        }
+        running.set(true);
+        status.set(CountdownStatus.RUNNING);
+        statusMessage.set("倒计时进行中");
+        sessionRecorder.resumed();
+        TimerSnapshot current = snapshot.get();
+        long remainingMillis = timerService.remainingMillis();
+        if (!timerService.resume()) {
+            remainingMillis = current.remainingSeconds() * 1000L;
+            timerService.resume(current.remainingSeconds(), this::handleTick, this::handleCompletion);
+        }
+        publish(current.withRemaining(current.remainingSeconds(), beginFinishEstimates(remainingMillis)));
+        if (journal != null) {
+            journal.resumed(JOURNAL_ID, journalInitialSeconds(), remainingMillis);
+        }
+    }
+
+    public void reset() {
+        if (remote != null) {
+            remote.reset();
+            return;
+        }
+        timerService.stop();
+        sessionRecorder.end(SessionOutcome.RESET);
+        if (journal != null) {
+            journal.reset(JOURNAL_ID, journalInitialSeconds());
+        }
+        long initialSeconds = sequence != null ? sequence.segment(0).seconds() : snapshot.get().initialSeconds();
+        clearSequence();
+        running.set(false);
+        status.set(CountdownStatus.IDLE);
+        finishEstimator.clear();
+        publish(TimerSnapshot.idle(initialSeconds));
+        statusMessage.set("已复位，等待开始");
+    }
+
+    /**
+     * 换用后台加载完成的预设库，并按当前搜索词刷新列表。
+     * 加载期间在默认库上做的增删会重放到新库，随后由容器一并保存。
+     */
+    public void usePresetLibrary(PresetLibrary library) {
+        if (pendingPresetEdits != null) {
+            pendingPresetEdits.forEach(edit -> edit.accept(library));
+            pendingPresetEdits = null;
+        }
+        presetLibrary = library;
+        refreshPresets();
+    }
+
+    /**
+     * 倒计时完成后改由流水线在后台执行提示音等完成动作；未设置时直接播放提示音。
+     */
+    public void useCompletionPipeline(CompletionPipeline pipeline) {
+        completionPipeline = pipeline;
+    }
+
+    /**
+     * 每次倒计时结束（完成、复位或被放弃）时把会话写入历史；未设置时不记录。
+     */
+    public void useSessionHistory(SessionHistory history) {
+        sessionRecorder.use(history);
+    }
+
+    /**
+     * 程序关闭时调用。没有状态日志时进行中的会话无法在下次启动后继续，记为放弃；有日志时留待恢复后继续记录。
+     */
+    public void shutdown() {
+        if (journal == null) {
+            sessionRecorder.end(SessionOutcome.ABANDONED);
+        }
+    }
+
+    /**
+     * 跟随另一个进程中的倒计时：开始、暂停、继续与复位改为发给 {@code control}，显示的状态只由 {@link #mirror} 更新，
+     * 本地不再计时。
+     */
+    public void followRemote(RemoteTimerControl control) {
+        timerService.stop();
+        clearSequence();
+        finishEstimator.clear();
+        remote = control;
+    }
+
+    public boolean isFollowingRemote() {
+        return remote != null;
+    }
+
+    /**
+     * 跟随时显示远端写入的状态。
+     */
+    public void mirror(CountdownStatus remoteStatus, long initialSeconds, long remainingMillis) {
+        long secondsLeft = (remainingMillis + 999) / 1000;
+        CountdownStatus previous = status.get();
+        switch (remoteStatus) {
+            case RUNNING -> publish(TimerSnapshot.idle(initialSeconds)
+                    .withRemaining(secondsLeft, finishEstimator.begin(remainingMillis)));
+            case PAUSED -> publish(new TimerSnapshot(initialSeconds, secondsLeft, "-", secondsLeft <= TimerSnapshot.CRITICAL_SECONDS));
+            case COMPLETED -> publish(new TimerSnapshot(initialSeconds, 0, "现在", false));
+            case IDLE -> publish(TimerSnapshot.idle(initialSeconds));
+        }
+        running.set(remoteStatus == CountdownStatus.RUNNING);
+        status.set(remoteStatus);
+        if (previous != remoteStatus) {
+            statusMessage.set(switch (remoteStatus) {
+                case RUNNING -> "倒计时进行中";
+                case PAUSED -> "倒计时已暂停";
+                case COMPLETED -> "时间到！";
+                case IDLE -> "等待开始";
+            });
+        }
+    }
+
+    /**
+     * 停止跟随并在本地接着计时，用于原拥有者退出后接管。
+     *
+     * @param journal 接管后使用的状态日志，接管的状态会立即写入其中；为 null 时沿用构造时传入的日志
+     */
+    public void takeOver(CountdownStatus remoteStatus, long initialSeconds, long remainingMillis, TimerJournal journal) {
+        remote = null;
+        if (journal != null) {
+            this.journal = journal;
+        }
+        if (remoteStatus == CountdownStatus.RUNNING || remoteStatus == CountdownStatus.PAUSED) {
+            restore(new RecoveredTimer(JOURNAL_ID, initialSeconds, remainingMillis, remoteStatus));
+            statusMessage.set("已接管其他窗口的倒计时");
+        }
+        if (this.journal != null) {
+            // 日志里可能是原拥有者更早写下的状态，以接管时的共享状态为准
+            switch (remoteStatus) {
+                case RUNNING -> this.journal.resumed(JOURNAL_ID, initialSeconds, remainingMillis);
+                case PAUSED -> this.journal.paused(JOURNAL_ID, initialSeconds, remainingMillis);
+                default -> this.journal.reset(JOURNAL_ID, initialSeconds);
+            }
+        }
+    }
+
+    /**
+     * 当前剩余的毫秒数；运行中时直接取自计时引擎，比快照中的整秒更精确。
+     * 开始或继续时状态先于引擎切换为运行，这一瞬间的监听者读到的是快照中的整秒。
+     */
+    public long remainingMillis() {
+        if (runningLocally()) {
+            return timerService.remainingMillis();
+        }
+        return publishedSnapshot.remainingSeconds() * 1000L;
+    }
+
+    /**
+     * 按计时引擎此刻的剩余时间算出的快照，不依赖逐秒 tick。窗口隐藏进入低功耗模式后快照属性不再逐秒更新，
+     * 本地控制接口等外部读取方改用这里的值；分段序列给出当前分段的剩余时间。需在 UI 线程上调用。
+     */
+    public TimerSnapshot liveSnapshot() {
+        TimerSnapshot current = snapshot.get();
+        if (!runningLocally()) {
+            return current;
+        }
+        long secondsLeft = (timerService.remainingMillis() + 999) / 1000;
+        CompiledSequence compiled = sequence;
+        if (compiled == null) {
+            return current.withRemaining(secondsLeft, current.finishTimeText());
+        }
+        int index = compiled.indexAt(secondsLeft);
+        long segmentLeft = compiled.segmentRemaining(secondsLeft);
+        return index == segmentIndex.get()
+                ? current.withRemaining(segmentLeft, current.finishTimeText())
+                : TimerSnapshot.idle(compiled.segment(index).seconds()).withRemaining(segmentLeft, "-");
+    }
+
+    /**
+     * 与 {@link #liveSnapshot()} 对应的分段序号；没有分段序列时为 -1。需在 UI 线程上调用。
+     */
+    public int liveSegmentIndex() {
+        CompiledSequence compiled = sequence;
+        if (compiled == null || !runningLocally()) {
+            return segmentIndex.get();
+        }
+        return compiled.indexAt((timerService.remainingMillis() + 999) / 1000);
+    }
+
+    private boolean runningLocally() {
+        return remote == null && status.get() == CountdownStatus.RUNNING
+                && timerService.status() == CountdownStatus.RUNNING;
+    }
+
+    public PresetLibrary getPresetLibrary() {
+        return presetLibrary;
+    }
+
+    public boolean addPreset(PresetDuration preset) {
+        boolean added = presetLibrary.add(preset);
+        if (added) {
+            if (pendingPresetEdits != null) {
+                pendingPresetEdits.add(library -> library.add(preset));
+            }
+            refreshPresets();
+        }
+        return added;
+    }
+
+    public boolean removePreset(PresetDuration preset) {
+        boolean removed = presetLibrary.remove(preset);
+        if (removed) {
+            if (pendingPresetEdits != null) {
+                pendingPresetEdits.add(library -> library.remove(preset));
+            }
+            if (preset.equals(activePreset.get())) {
+                activePreset.set(null);
+            }
+            refreshPresets();
+        }
+        return removed;
+    }
+
+    private void refreshPresets() {
+        String query = presetQuery.get();
+        int limit = query == null || query.isBlank() ? Integer.MAX_VALUE : PRESET_RESULT_LIMIT;
+        replaceIncrementally(presets, presetLibrary.search(query, limit));
+    }
+
+    /**
+     * 只替换新旧列表之间不同的中间区段，相同的首尾部分保持不动，列表视图因此只需更新受影响的单元格。
+     */
+    static <T> void replaceIncrementally(ObservableList<T> target, List<T> next) {
+        int common = Math.min(target.size(), next.size());
+        int prefix = 0;
+        while (prefix < common && target.get(prefix).equals(next.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < common - prefix
+                && target.get(target.size() - 1 - suffix).equals(next.get(next.size() - 1 - suffix))) {
+            suffix++;
+        }
+        int oldEnd = target.size() - suffix;
+        int newEnd = next.size() - suffix;
+        if (prefix < oldEnd) {
+            target.remove(prefix, oldEnd);
+        }
+        if (prefix < newEnd) {
+            target.addAll(prefix, next.subList(prefix, newEnd));
+        }
+    }
+
+    public void selectPreset(PresetDuration preset) {
+        if (preset == null) {
+            activePreset.set(null);
+            return;
+        }
+        activePreset.set(preset);
+        clearSequence();
+        finishEstimator.clear();
+        publish(TimerSnapshot.idle(preset.seconds()).withRemaining(preset.seconds(), "-"));
+        statusMessage.set("已选择预设：" + preset.label());
+    }
+
+    private void handleTick(long secondsLeft) {
+        publish(snapshot.get().withRemaining(secondsLeft, finishEstimator.current()));
+    }
+
+    /**
+     * 序列的 tick 携带整个序列的剩余秒数，按截止时间表换算出当前分段；跨过分段边界时切换分段并提示。
+     */
+    private void handleSequenceTick(long secondsLeft) {
+        CompiledSequence current = sequence;
+        if (current == null) {
+            return;
+        }
+        int index = current.indexAt(secondsLeft);
+        long segmentLeft = current.segmentRemaining(secondsLeft);
+        if (index != segmentIndex.get()) {
+            enterSegment(index, segmentLeft);
+            soundService.playCompletionTone();
+        } else {
+            publish(snapshot.get().withRemaining(segmentLeft, finishEstimator.current()));
+        }
+        long totalSeconds = current.totalSeconds();
+        sequenceProgress.set(Math.round(TimeUtils.progress(secondsLeft, totalSeconds) * TimerSnapshot.PROGRESS_STEPS)
+                / (double) TimerSnapshot.PROGRESS_STEPS);
+        sequenceFinishText.set(sequenceFinishEstimator.current());
+    }
+
+    /**
+     * 挂起恢复或时钟跳变后，按引擎校正后的剩余时间重新计算预计完成时间；剩余秒数已由补发的 tick 更新。
+     */
+    private void handleClockJump() {
+        if (status.get() != CountdownStatus.RUNNING) {
+            return;
+        }
+        TimerSnapshot current = snapshot.get();
+        publish(current.withRemaining(current.remainingSeconds(), beginFinishEstimates(timerService.remainingMillis())));
+    }
+
+    /**
+     * 按主倒计时的剩余毫秒数重新开始完成时间估算，返回当前分段（或普通倒计时）的完成时间文本。
+     * 分段序列的剩余时间是整个序列的，当前分段只占其中到分段边界为止的部分。
+     */
+    private String beginFinishEstimates(long remainingMillis) {
+        if (sequence == null) {
+            return finishEstimator.begin(remainingMillis);
+        }
+        sequenceFinishText.set(sequenceFinishEstimator.begin(remainingMillis));
+        long boundaryMillis = (sequence.totalSeconds() - sequence.endSecond(segmentIndex.get())) * 1000L;
+        return finishEstimator.begin(remainingMillis - boundaryMillis);
+    }
+
+    private void enterSegment(int index, long segmentLeft) {
+        PresetDuration segment = sequence.segment(index);
+        segmentIndex.set(index);
+        currentSegment.set(segment);
+        publish(TimerSnapshot.idle(segment.seconds()).withRemaining(segmentLeft, finishEstimator.begin(segmentLeft * 1000L)));
+        statusMessage.set(String.format("%s：第 %d/%d 段 · %s", sequence.name(), index + 1, sequence.size(), segment.label()));
+    }
+
+    private void clearSequence() {
+        sequence = null;
+        segmentIndex.set(-1);
+        currentSegment.set(null);
+        sequenceProgress.set(0);
+        sequenceFinishEstimator.clear();
+        sequenceFinishText.set("-");
+    }
+
+    /**
+     * 日志中记录的初始时长：分段序列按整个序列记录，恢复时作为普通倒计时继续。
+     */
+    private long journalInitialSeconds() {
+        return sequence != null ? sequence.totalSeconds() : snapshot.get().initialSeconds();
+    }
+
+    private void handleCompletion() {
+        long initialSeconds = snapshot.get().initialSeconds();
+        long journalSeconds = journalInitialSeconds();
+        boolean sequenceFinished = sequence != null;
+        running.set(false);
+        status.set(CountdownStatus.COMPLETED);
+        finishEstimator.clear();
+        publish(new TimerSnapshot(initialSeconds, 0, "现在", false));
+        if (sequenceFinished) {
+            sequenceProgress.set(1);
+            sequenceFinishEstimator.clear();
+            sequenceFinishText.set("现在");
+        }
+        statusMessage.set(sequenceFinished ? sequence.name() + " 全部完成！" : "时间到！");
+        sessionRecorder.end(SessionOutcome.COMPLETED);
+        if (journal != null) {
+            journal.completed(JOURNAL_ID, journalSeconds);
+        }
+        if (completionPipeline != null) {
+            completionPipeline.submit(new CompletionEvent(JOURNAL_ID, completionLabel(), journalSeconds, clock.wallMillis()));
+        } else {
+            soundService.playCompletionTone();
+        }
+    }
+
+    private String completionLabel() {
+        if (sequence != null) {
+            return sequence.name();
+        }
+        PresetDuration preset = activePreset.get();
+        return preset != null ? preset.label() : "倒计时";
+    }
+
+    /**
+     * 发布新快照，只让字段确实变化的派生属性失效。
+     */
+    private void publish(TimerSnapshot next) {
+        TimerSnapshot previous = snapshot.get();
+        snapshot.set(next);
+        publishedSnapshot = next;
+        if (previous.remainingSeconds() != next.remainingSeconds()) {
+            formattedTime.invalidate();
+        }
+        if (previous.progressStep() != next.progressStep()) {
+            progress.invalidate();
+        }
+        if (!previous.finishTimeText().equals(next.finishTimeText())) {
+            finishTimeText.invalidate();
+        }
+        if (previous.critical() != next.critical()) {
+            critical.invalidate();
+        }
+    }
+
+    public ReadOnlyObjectProperty<TimerSnapshot> snapshotProperty() {
+        return snapshot.getReadOnlyProperty();
+    }
+
+    /**
+     * 最近发布的快照，可在任意线程读取。
+     */
+    public TimerSnapshot getSnapshot() {
+        return publishedSnapshot;
+    }
+
+    public ReadOnlyStringProperty formattedTimeProperty() {
+        return formattedTime;
+    }
+
+    public StringProperty statusMessageProperty() {
+        return statusMessage;
+    }
+
+    public ReadOnlyDoubleProperty progressProperty() {
+        return progress;
+    }
+
+    public BooleanProperty runningProperty() {
+        return running;
+    }
+
+    public ObjectProperty<CountdownStatus> statusProperty() {
+        return status;
+    }
+
+    public BooleanProperty allowEditsProperty() {
+        return allowEdits;
+    }
+
+    public ReadOnlyBooleanProperty criticalProperty() {
+        return critical;
+    }
+
+    public ReadOnlyStringProperty finishTimeTextProperty() {
+        return finishTimeText;
+    }
+
+    /**
+     * 当前搜索词对应的预设（只读），随搜索词与预设库的变化增量更新。
+     */
+    public ObservableList<PresetDuration> getPresets() {
+        return readOnlyPresets;
+    }
+
+    /**
+     * 预设搜索词：名称中某个词的前缀，或以分钟/{@code h:mm} 表示的时长。
+     */
+    public StringProperty presetQueryProperty() {
+        return presetQuery;
+    }
+
+    public ReadOnlyObjectProperty<PresetDuration> activePresetProperty() {
+        return activePreset.getReadOnlyProperty();
+    }
+
+    /**
+     * 当前分段在序列中的位置，从 0 开始；没有运行分段序列时为 -1。
+     */
+    public ReadOnlyIntegerProperty segmentIndexProperty() {
+        return segmentIndex.getReadOnlyProperty();
+    }
+
+    public ReadOnlyObjectProperty<PresetDuration> currentSegmentProperty() {
+        return currentSegment.getReadOnlyProperty();
+    }
+
+    /**
+     * 整个分段序列的进度，与 {@link #progressProperty()} 一样量化到 {@link TimerSnapshot#PROGRESS_STEPS} 级。
+     */
+    public ReadOnlyDoubleProperty sequenceProgressProperty() {
+        return sequenceProgress.getReadOnlyProperty();
+    }
+
+    /**
+     * 整个分段序列的预计完成时间。
+     */
+    public ReadOnlyStringProperty sequenceFinishTextProperty() {
+        return sequenceFinishText.getReadOnlyProperty();
+    }
+
+    public long getRemainingSeconds() {
+        return publishedSnapshot.remainingSeconds();
+    }
+
+    private final class DerivedString extends ReadOnlyStringPropertyBase {
+
+        private final String name;
+        private final Function<TimerSnapshot, String> derive;
+        private String value;
+        private boolean valid;
+
+        private DerivedString(String name, Function<TimerSnapshot, String> derive) {
+            this.name = name;
+            this.derive = derive;
+        }
+
+        @Override
+        public String get() {
+            if (!valid) {
+                value = derive.apply(snapshot.get());
+                valid = true;
+            }
+            return value;
+        }
+
+        private void invalidate() {
+            if (valid) {
+                valid = false;
+                fireValueChangedEvent();
+            }
+        }
+
+        @Override
+        public Object getBean() {
+            return CountdownViewModel.this;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final class DerivedDouble extends ReadOnlyDoublePropertyBase {
+
+        private final String name;
+        private double value;
+        private boolean valid;
+
+        private DerivedDouble(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public double get() {
+            if (!valid) {
+                value = snapshot.get().progress();
+                valid = true;
+            }
+            return value;
+        }
+
+        private void invalidate() {
+            if (valid) {
+                valid = false;
+                fireValueChangedEvent();
+            }
+        }
+
+        @Override
+        public Object getBean() {
+            return CountdownViewModel.this;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final class DerivedBoolean extends ReadOnlyBooleanPropertyBase {
+
+        private final String name;
+        private boolean value;
+        private boolean valid;
+
+        private DerivedBoolean(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean get() {
+            if (!valid) {
+                value = snapshot.get().critical();
+                valid = true;
+            }
+            return value;
+        }
+
+        private void invalidate() {
+            if (valid) {
+                valid = false;
+                fireValueChangedEvent();
+            }
+        }
+
+        @Override
+        public Object getBean() {
+            return CountdownViewModel.this;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.zen.timer.viewmodel;
+
+/**
+ * 跟随其他进程中的倒计时时，视图模型把用户操作转发到这里。
+ */
+public interface RemoteTimerControl {
+
+    void start(long seconds);
+
+    void pause();
+
+    void resume();
+
+    void reset();
+}
@@ -0,0 +1,96 @@
+package com.zen.timer.viewmodel;
+
+import com.zen.timer.engine.TimerClock;
+import com.zen.timer.history.SessionHistory;
+import com.zen.timer.history.SessionOutcome;
+import com.zen.timer.history.SessionRecord;
+
+/**
+ * 跟踪视图模型当前的计时会话，结束时写入 {@link SessionHistory}。
+ * <p>
+ * 实际时长只累加运行中的时间，按单调时钟计算；开始与结束时间取墙上时钟。只在 FX 线程上使用，
+ * 写入交给历史的后台写入线程，切换日期分区时的重写不会卡住 FX 线程。
+ */
+final class SessionRecorder {
+
+    private static final System.Logger LOGGER = System.getLogger(SessionRecorder.class.getName());
+
+    private final TimerClock clock;
+    private SessionHistory history;
+
+    private boolean active;
+    private String preset;
+    private long plannedSeconds;
+    private long startedAtMillis;
+    private int pauseCount;
+    private long runNanos;
+    private long runningSinceNanos = -1;
+
+    SessionRecorder(TimerClock clock) {
+        this.clock = clock;
+    }
+
+    void use(SessionHistory history) {
+        this.history = history;
+    }
+
+    /**
+     * 开始一次新会话；上一次会话尚未结束时记为放弃。
+     *
+     * @param elapsedMillis 会话开始前已经计时的时间，从日志恢复时使用
+     */
+    void begin(String preset, long plannedSeconds, long elapsedMillis, boolean running) {
+        end(SessionOutcome.ABANDONED);
+        this.active = true;
+        this.preset = preset;
+        this.plannedSeconds = plannedSeconds;
+        this.startedAtMillis = clock.wallMillis() - elapsedMillis;
+        this.pauseCount = 0;
+        this.runNanos = elapsedMillis * 1_000_000L;
+        this.runningSinceNanos = running ? clock.nanoTime() : -1;
+    }
+
+    void paused() {
+        if (active && runningSinceNanos >= 0) {
+            runNanos += clock.nanoTime() - runningSinceNanos;
+            runningSinceNanos = -1;
+            pauseCount++;
+        }
+    }
+
+    void resumed() {
+        if (active && runningSinceNanos < 0) {
+            runningSinceNanos = clock.nanoTime();
+        }
+    }
+
+    /**
+     * 结束当前会话并写入历史；没有进行中的会话时不做任何事。
+     */
+    void end(SessionOutcome outcome) {
+        if (!active) {
+            return;
+        }
+        active = false;
+        if (runningSinceNanos >= 0) {
+            runNanos += clock.nanoTime() - runningSinceNanos;
+            runningSinceNanos = -1;
+        }
+        if (history == null) {
+            return;
+        }
+        long actualSeconds = (runNanos + 500_000_000L) / 1_000_000_000L;
+        if (outcome == SessionOutcome.COMPLETED) {
+            // 完成时以计划时长为准，避免调度误差让同一个预设出现 1499、1500、1501 秒
+            actualSeconds = plannedSeconds;
+        }
+        long endedAtMillis = clock.wallMillis();
+        try {
+            history.recordAsync(new SessionRecord(SessionHistory.LOCAL_USER, preset, plannedSeconds,
+                    Math.min(actualSeconds, Integer.MAX_VALUE), Math.min(pauseCount, Character.MAX_VALUE),
+                    startedAtMillis, Math.max(startedAtMillis, endedAtMillis), outcome));
+        } catch (RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "写入会话历史失败", ex);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.zen.timer.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试入口。默认把结果以 JSON 写入 {@code jmh-result.json}，便于在不同版本之间比较；
+ * 显式传入 {@code -rf}/{@code -rff} 时以传入值为准，其余参数原样交给 JMH。
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(List.of(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            options.add("-rff");
+            options.add("jmh-result.json");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(String[]::new));
+    }
+}
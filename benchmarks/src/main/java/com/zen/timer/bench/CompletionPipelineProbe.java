@@ -0,0 +1,96 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.completion.AppendToFileAction;
+import com.zen.timer.completion.CompletionAction;
+import com.zen.timer.completion.CompletionEvent;
+import com.zen.timer.completion.CompletionPipeline;
+import com.zen.timer.metrics.CompletionMetrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 模拟同一秒内大量计时器完成：在提交线程（相当于 FX 线程）上一次性提交一批完成事件，
+ * 动作包括即时的提示音、写文件、每批耗时 20ms 的慢动作以及一个总会超时的卡死动作。
+ * 输出提交线程上的最长单次耗时、排空时间与流水线指标；第二轮用较小的队列展示背压下的丢弃。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.CompletionPipelineProbe 5000
+ * </pre>
+ */
+public final class CompletionPipelineProbe {
+
+    private static final long HUNG_TIMEOUT_MILLIS = 200;
+
+    private CompletionPipelineProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int completions = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        Path file = Files.createTempFile("completions", ".tsv");
+        try {
+            run("burst", completions, CompletionPipeline.DEFAULT_QUEUE_CAPACITY, file);
+            run("backpressure", completions, 512, file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void run(String scenario, int completions, int capacity, Path file) throws Exception {
+        AtomicLong sounds = new AtomicLong();
+        CompletionAction sound = CompletionAction.of("sound", 1_000, event -> sounds.incrementAndGet());
+        CompletionAction slow = new CompletionAction() {
+            @Override
+            public String name() {
+                return "slow";
+            }
+
+            @Override
+            public void execute(List<CompletionEvent> batch) throws InterruptedException {
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+        };
+        CompletionAction hung = new CompletionAction() {
+            @Override
+            public String name() {
+                return "hung";
+            }
+
+            @Override
+            public long timeoutMillis() {
+                return HUNG_TIMEOUT_MILLIS;
+            }
+
+            @Override
+            public void execute(List<CompletionEvent> batch) throws InterruptedException {
+                TimeUnit.SECONDS.sleep(30);
+            }
+        };
+        CompletionPipeline pipeline = new CompletionPipeline(
+                List.of(sound, new AppendToFileAction(file), slow, hung), capacity);
+
+        long maxSubmit = 0;
+        long started = System.nanoTime();
+        long wall = System.currentTimeMillis();
+        for (int i = 0; i < completions; i++) {
+            long before = System.nanoTime();
+            pipeline.submit(new CompletionEvent(i, "timer-" + i, 1_500, wall));
+            maxSubmit = Math.max(maxSubmit, System.nanoTime() - before);
+        }
+        long submitNanos = System.nanoTime() - started;
+        while (pipeline.queueDepth() > 0) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        long drainNanos = System.nanoTime() - started;
+
+        CompletionMetrics metrics = pipeline.metrics();
+        System.out.printf("== %s: %d completions, queue capacity %d per action%n", scenario, completions, capacity);
+        System.out.printf("submit total=%d us max=%d us  drained in %d ms  sounds=%d%n",
+                TimeUnit.NANOSECONDS.toMicros(submitNanos), TimeUnit.NANOSECONDS.toMicros(maxSubmit),
+                TimeUnit.NANOSECONDS.toMillis(drainNanos), sounds.get());
+        System.out.print(metrics.dump());
+        pipeline.shutdown(HUNG_TIMEOUT_MILLIS * 2);
+    }
+}
@@ -0,0 +1,257 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.control.ControlServer;
+import com.zen.timer.service.SoundService;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.viewmodel.CountdownViewModel;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地控制接口的负载测试：在单线程执行器模拟的 UI 线程上运行视图模型与 {@link ControlServer}，
+ * 先用并发客户端测量控制请求的延迟，再逐级增加事件流订阅者，统计每个订阅者收到的 tick 比例
+ * 以及从 UI 线程产生 tick 到客户端收到的延迟。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.ControlApiLoadTest 5 100,500,1000
+ * </pre>
+ * 参数依次为每级订阅者的采样秒数与订阅者数量列表。
+ */
+public final class ControlApiLoadTest {
+
+    private static final int CLIENTS = 8;
+    private static final int REQUESTS_PER_CLIENT = 250;
+
+    private ControlApiLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int sampleSeconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        int[] levels = Arrays.stream((args.length > 1 ? args[1] : "100,500,1000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+
+        ExecutorService ui = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulated-ui");
+            thread.setDaemon(true);
+            return thread;
+        });
+        TimerService timerService = new TimerService(ui);
+        SoundService silent = new SoundService();
+        CountdownViewModel viewModel = CompletableFuture.supplyAsync(() -> {
+            CountdownViewModel created = new CountdownViewModel(timerService, silent);
+            created.initialize();
+            return created;
+        }, ui).get();
+        Map<Long, Long> tickTimes = new ConcurrentHashMap<>();
+        ui.execute(() -> viewModel.snapshotProperty().addListener((obs, oldVal, snapshot) ->
+                tickTimes.put(snapshot.remainingSeconds(), System.nanoTime())));
+        ControlServer server = ControlServer.start(viewModel, ui, 0);
+        URI base = URI.create("http://127.0.0.1:" + server.port() + "/timer");
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        measureRequests(client, base);
+        for (int subscribers : levels) {
+            tickTimes.clear();
+            measureStream(client, base, server, subscribers, sampleSeconds, tickTimes);
+        }
+
+        server.stop();
+        timerService.shutdown();
+        silent.shutdown();
+        ui.shutdownNow();
+        System.exit(0);
+    }
+
+    /**
+     * 每个客户端交替发送读取、启动、暂停、恢复与复位请求。
+     */
+    private static void measureRequests(HttpClient client, URI base) throws Exception {
+        String[] paths = {"", "/start?seconds=600", "/pause", "/resume", "/reset"};
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        Thread[] clients = new Thread[CLIENTS];
+        long started = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            clients[c] = new Thread(() -> {
+                for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                    String path = paths[i % paths.length];
+                    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path));
+                    request = path.isEmpty() ? request.GET() : request.POST(HttpRequest.BodyPublishers.noBody());
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                        // 并发的启动请求可能遇到 409，这是预期的业务结果
+                        if (response.statusCode() != 200 && response.statusCode() != 409) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        failures.incrementAndGet();
+                    }
+                    latencies[next.getAndIncrement()] = System.nanoTime() - sent;
+                }
+            }, "control-client-" + c);
+            clients[c].start();
+        }
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        Arrays.sort(latencies);
+        System.out.printf("requests   clients=%d total=%d failures=%d throughput=%.0f/s p50=%d us p99=%d us max=%d us%n",
+                CLIENTS, latencies.length, failures.get(), latencies.length / seconds,
+                micros(percentile(latencies, 0.50)), micros(percentile(latencies, 0.99)),
+                micros(latencies[latencies.length - 1]));
+    }
+
+    private static void measureStream(HttpClient client, URI base, ControlServer server, int subscribers,
+                                      int sampleSeconds, Map<Long, Long> tickTimes) throws Exception {
+        post(client, base, "/reset");
+        List<StreamCounter> counters = new ArrayList<>(subscribers);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/events")).GET().build();
+        for (int i = 0; i < subscribers; i++) {
+            StreamCounter counter = new StreamCounter(tickTimes);
+            counters.add(counter);
+            client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(counter));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (server.subscriberCount() < subscribers && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        int connected = server.subscriberCount();
+        long framesBefore = server.framesSent();
+        counters.forEach(StreamCounter::resetCount);
+
+        post(client, base, "/start?seconds=3600");
+        TimeUnit.SECONDS.sleep(sampleSeconds);
+        long ticks = tickTimes.size();
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        long minEvents = Long.MAX_VALUE;
+        long totalEvents = 0;
+        int complete = 0;
+        List<Long> delays = new ArrayList<>();
+        for (StreamCounter counter : counters) {
+            long events = counter.events.get();
+            minEvents = Math.min(minEvents, events);
+            totalEvents += events;
+            if (events >= ticks) {
+                complete++;
+            }
+            delays.addAll(counter.delays);
+        }
+        long[] sorted = delays.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("stream     subscribers=%d connected=%d ticks=%d events/sub avg=%.1f min=%d "
+                        + "all-ticks=%.1f%% frames=%d delivery p50=%d ms p99=%d ms%n",
+                subscribers, connected, ticks, totalEvents / (double) subscribers,
+                minEvents == Long.MAX_VALUE ? 0 : minEvents, complete * 100.0 / subscribers,
+                server.framesSent() - framesBefore,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)));
+        counters.forEach(StreamCounter::cancel);
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        // 取消后的连接在下一次写入失败时才会被移除，复位产生的那一帧即可清理干净
+        post(client, base, "/reset");
+        while (server.subscriberCount() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private static void post(HttpClient client, URI base, String path) throws Exception {
+        client.send(HttpRequest.newBuilder(URI.create(base + path)).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * 统计收到的状态事件，并按剩余秒数找到 UI 线程产生该 tick 的时刻计算送达延迟。
+     */
+    private static final class StreamCounter implements Flow.Subscriber<String> {
+
+        private static final String REMAINING = "\"remaining\":";
+
+        private final Map<Long, Long> tickTimes;
+        private final AtomicLong events = new AtomicLong();
+        private final List<Long> delays = Collections.synchronizedList(new ArrayList<>());
+        private volatile Flow.Subscription subscription;
+
+        StreamCounter(Map<Long, Long> tickTimes) {
+            this.tickTimes = tickTimes;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data: ")) {
+                return;
+            }
+            events.incrementAndGet();
+            int at = line.indexOf(REMAINING);
+            if (at < 0) {
+                return;
+            }
+            int end = line.indexOf(',', at);
+            Long produced = tickTimes.get(Long.parseLong(line.substring(at + REMAINING.length(), end)));
+            if (produced != null) {
+                delays.add(System.nanoTime() - produced);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void resetCount() {
+            events.set(0);
+            delays.clear();
+        }
+
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.CallbackExecutors;
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.engine.TimerHandle;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 在全新 JVM 中只加载 timer-core：启动引擎并调度一个计时器后输出启动耗时与已加载类数量。
+ * 由 {@link StartupFootprint} 以子进程方式运行。
+ */
+public final class CoreStartupProbe {
+
+    private CoreStartupProbe() {
+    }
+
+    public static void main(String[] args) {
+        TimerEngine engine = new TimerEngine("probe-engine", CallbackExecutors.direct());
+        TimerHandle handle = engine.schedule(60, seconds -> { }, () -> { });
+        handle.remainingMillis();
+        StartupFootprint.report("timer-core");
+        engine.shutdown();
+    }
+
+    static long uptimeMillis() {
+        return ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+}
@@ -0,0 +1,131 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.dashboard.TimerTable;
+import com.zen.timer.engine.CallbackExecutors;
+import com.zen.timer.engine.TimerClock;
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.engine.TimerHandle;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.util.TimeUtils;
+import com.zen.timer.viewmodel.CountdownViewModel;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 仪表盘的内存与逐帧开销：
+ * <ul>
+ *     <li>每个计时器的堆占用，对比列存的 {@link TimerTable}、每个计时器一个引擎句柄，以及每个计时器一个
+ *     {@link CountdownViewModel}（即一套属性图）；</li>
+ *     <li>在模拟时钟上逐帧（16.7ms）执行仪表盘每个脉冲的工作：到期扫描加上为可见的 12×12 个单元格推算并格式化剩余时间。</li>
+ * </ul>
+ * 无需图形环境。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.DashboardFootprintProbe 50000
+ * </pre>
+ */
+public final class DashboardFootprintProbe {
+
+    private static final int VIEW_MODEL_SAMPLE = 2_000;
+    private static final int VISIBLE_CELLS = 144;
+    private static final long FRAME_NANOS = 16_666_667L;
+    private static final int FRAMES = 3_600;
+
+    private DashboardFootprintProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int timers = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+
+        ManualClock clock = new ManualClock();
+        long before = usedHeap();
+        TimerTable table = fill(new TimerTable(clock), timers);
+        long tableBytes = usedHeap() - before;
+        System.out.printf("TimerTable        %6d timers  %8.1f bytes/timer heap delta  (allocated columns %.1f bytes/timer)%n",
+                timers, tableBytes / (double) timers, table.columnBytes() / (double) timers);
+
+        TimerEngine engine = new TimerEngine("footprint-engine", CallbackExecutors.direct());
+        before = usedHeap();
+        TimerHandle[] handles = new TimerHandle[timers];
+        for (int i = 0; i < timers; i++) {
+            handles[i] = engine.schedule(3_600 + i, seconds -> { }, () -> { });
+        }
+        TimeUnit.MILLISECONDS.sleep(200);
+        long handleBytes = usedHeap() - before;
+        System.out.printf("TimerHandle       %6d timers  %8.1f bytes/timer%n", timers, handleBytes / (double) timers);
+        engine.shutdown();
+        Arrays.fill(handles, null);
+
+        TimerService service = new TimerService(CallbackExecutors.direct());
+        TickDispatchLatencyBenchmark.SilentSoundService sound = new TickDispatchLatencyBenchmark.SilentSoundService();
+        before = usedHeap();
+        CountdownViewModel[] viewModels = new CountdownViewModel[VIEW_MODEL_SAMPLE];
+        for (int i = 0; i < viewModels.length; i++) {
+            viewModels[i] = new CountdownViewModel(service, sound);
+        }
+        long viewModelBytes = usedHeap() - before;
+        System.out.printf("CountdownViewModel %5d timers  %8.1f bytes/timer (idle)%n",
+                VIEW_MODEL_SAMPLE, viewModelBytes / (double) VIEW_MODEL_SAMPLE);
+        service.shutdown();
+        sound.shutdown();
+
+        long[] frameNanos = new long[FRAMES];
+        long sink = 0;
+        int first = 0;
+        for (int frame = 0; frame < FRAMES; frame++) {
+            clock.now += FRAME_NANOS;
+            long started = System.nanoTime();
+            table.sweep();
+            long now = clock.nanoTime();
+            for (int i = 0; i < VISIBLE_CELLS; i++) {
+                int row = (first + i) % timers;
+                sink += TimeUtils.formatCached(table.remainingSeconds(row, now)).length() + table.status(row).ordinal();
+            }
+            frameNanos[frame] = System.nanoTime() - started;
+            first = (first + 12) % timers;
+        }
+        Arrays.sort(frameNanos);
+        System.out.printf("frame work        p50=%d us p99=%d us max=%d us  completed=%d (sink %d)%n",
+                micros(frameNanos[FRAMES / 2]), micros(frameNanos[FRAMES * 99 / 100]), micros(frameNanos[FRAMES - 1]),
+                table.completedCount(), sink);
+    }
+
+    /**
+     * 时长错开，模拟时间内持续有计时器到期，使到期扫描在大多数帧上真正执行。
+     */
+    private static TimerTable fill(TimerTable table, int timers) {
+        for (int i = 0; i < timers; i++) {
+            table.start("计时器 " + (i % 100), 1 + (i * 7L) % 3_600);
+        }
+        return table;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private static final class ManualClock implements TimerClock {
+        private long now = 1_000_000_000L;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public long wallMillis() {
+            return now / 1_000_000L;
+        }
+    }
+}
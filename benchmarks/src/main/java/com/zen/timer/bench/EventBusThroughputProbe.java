@@ -0,0 +1,145 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.events.TimerEvent;
+import com.zen.timer.events.TimerEventBus;
+import com.zen.timer.events.TimerEventHandler;
+import com.zen.timer.events.TimerEventType;
+import com.zen.timer.events.WaitStrategy;
+import com.zen.timer.metrics.EventBusMetrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 事件总线的三个场景：
+ * <ol>
+ *     <li>突发：三个消费者（分别使用阻塞、休眠、让出等待）同时在线时，发布线程连续发布，
+ *     输出每个事件的发布耗时与发布线程上的分配字节数；</li>
+ *     <li>按 tick 节奏（每 {@code 200µs} 一个事件）发布，分别测各等待方式从发布到回调返回的延迟；
+ *     自旋等待只在多于一个 CPU 时测量；</li>
+ *     <li>慢消费者：每个事件耗时 1ms 的消费者与正常消费者同时在线，环很小，展示发布线程的背压等待与摘除。</li>
+ * </ol>
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.EventBusThroughputProbe 1000000
+ * </pre>
+ */
+public final class EventBusThroughputProbe {
+
+    private static final long PACE_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final int PACED_EVENTS = 5_000;
+    private static final TimerEventHandler NO_OP = (event, sequence, endOfBatch) -> { };
+
+    private EventBusThroughputProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        burst(events);
+        List<WaitStrategy> strategies = new ArrayList<>(List.of(WaitStrategy.BLOCKING, WaitStrategy.SLEEPING,
+                WaitStrategy.YIELDING));
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            strategies.add(WaitStrategy.BUSY_SPIN);
+        }
+        for (WaitStrategy strategy : strategies) {
+            paced(strategy);
+        }
+        slowConsumer();
+    }
+
+    private static void burst(int events) throws InterruptedException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        try (TimerEventBus bus = new TimerEventBus(TimerEventBus.DEFAULT_CAPACITY, 1_000)) {
+            TimerEventBus.Consumer[] consumers = {
+                    bus.addConsumer("blocking", NO_OP, WaitStrategy.BLOCKING, TimerEventBus.DEFAULT_MAX_BATCH),
+                    bus.addConsumer("sleeping", NO_OP, WaitStrategy.SLEEPING, TimerEventBus.DEFAULT_MAX_BATCH),
+                    bus.addConsumer("yielding", NO_OP, WaitStrategy.YIELDING, TimerEventBus.DEFAULT_MAX_BATCH)
+            };
+            // 预热
+            for (int i = 0; i < 100_000; i++) {
+                bus.publish(TimerEventType.TICK, 1, i, 1_500);
+            }
+            awaitDrained(consumers);
+            bus.metrics().reset();
+            long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            long started = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                bus.publish(TimerEventType.TICK, 1, i, 1_500);
+            }
+            long elapsed = System.nanoTime() - started;
+            allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocated;
+            awaitDrained(consumers);
+            System.out.printf("== burst: %d events, 3 consumers, capacity %d%n", events, bus.capacity());
+            System.out.printf("publish %.1f ns/event, %.2f M events/s, producer allocated %d bytes (%.3f bytes/event)%n",
+                    elapsed / (double) events, events / (elapsed / 1e3), allocated, allocated / (double) events);
+            System.out.print(bus.metrics().dump());
+        }
+    }
+
+    private static void paced(WaitStrategy strategy) throws InterruptedException {
+        try (TimerEventBus bus = new TimerEventBus()) {
+            TimerEventBus.Consumer consumer = bus.addConsumer(strategy.name().toLowerCase(Locale.ROOT), NO_OP, strategy,
+                    TimerEventBus.DEFAULT_MAX_BATCH);
+            for (int i = 0; i < PACED_EVENTS / 5; i++) {
+                bus.publish(TimerEventType.TICK, 1, i, 1_500);
+                LockSupport.parkNanos(PACE_NANOS);
+            }
+            awaitDrained(consumer);
+            bus.metrics().reset();
+            for (int i = 0; i < PACED_EVENTS; i++) {
+                bus.publish(TimerEventType.TICK, 1, i, 1_500);
+                LockSupport.parkNanos(PACE_NANOS);
+            }
+            awaitDrained(consumer);
+            EventBusMetrics metrics = bus.metrics();
+            System.out.printf("== paced %-9s n=%d p50=%.1f us p99=%.1f us max=%.1f us batches=%d%n", strategy,
+                    metrics.deliveryLatency().count(), metrics.deliveryLatency().percentile(0.5) / 1e3,
+                    metrics.deliveryLatency().percentile(0.99) / 1e3, metrics.deliveryLatency().max() / 1e3,
+                    metrics.getBatches());
+        }
+    }
+
+    private static void slowConsumer() throws InterruptedException {
+        long[] overruns = new long[1];
+        try (TimerEventBus bus = new TimerEventBus(256, TimerEventBus.DEFAULT_MAX_STALL_MILLIS)) {
+            bus.addConsumer("fast", NO_OP, WaitStrategy.BLOCKING, TimerEventBus.DEFAULT_MAX_BATCH);
+            TimerEventBus.Consumer slow = bus.addConsumer("slow", new TimerEventHandler() {
+                @Override
+                public void onEvent(TimerEvent event, long sequence, boolean endOfBatch) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+
+                @Override
+                public void onOverrun(long lostEvents) {
+                    overruns[0]++;
+                }
+            }, WaitStrategy.BLOCKING, TimerEventBus.DEFAULT_MAX_BATCH);
+            int events = 10_000;
+            long maxPublish = 0;
+            long started = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                long before = System.nanoTime();
+                bus.publish(TimerEventType.TICK, 1, i, 1_500);
+                maxPublish = Math.max(maxPublish, System.nanoTime() - before);
+            }
+            long elapsed = System.nanoTime() - started;
+            TimeUnit.MILLISECONDS.sleep(50);
+            System.out.printf("== slow consumer: %d events, capacity %d, max stall %d ms%n", events, bus.capacity(),
+                    TimerEventBus.DEFAULT_MAX_STALL_MILLIS);
+            System.out.printf("published in %d ms, longest publish %.2f ms, slow consumer overruns=%d lag=%d%n",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), maxPublish / 1e6, overruns[0], slow.lag());
+            System.out.print(bus.metrics().dump());
+        }
+    }
+
+    private static void awaitDrained(TimerEventBus.Consumer... consumers) throws InterruptedException {
+        for (TimerEventBus.Consumer consumer : consumers) {
+            while (consumer.lag() > 0) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.TimerHandle;
+import com.zen.timer.service.TimerService;
+import javafx.application.Platform;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 在全新 JVM 中启动 FX 工具包并通过 timer-fx 的 {@link TimerService} 调度一个计时器，
+ * 输出启动耗时与已加载类数量。需要可用的图形环境（或 Monocle 等无头实现）。
+ */
+public final class FxStartupProbe {
+
+    private FxStartupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+        AtomicReference<TimerService> service = new AtomicReference<>();
+        CountDownLatch scheduled = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            service.set(new TimerService());
+            TimerHandle handle = service.get().schedule(60, seconds -> { }, () -> { });
+            handle.remainingMillis();
+            scheduled.countDown();
+        });
+        scheduled.await();
+        StartupFootprint.report("timer-fx");
+        service.get().shutdown();
+        Platform.exit();
+    }
+}
@@ -0,0 +1,92 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.journal.TimerJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link TimerJournal} 的写入吞吐与启动恢复耗时。
+ * <p>
+ * {@code recover} 每次从同一份模板日志（{@code timers} 个计时器，每个经历开始、暂停、继续三个事件）
+ * 开始回放、扣除停机时间并压缩，对应应用启动时的恢复预算。
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalRecoveryBenchmark {
+
+    @Param({"100000"})
+    public int timers;
+
+    private Path directory;
+    private Path template;
+    private Path working;
+    private TimerJournal appendJournal;
+    private long appendId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("nebula-journal-bench");
+        template = directory.resolve("template.journal");
+        working = directory.resolve("working.journal");
+        try (TimerJournal journal = TimerJournal.open(template)) {
+            for (long id = 0; id < timers; id++) {
+                journal.started(id, 1_500, 1_500_000);
+                journal.paused(id, 1_500, 1_200_000);
+                journal.resumed(id, 1_500, 1_200_000);
+            }
+        }
+        appendJournal = TimerJournal.open(directory.resolve("append.journal"));
+    }
+
+    @Setup(Level.Invocation)
+    public void copyTemplate() throws IOException {
+        Files.copy(template, working, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        appendJournal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public int recover() throws IOException {
+        try (TimerJournal journal = TimerJournal.open(working)) {
+            return journal.recovered().size();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public void append() {
+        appendJournal.started(appendId++ % timers, 1_500, 1_500_000);
+    }
+}
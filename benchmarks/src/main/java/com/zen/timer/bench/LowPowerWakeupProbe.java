@@ -0,0 +1,77 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.metrics.TimerMetrics;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 对比普通模式与低功耗模式下每分钟的线程唤醒次数：调度线程唤醒数取自 {@link TimerMetrics}，
+ * 回调派发数（相当于 FX 线程被唤醒刷新界面的次数）由计数执行器统计。最后退出低功耗模式，
+ * 测量所有计时器收到补发 tick 的耗时。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.LowPowerWakeupProbe 20 10
+ * </pre>
+ * 参数依次为计时器数量与每个阶段的采样秒数。
+ */
+public final class LowPowerWakeupProbe {
+
+    private static final long TIMER_SECONDS = 3_600;
+
+    private LowPowerWakeupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int timers = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int sampleSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        AtomicLong deliveries = new AtomicLong();
+        Executor counting = task -> {
+            deliveries.incrementAndGet();
+            task.run();
+        };
+        TimerEngine engine = new TimerEngine("probe-engine", counting);
+        AtomicLong ticks = new AtomicLong();
+        for (int i = 0; i < timers; i++) {
+            engine.scheduleNanos(TimeUnit.SECONDS.toNanos(TIMER_SECONDS) + i * TimeUnit.MILLISECONDS.toNanos(37),
+                    seconds -> ticks.incrementAndGet(), () -> { });
+        }
+        TimeUnit.SECONDS.sleep(1);
+
+        print("normal", sample(engine, deliveries, ticks, sampleSeconds));
+        engine.setLowPower(true);
+        TimeUnit.MILLISECONDS.sleep(100);
+        print("low-power", sample(engine, deliveries, ticks, sampleSeconds));
+
+        long before = ticks.get();
+        long started = System.nanoTime();
+        engine.setLowPower(false);
+        while (ticks.get() - before < timers && System.nanoTime() - started < TimeUnit.SECONDS.toNanos(2)) {
+            Thread.onSpinWait();
+        }
+        long resyncMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+        System.out.printf("resync     ticks=%d within %d us%n", ticks.get() - before, resyncMicros);
+        engine.shutdown();
+    }
+
+    private static long[] sample(TimerEngine engine, AtomicLong deliveries, AtomicLong ticks, int seconds)
+            throws InterruptedException {
+        TimerMetrics metrics = engine.metrics();
+        long wakeups = metrics.getDriverWakeups();
+        long delivered = deliveries.get();
+        long ticked = ticks.get();
+        TimeUnit.SECONDS.sleep(seconds);
+        double perMinute = 60.0 / seconds;
+        return new long[]{
+                Math.round((metrics.getDriverWakeups() - wakeups) * perMinute),
+                Math.round((deliveries.get() - delivered) * perMinute),
+                Math.round((ticks.get() - ticked) * perMinute)
+        };
+    }
+
+    private static void print(String mode, long[] perMinute) {
+        System.out.printf("%-10s driverWakeups/min=%d deliveries/min=%d ticks/min=%d%n",
+                mode, perMinute[0], perMinute[1], perMinute[2]);
+    }
+}
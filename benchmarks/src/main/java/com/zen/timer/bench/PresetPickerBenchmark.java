@@ -0,0 +1,127 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.preset.PresetLibrary;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.view.PresetPicker;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.ListView;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 预设数量对 {@link PresetPicker} 选择延迟与整体重载开销的影响。
+ * <p>
+ * 每次操作都在 FX 线程上完成并执行一次布局，包含单元格的复用与更新；重载使用内容相同的预设库，
+ * 衡量增量替换在没有差异时的开销。
+ * 需要可用的图形环境（或 Monocle 等无头实现），与 {@code FxStartupProbe} 相同。
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PresetPickerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int presetCount;
+
+    private TimerService timerService;
+    private CountdownViewModel viewModel;
+    private ListView<PresetDuration> listView;
+    private List<PresetDuration> presets;
+    private PresetLibrary library;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        startToolkit();
+        presets = new ArrayList<>(presetCount);
+        for (int i = 0; i < presetCount; i++) {
+            long seconds = 60L + i * 7L;
+            presets.add(new PresetDuration("预设 " + i, seconds));
+        }
+        library = new PresetLibrary();
+        library.addAll(presets);
+        onFx(() -> {
+            timerService = new TimerService(Runnable::run);
+            viewModel = new CountdownViewModel(timerService, new TickDispatchLatencyBenchmark.SilentSoundService());
+            viewModel.usePresetLibrary(library);
+            listView = new PresetPicker(viewModel, preset -> { }).getNode();
+            new Scene(listView, 420, 480);
+            listView.applyCss();
+            listView.layout();
+        });
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        onFx(() -> timerService.shutdown());
+    }
+
+    @Benchmark
+    public int selectPreset() throws Exception {
+        int index = cursor;
+        cursor = (cursor + 997) % presetCount;
+        return onFx(() -> {
+            viewModel.selectPreset(presets.get(index));
+            listView.scrollTo(index);
+            listView.layout();
+            return listView.getSelectionModel().getSelectedIndex();
+        });
+    }
+
+    @Benchmark
+    public int reloadPresets() throws Exception {
+        return onFx(() -> {
+            viewModel.usePresetLibrary(library);
+            listView.layout();
+            return listView.getItems().size();
+        });
+    }
+
+    private static void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        if (!started.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("FX 工具包未能启动，请在图形环境中运行");
+        }
+    }
+
+    private static void onFx(Runnable action) throws Exception {
+        onFx(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static <T> T onFx(Callable<T> action) throws Exception {
+        FutureTask<T> task = new FutureTask<>(action);
+        Platform.runLater(task);
+        return task.get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.preset.PresetFile;
+import com.zen.timer.preset.PresetLibrary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PresetLibrary} 在十万级预设下的类型提示查询延迟，以及从 {@link PresetFile} 冷加载并建立索引的耗时。
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PresetSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "番茄钟", "专注", "深度工作", "短休息", "长休息", "晨练", "阅读", "冥想", "站会", "复盘",
+            "focus", "sprint", "review", "standup", "break", "reading", "workout", "meeting", "design", "deploy"
+    };
+    private static final String[] QUERIES = {"f", "fo", "foc", "专注", "深度", "s", "sprint 1", "25", "1:30", "tea"};
+
+    @Param({"100000"})
+    public int presetCount;
+
+    private PresetLibrary library;
+    private Path file;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        library = new PresetLibrary();
+        for (int i = 0; i < presetCount; i++) {
+            String label = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + i + " · " + (random.nextInt(180) + 1) + " 分钟";
+            library.add(new PresetDuration(label, (random.nextInt(180) + 1) * 60L));
+        }
+        file = Files.createTempFile("presets", ".bin");
+        PresetFile.save(file, library);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<PresetDuration> typeAhead() {
+        String query = QUERIES[cursor];
+        cursor = (cursor + 1) % QUERIES.length;
+        return library.search(query, 50);
+    }
+
+    @Benchmark
+    public List<PresetDuration> byDuration() {
+        return library.byDuration(25 * 60, 30 * 60, 50);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public PresetLibrary loadFromFile() throws IOException {
+        return PresetFile.load(file);
+    }
+}
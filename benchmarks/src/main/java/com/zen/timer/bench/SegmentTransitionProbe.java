@@ -0,0 +1,74 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.model.CompiledSequence;
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.model.SegmentSequence;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 对比两种连续运行多个分段的方式：完成回调里重新启动下一段（原先番茄钟的做法），
+ * 与一次编译好的分段序列。回调经由单线程执行器派发，模拟 FX 线程的跳转。
+ * 输出整个序列实际结束时间相对理想结束时间的漂移，以及平均每次切换引入的间隙。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.SegmentTransitionProbe 10
+ * </pre>
+ */
+public final class SegmentTransitionProbe {
+
+    private SegmentTransitionProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int segments = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        ExecutorService callbacks = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "probe-callbacks");
+            thread.setDaemon(true);
+            return thread;
+        });
+        TimerEngine engine = new TimerEngine("probe-engine", callbacks);
+        print("chained", segments, chained(engine, segments));
+        print("sequence", segments, sequence(engine, segments));
+        engine.shutdown();
+        callbacks.shutdownNow();
+    }
+
+    private static long chained(TimerEngine engine, int segments) throws Exception {
+        CompletableFuture<Long> finished = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(segments);
+        long started = System.nanoTime();
+        Runnable[] next = new Runnable[1];
+        next[0] = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                finished.complete(System.nanoTime());
+            } else {
+                engine.schedule(1, seconds -> { }, next[0]);
+            }
+        };
+        engine.schedule(1, seconds -> { }, next[0]);
+        return finished.get(segments * 2L, TimeUnit.SECONDS) - started;
+    }
+
+    private static long sequence(TimerEngine engine, int segments) throws Exception {
+        PresetDuration[] presets = new PresetDuration[segments];
+        for (int i = 0; i < segments; i++) {
+            presets[i] = new PresetDuration("分段 " + i, 1);
+        }
+        CompiledSequence compiled = SegmentSequence.of("probe", presets).compile();
+        CompletableFuture<Long> finished = new CompletableFuture<>();
+        long started = System.nanoTime();
+        engine.scheduleSequence(compiled, seconds -> { }, () -> finished.complete(System.nanoTime()));
+        return finished.get(segments * 2L, TimeUnit.SECONDS) - started;
+    }
+
+    private static void print(String mode, int segments, long elapsedNanos) {
+        long driftMicros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos - TimeUnit.SECONDS.toNanos(segments));
+        System.out.printf("%-9s segments=%d drift=%dus gapPerTransition=%dus%n",
+                mode, segments, driftMicros, segments > 1 ? driftMicros / (segments - 1) : 0);
+    }
+}
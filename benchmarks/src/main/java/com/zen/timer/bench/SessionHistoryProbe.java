@@ -0,0 +1,132 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.history.PresetStats;
+import com.zen.timer.history.SessionHistory;
+import com.zen.timer.history.SessionOutcome;
+import com.zen.timer.history.SessionRecord;
+import com.zen.timer.model.PresetDuration;
+import com.zen.timer.preset.PresetLibrary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * 会话历史的写入、磁盘占用与查询耗时：为 {@code users} 个用户生成 {@code days} 天的会话（每人每天 0 到 8 次），
+ * 关闭后重新打开，先测首次查询（需要读入全部分区），再对随机用户测按日、按周、按预设与连续天数各项查询的分位数。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.SessionHistoryProbe 1000 365
+ * </pre>
+ */
+public final class SessionHistoryProbe {
+
+    private static final int QUERIES = 2_000;
+
+    private SessionHistoryProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 365;
+        Path directory = Files.createTempDirectory("nebula-history-probe");
+        LocalDate last = LocalDate.of(2026, 1, 1).plusDays(days - 1L);
+        LocalDate first = last.minusDays(days - 1L);
+        try {
+            long sessions = generate(directory, users, first, days);
+            long bytes = directorySize(directory);
+            System.out.printf("stored %d sessions in %d partitions: %.1f MB, %.1f bytes/session%n",
+                    sessions, days, bytes / 1e6, bytes / (double) sessions);
+
+            try (SessionHistory history = SessionHistory.open(directory, ZoneOffset.UTC)) {
+                long started = System.nanoTime();
+                long total = Arrays.stream(history.dailyFocusSeconds(SessionHistory.ALL_USERS, first, last)).sum();
+                System.out.printf("cold  daily totals (all users, loads every partition) %.1f ms  total=%d h%n",
+                        (System.nanoTime() - started) / 1e6, total / 3_600);
+
+                SplittableRandom random = new SplittableRandom(7);
+                measure("daily totals  (1 user, 1 year)", user -> history.dailyFocusSeconds(user, first, last), users, random);
+                measure("weekly totals (1 user, 1 year)", user -> history.weeklyFocusSeconds(user, first, last), users, random);
+                measure("preset stats  (1 user, 1 year)", user -> history.presetStats(user, first, last), users, random);
+                measure("streak        (1 user)", user -> history.streak(user, last), users, random);
+                measure("weekly totals (all users)",
+                        user -> history.weeklyFocusSeconds(SessionHistory.ALL_USERS, first, last), users, random);
+                measure("preset stats  (all users)",
+                        user -> history.presetStats(SessionHistory.ALL_USERS, first, last), users, random);
+
+                PresetStats top = history.presetStats(0, first, last).get(0);
+                System.out.printf("user 0: top preset %s, %d sessions, %.0f%% completed, streak %s%n", top.preset(),
+                        top.sessions(), top.completionRate() * 100, history.streak(0, last));
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static long generate(Path directory, int users, LocalDate first, int days) throws IOException {
+        List<PresetDuration> presets = PresetLibrary.defaults().all();
+        SessionOutcome[] outcomes = SessionOutcome.values();
+        SplittableRandom random = new SplittableRandom(42);
+        long sessions = 0;
+        long started = System.nanoTime();
+        try (SessionHistory history = SessionHistory.open(directory, ZoneOffset.UTC)) {
+            for (int day = 0; day < days; day++) {
+                long dayStart = first.plusDays(day).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+                for (int user = 0; user < users; user++) {
+                    int count = random.nextInt(9);
+                    long at = dayStart + TimeUnit.HOURS.toMillis(8);
+                    for (int i = 0; i < count; i++) {
+                        PresetDuration preset = presets.get(random.nextInt(presets.size()));
+                        // 大多数会话走完，少数复位或放弃
+                        SessionOutcome outcome = random.nextInt(10) < 8 ? SessionOutcome.COMPLETED
+                                : outcomes[1 + random.nextInt(2)];
+                        long actual = outcome == SessionOutcome.COMPLETED
+                                ? preset.seconds() : random.nextLong(preset.seconds());
+                        int pauses = random.nextInt(3);
+                        long ended = at + actual * 1_000 + pauses * 60_000L;
+                        history.record(new SessionRecord(user, preset.label(), preset.seconds(), actual, pauses, at, ended,
+                                outcome));
+                        at = ended + 300_000;
+                        sessions++;
+                    }
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        System.out.printf("wrote %d sessions in %.1f s (%.0f sessions/s, including sealing)%n",
+                sessions, elapsed / 1e9, sessions / (elapsed / 1e9));
+        return sessions;
+    }
+
+    private static void measure(String name, IntConsumer query, int users, SplittableRandom random) {
+        for (int i = 0; i < QUERIES / 4; i++) {
+            query.accept(random.nextInt(users));
+        }
+        long[] samples = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int user = random.nextInt(users);
+            long started = System.nanoTime();
+            query.accept(user);
+            samples[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(samples);
+        System.out.printf("warm  %-32s p50=%.3f ms p99=%.3f ms%n", name,
+                samples[QUERIES / 2] / 1e6, samples[QUERIES * 99 / 100] / 1e6);
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(path -> path.toFile().length()).sum();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.model.CountdownStatus;
+import com.zen.timer.shared.SharedCommand;
+import com.zen.timer.shared.SharedTimerFile;
+import com.zen.timer.shared.SharedTimerState;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 两个进程之间经 {@link SharedTimerFile} 传递状态与命令的延迟，以及拥有者退出后的接管耗时。
+ * <p>
+ * 父进程是拥有者，逐次写入槽位；子进程按 {@code SharedStateBridge} 的活跃轮询间隔（100µs）检查版本号，
+ * 读到新状态后立即通过命令环回送一条命令，父进程同样轮询命令环。写入时刻以 {@link System#nanoTime()} 记录在剩余时间字段中，
+ * 因此要求两个进程共用同一个单调时钟（Linux、macOS 与 Windows 上的 HotSpot 均满足）。
+ * 最后父进程关闭文件释放拥有权，子进程以 100ms 的间隔尝试接管。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.SharedStatePropagationProbe 2000
+ * </pre>
+ */
+public final class SharedStatePropagationProbe {
+
+    private static final long POLL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long ELECTION_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private SharedStatePropagationProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("follower")) {
+            follow(Path.of(args[1]), Integer.parseInt(args[2]));
+            return;
+        }
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        Path directory = Files.createTempDirectory("nebula-shared-probe");
+        Path path = directory.resolve("shared-state.bin");
+        SharedTimerFile file = SharedTimerFile.open(path);
+        if (!file.tryAcquireOwnership()) {
+            throw new IllegalStateException("未能成为拥有者");
+        }
+        Process follower = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"), SharedStatePropagationProbe.class.getName(),
+                "follower", path.toString(), Integer.toString(rounds))
+                .inheritIO()
+                .start();
+
+        // 等子进程读到初始状态并回送第一条命令，确认双方都已就绪
+        file.write(0, new SharedTimerState(CountdownStatus.IDLE, 0, -1, System.currentTimeMillis(), "ready"));
+        while (file.drain((command, slot, argument, sender) -> { }, 1) == 0) {
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+
+        long[] commandNanos = new long[rounds];
+        long[] received = new long[1];
+        for (int round = 0; round < rounds; round++) {
+            file.write(0, new SharedTimerState(CountdownStatus.RUNNING, round, System.nanoTime(),
+                    System.currentTimeMillis(), "probe"));
+            received[0] = -1;
+            while (received[0] < 0) {
+                file.drain((command, slot, argument, sender) -> received[0] = System.nanoTime() - argument, 1);
+                if (received[0] < 0) {
+                    LockSupport.parkNanos(POLL_NANOS);
+                }
+            }
+            commandNanos[round] = received[0];
+            LockSupport.parkNanos(GAP_NANOS);
+        }
+        report("command  follower -> owner", commandNanos);
+
+        file.write(0, new SharedTimerState(CountdownStatus.PAUSED, 0, System.nanoTime(), System.currentTimeMillis(),
+                "released"));
+        file.close();
+        follower.waitFor();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(directory);
+    }
+
+    private static void follow(Path path, int rounds) throws Exception {
+        long[] stateNanos = new long[rounds];
+        try (SharedTimerFile file = SharedTimerFile.open(path)) {
+            long seen = -1;
+            int round = -1;
+            while (round < rounds) {
+                long version = file.version(0);
+                if (version != seen && (version & 1) == 0) {
+                    seen = version;
+                    SharedTimerState state = file.read(0);
+                    long now = System.nanoTime();
+                    if (state.status() == CountdownStatus.RUNNING) {
+                        stateNanos[(int) state.initialSeconds()] = now - state.remainingMillis();
+                        round = (int) state.initialSeconds() + 1;
+                    } else if (round < 0) {
+                        round = 0;
+                    }
+                    file.offer(SharedCommand.PAUSE, 0, System.nanoTime());
+                    if (round == rounds) {
+                        break;
+                    }
+                }
+                LockSupport.parkNanos(POLL_NANOS);
+            }
+            report("state    owner -> follower", stateNanos);
+
+            long lastElection = 0;
+            while (true) {
+                long now = System.nanoTime();
+                if (now - lastElection >= ELECTION_NANOS) {
+                    lastElection = now;
+                    if (file.tryAcquireOwnership()) {
+                        SharedTimerState state = file.read(0);
+                        System.out.printf("takeover after owner released: %.1f ms (epoch %d)%n",
+                                (System.nanoTime() - state.remainingMillis()) / 1e6, file.ownerEpoch());
+                        return;
+                    }
+                }
+                LockSupport.parkNanos(POLL_NANOS);
+            }
+        }
+    }
+
+    private static void report(String name, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-28s n=%d p50=%.1f us p90=%.1f us p99=%.1f us max=%.1f us%n", name, sorted.length,
+                sorted[sorted.length / 2] / 1e3, sorted[sorted.length * 9 / 10] / 1e3,
+                sorted[sorted.length * 99 / 100] / 1e3, sorted[sorted.length - 1] / 1e3);
+    }
+}
@@ -0,0 +1,366 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.CallbackExecutors;
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.engine.VirtualClock;
+import com.zen.timer.model.CountdownStatus;
+import com.zen.timer.model.SegmentSequence;
+import com.zen.timer.service.SoundService;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.util.TimeUtils;
+import com.zen.timer.viewmodel.CountdownViewModel;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无界面的模拟运行器：在虚拟时钟上对 {@link CountdownViewModel} 重放脚本化的操作，时间按需整段推进，
+ * 90 分钟的预设在毫秒级内跑完。每个脚本断言失败时输出所在行，任一脚本失败则以退出码 1 结束。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.SimulationHarness            # 内置场景
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.SimulationHarness a.txt b.txt
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.SimulationHarness load 10000 1
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.SimulationHarness drift 8 200
+ * </pre>
+ * 脚本每行一条命令，{@code #} 开头为注释：
+ * <pre>
+ * start 1:30:00            启动主倒计时（h:mm:ss、mm:ss 或带 h/m/s 后缀）
+ * sequence pomodoro 4      启动番茄钟序列
+ * pause | resume | reset
+ * advance 45m              推进虚拟时间
+ * repeat 1000              把整个脚本再重放若干次，用于压测
+ * expect status RUNNING    断言状态，也可以断言 remaining、segment、progress
+ * </pre>
+ * {@code load} 模式只驱动引擎：启动指定数量的计时器后逐秒推进指定的小时数，用于估算引擎负载。
+ * {@code drift} 模式（不带参数时也随内置场景运行）检查长时间运行与反复暂停、恢复后的累计误差，
+ * 超过 {@value #DRIFT_BOUND_MILLIS}ms 即失败。
+ */
+public final class SimulationHarness {
+
+    private static final Map<String, String> BUILT_IN = new LinkedHashMap<>();
+    private static final long DRIFT_BOUND_MILLIS = 5;
+    private static final long DRIFT_BOUND_NANOS = TimeUnit.MILLISECONDS.toNanos(DRIFT_BOUND_MILLIS);
+
+    static {
+        BUILT_IN.put("深度工作 90 分钟", """
+                start 1:30:00
+                advance 45m
+                expect remaining 45m
+                pause
+                advance 2h
+                expect status PAUSED
+                expect remaining 45m
+                resume
+                advance 44m59s
+                expect remaining 1s
+                advance 1s
+                expect status COMPLETED
+                expect progress 1.0
+                repeat 200
+                """);
+        BUILT_IN.put("番茄钟 ×4", """
+                sequence pomodoro 4
+                expect segment 0
+                advance 25m
+                expect segment 1
+                expect remaining 5m
+                pause
+                advance 10m
+                resume
+                advance 5m
+                expect segment 2
+                advance 1h39m59s
+                expect segment 7
+                expect remaining 1s
+                advance 1s
+                expect status COMPLETED
+                repeat 200
+                """);
+        BUILT_IN.put("中途复位", """
+                start 10:00
+                advance 3m
+                reset
+                expect status IDLE
+                expect remaining 10m
+                advance 1h
+                expect status IDLE
+                start 0:01
+                advance 1s
+                expect status COMPLETED
+                repeat 1000
+                """);
+    }
+
+    private SimulationHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("load")) {
+            int timers = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+            int hours = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+            load(timers, hours);
+            return;
+        }
+        SoundService silent = new SoundService();
+        if (args.length > 0 && args[0].equals("drift")) {
+            int hours = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+            int cycles = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+            boolean ok = drift(hours, cycles, silent);
+            silent.shutdown();
+            System.exit(ok ? 0 : 1);
+        }
+        Map<String, String> scripts = new LinkedHashMap<>();
+        if (args.length == 0) {
+            scripts.putAll(BUILT_IN);
+        }
+        for (String arg : args) {
+            scripts.put(arg, readScript(Path.of(arg)));
+        }
+        boolean ok = true;
+        for (Map.Entry<String, String> script : scripts.entrySet()) {
+            ok &= replay(script.getKey(), script.getValue(), silent);
+        }
+        if (args.length == 0) {
+            ok &= drift(8, 200, silent);
+        }
+        silent.shutdown();
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static String readScript(Path file) throws IOException {
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 逐行执行脚本，{@code repeat} 把之前的所有命令在全新的视图模型上再执行若干次。
+     */
+    private static boolean replay(String name, String script, SoundService sound) {
+        List<String> lines = script.lines().map(String::strip).toList();
+        int repeats = 1;
+        for (String line : lines) {
+            if (line.startsWith("repeat ")) {
+                repeats = Integer.parseInt(line.substring("repeat ".length()).strip());
+            }
+        }
+        long simulatedNanos = 0;
+        long started = System.nanoTime();
+        for (int round = 0; round < repeats; round++) {
+            VirtualClock clock = new VirtualClock(0);
+            TimerEngine engine = TimerEngine.virtual(CallbackExecutors.direct(), clock);
+            CountdownViewModel viewModel = new CountdownViewModel(new TimerService(engine), sound, null, clock);
+            viewModel.initialize();
+            for (int number = 0; number < lines.size(); number++) {
+                String line = lines.get(number);
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("repeat ")) {
+                    continue;
+                }
+                String failure = execute(line, viewModel, engine);
+                if (failure != null) {
+                    System.out.printf("== %s%n  FAILED 第 %d 行 \"%s\"：%s%n", name, number + 1, line, failure);
+                    return false;
+                }
+            }
+            simulatedNanos += clock.nanoTime();
+            engine.shutdown();
+        }
+        long realNanos = System.nanoTime() - started;
+        System.out.printf("== %s%n  OK rounds=%d simulated=%ds real=%dms speed=%.0f simulated s/s%n",
+                name, repeats, TimeUnit.NANOSECONDS.toSeconds(simulatedNanos), TimeUnit.NANOSECONDS.toMillis(realNanos),
+                simulatedNanos / (double) realNanos);
+        return true;
+    }
+
+    /**
+     * 漂移场景：启动 {@code hours} 小时的倒计时，在随机的亚秒时刻暂停、恢复 {@code cycles} 次，
+     * 运行与暂停期间都以不规则的步长推进虚拟时间。每一步都把引擎给出的剩余时间与按实际运行时长算出的理论值比对，
+     * 最后比对完成时刻，任一偏差超过 {@value #DRIFT_BOUND_MILLIS}ms 即失败。
+     */
+    private static boolean drift(int hours, int cycles, SoundService sound) {
+        String name = hours + " 小时漂移（" + cycles + " 次暂停/恢复）";
+        VirtualClock clock = new VirtualClock(0);
+        TimerEngine engine = TimerEngine.virtual(CallbackExecutors.direct(), clock);
+        TimerService service = new TimerService(engine);
+        CountdownViewModel viewModel = new CountdownViewModel(service, sound, null, clock);
+        viewModel.initialize();
+        long[] completedAt = {-1};
+        viewModel.statusProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal == CountdownStatus.COMPLETED) {
+                completedAt[0] = clock.nanoTime();
+            }
+        });
+        Random random = new Random(2_002);
+        long totalNanos = TimeUnit.HOURS.toNanos(hours);
+        long segmentNanos = totalNanos / (cycles + 1);
+        long started = System.nanoTime();
+        viewModel.start(hours, 0, 0);
+        long ranNanos = 0;
+        long maxDrift = 0;
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            // 每段运行时长在平均值的 50%~100% 之间并带纳秒零头，保证暂停总落在到期之前
+            long run = segmentNanos / 2 + (long) (random.nextDouble() * (segmentNanos / 2));
+            maxDrift = Math.max(maxDrift, advanceChecked(engine, service, run, totalNanos - ranNanos, random));
+            ranNanos += run;
+            viewModel.pause();
+            if (viewModel.statusProperty().get() != CountdownStatus.PAUSED) {
+                System.out.printf("== %s%n  FAILED 第 %d 次暂停未生效：%s%n", name, cycle + 1,
+                        viewModel.statusProperty().get());
+                engine.shutdown();
+                return false;
+            }
+            long pausedFor = TimeUnit.SECONDS.toNanos(1 + random.nextInt(1_200)) + random.nextInt(1_000_000_000);
+            // 暂停期间剩余时间不应变化
+            maxDrift = Math.max(maxDrift, advanceChecked(engine, service, pausedFor, totalNanos - ranNanos, random));
+            viewModel.resume();
+        }
+        long remaining = totalNanos - ranNanos;
+        long expectedCompletion = clock.nanoTime() + remaining;
+        maxDrift = Math.max(maxDrift, advanceChecked(engine, service, remaining - TimeUnit.SECONDS.toNanos(1),
+                remaining, random));
+        engine.advance(TimeUnit.SECONDS.toNanos(2));
+        long realNanos = System.nanoTime() - started;
+        long completionDrift = completedAt[0] < 0 ? Long.MAX_VALUE : Math.abs(completedAt[0] - expectedCompletion);
+        CountdownStatus status = viewModel.statusProperty().get();
+        engine.shutdown();
+        if (status != CountdownStatus.COMPLETED || maxDrift > DRIFT_BOUND_NANOS || completionDrift > DRIFT_BOUND_NANOS) {
+            System.out.printf("== %s%n  FAILED status=%s 最大漂移 %.3fms，完成时刻偏差 %s，上限 %dms%n", name, status,
+                    maxDrift / 1e6, completedAt[0] < 0 ? "未完成" : String.format("%.3fms", completionDrift / 1e6),
+                    DRIFT_BOUND_MILLIS);
+            return false;
+        }
+        System.out.printf("== %s%n  OK max drift=%.3fms completion drift=%.3fms bound=%dms simulated=%ds real=%dms%n",
+                name, maxDrift / 1e6, completionDrift / 1e6, DRIFT_BOUND_MILLIS,
+                TimeUnit.NANOSECONDS.toSeconds(clock.nanoTime()), TimeUnit.NANOSECONDS.toMillis(realNanos));
+        return true;
+    }
+
+    /**
+     * 以 1ms 到 1s 之间带纳秒零头的随机步长推进 {@code nanos}，每步后比对剩余时间，返回最大偏差。
+     * {@code expectedRemaining} 为推进开始时应有的剩余纳秒数：计时器运行时理论值随推进递减，暂停时保持不变。
+     */
+    private static long advanceChecked(TimerEngine engine, TimerService service, long nanos, long expectedRemaining,
+                                       Random random) {
+        boolean running = service.status() == CountdownStatus.RUNNING;
+        long maxDrift = 0;
+        for (long advanced = 0; advanced < nanos; ) {
+            long step = Math.min(nanos - advanced, TimeUnit.MILLISECONDS.toNanos(1) + random.nextInt(999_000_000));
+            engine.advance(step);
+            advanced += step;
+            long expected = running ? expectedRemaining - advanced : expectedRemaining;
+            maxDrift = Math.max(maxDrift, Math.abs(TimeUnit.MILLISECONDS.toNanos(service.remainingMillis()) - expected));
+        }
+        return maxDrift;
+    }
+
+    /**
+     * 执行一条命令，断言失败时返回原因。
+     */
+    private static String execute(String line, CountdownViewModel viewModel, TimerEngine engine) {
+        String[] parts = line.split("\\s+");
+        switch (parts[0]) {
+            case "start" -> {
+                long seconds = parseDuration(parts[1]);
+                if (!viewModel.start(TimeUtils.hoursPart(seconds), TimeUtils.minutesPart(seconds), TimeUtils.secondsPart(seconds))) {
+                    return "无法启动：" + viewModel.statusMessageProperty().get();
+                }
+            }
+            case "sequence" -> {
+                if (!parts[1].equals("pomodoro")) {
+                    throw new IllegalArgumentException("未知的序列：" + parts[1]);
+                }
+                viewModel.startSequence(SegmentSequence.pomodoro(Integer.parseInt(parts[2])));
+            }
+            case "pause" -> viewModel.pause();
+            case "resume" -> viewModel.resume();
+            case "reset" -> viewModel.reset();
+            case "advance" -> engine.advance(TimeUnit.SECONDS.toNanos(parseDuration(parts[1])));
+            case "expect" -> {
+                return expect(parts[1], parts[2], viewModel);
+            }
+            default -> throw new IllegalArgumentException("未知的命令：" + line);
+        }
+        return null;
+    }
+
+    private static String expect(String field, String expected, CountdownViewModel viewModel) {
+        String actual = switch (field) {
+            case "status" -> viewModel.statusProperty().get().name();
+            case "remaining" -> Long.toString(viewModel.getRemainingSeconds());
+            case "segment" -> Integer.toString(viewModel.segmentIndexProperty().get());
+            case "progress" -> Double.toString(viewModel.progressProperty().get());
+            default -> throw new IllegalArgumentException("未知的断言字段：" + field);
+        };
+        String wanted = switch (field) {
+            case "status" -> CountdownStatus.valueOf(expected).name();
+            case "remaining" -> Long.toString(parseDuration(expected));
+            case "progress" -> Double.toString(Double.parseDouble(expected));
+            default -> expected;
+        };
+        return actual.equals(wanted) ? null : field + " 期望 " + wanted + "，实际 " + actual;
+    }
+
+    /**
+     * 解析 {@code h:mm:ss}、{@code mm:ss}、纯秒数或 {@code 1h30m15s} 形式的时长，返回秒数。
+     */
+    static long parseDuration(String text) {
+        if (text.contains(":")) {
+            long seconds = 0;
+            for (String part : text.split(":")) {
+                seconds = seconds * 60 + Long.parseLong(part);
+            }
+            return seconds;
+        }
+        long seconds = 0;
+        long number = 0;
+        boolean pending = false;
+        for (char ch : text.toCharArray()) {
+            if (Character.isDigit(ch)) {
+                number = number * 10 + (ch - '0');
+                pending = true;
+                continue;
+            }
+            seconds += switch (ch) {
+                case 'h' -> number * 3_600;
+                case 'm' -> number * 60;
+                case 's' -> number;
+                default -> throw new IllegalArgumentException("无法解析时长：" + text);
+            };
+            number = 0;
+            pending = false;
+        }
+        return pending ? seconds + number : seconds;
+    }
+
+    /**
+     * 引擎负载模型：一次性启动 {@code timers} 个计时器，再以一秒为步长推进 {@code hours} 小时。
+     */
+    private static void load(int timers, int hours) {
+        VirtualClock clock = new VirtualClock(0);
+        TimerEngine engine = TimerEngine.virtual(CallbackExecutors.direct(), clock);
+        AtomicLong ticks = new AtomicLong();
+        AtomicLong completions = new AtomicLong();
+        Random random = new Random(7);
+        for (int i = 0; i < timers; i++) {
+            long seconds = 60 + random.nextInt((int) TimeUnit.HOURS.toSeconds(hours));
+            engine.schedule(seconds, remaining -> ticks.incrementAndGet(), completions::incrementAndGet);
+        }
+        long steps = TimeUnit.HOURS.toSeconds(hours);
+        long started = System.nanoTime();
+        for (long step = 0; step < steps; step++) {
+            engine.advance(TimeUnit.SECONDS.toNanos(1));
+        }
+        long realNanos = System.nanoTime() - started;
+        System.out.printf("load timers=%d simulated=%dh real=%dms ticks=%d completions=%d "
+                        + "speed=%.0f simulated s/s throughput=%.0f ticks/s%n",
+                timers, hours, TimeUnit.NANOSECONDS.toMillis(realNanos), ticks.get(), completions.get(),
+                steps / (realNanos / 1e9), ticks.get() / (realNanos / 1e9));
+        engine.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.service.SoundService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从请求播放提示音到第一个采样写入音频线路的延迟。
+ * <p>
+ * 每次操作发起一次播放并等待混音线程确认首个采样已写出；在没有音频设备的机器上
+ * {@link SoundService} 会静默降级，此时操作立即返回，结果没有参考意义。
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoundLatencyBenchmark {
+
+    private SoundService soundService;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        soundService = new SoundService();
+        Thread.sleep(500);
+    }
+
+    @TearDown
+    public void tearDown() {
+        soundService.shutdown();
+    }
+
+    @Benchmark
+    public long completionToFirstSample() {
+        long before = soundService.playedCount();
+        soundService.playCompletionTone();
+        while (soundService.isAvailable() && soundService.playedCount() == before) {
+            Thread.onSpinWait();
+        }
+        return soundService.lastLatencyNanos();
+    }
+}
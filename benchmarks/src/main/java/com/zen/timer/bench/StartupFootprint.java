@@ -0,0 +1,96 @@
+package com.zen.timer.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 对比 timer-core 与 timer-fx 的冷启动耗时与已加载类数量。
+ * <p>
+ * 每个探针在独立的子 JVM 中运行若干次（默认 5 次，可通过第一个参数指定），
+ * 结果以 JSON 打印到标准输出，取中位数以降低噪声。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.StartupFootprint 10
+ * </pre>
+ */
+public final class StartupFootprint {
+
+    private StartupFootprint() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        StringBuilder json = new StringBuilder("[");
+        json.append(measure("timer-core", CoreStartupProbe.class, runs));
+        json.append(',');
+        json.append(measure("timer-fx", FxStartupProbe.class, runs));
+        json.append(']');
+        System.out.println(json);
+    }
+
+    /**
+     * 探针在子进程中调用，输出一行 "module uptimeMillis loadedClasses"。
+     */
+    static void report(String module) {
+        long uptime = CoreStartupProbe.uptimeMillis();
+        int loaded = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        System.out.println("STARTUP " + module + ' ' + uptime + ' ' + loaded);
+    }
+
+    private static String measure(String module, Class<?> probe, int runs) throws IOException, InterruptedException {
+        long[] uptimes = new long[runs];
+        long[] classes = new long[runs];
+        int succeeded = 0;
+        String failure = null;
+        for (int i = 0; i < runs; i++) {
+            ProcessBuilder builder = new ProcessBuilder(javaExecutable(), "-cp",
+                    System.getProperty("java.class.path"), probe.getName());
+            builder.redirectErrorStream(true);
+            Process process = builder.start();
+            String result = null;
+            StringBuilder output = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith("STARTUP ")) {
+                        result = line;
+                    } else {
+                        output.append(line).append('\n');
+                    }
+                }
+            }
+            process.waitFor();
+            if (result == null) {
+                failure = output.toString().lines().findFirst().orElse("exit code " + process.exitValue());
+                continue;
+            }
+            String[] parts = result.split(" ");
+            uptimes[succeeded] = Long.parseLong(parts[2]);
+            classes[succeeded] = Long.parseLong(parts[3]);
+            succeeded++;
+        }
+        if (succeeded == 0) {
+            return String.format(Locale.ROOT, "{\"module\":\"%s\",\"error\":\"%s\"}",
+                    module, failure.replace("\\", "\\\\").replace("\"", "\\\""));
+        }
+        return String.format(Locale.ROOT,
+                "{\"module\":\"%s\",\"runs\":%d,\"startupMillisMedian\":%d,\"loadedClassesMedian\":%d}",
+                module, succeeded, median(uptimes, succeeded), median(classes, succeeded));
+    }
+
+    private static long median(long[] values, int count) {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        return sorted[count / 2];
+    }
+
+    private static String javaExecutable() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+}
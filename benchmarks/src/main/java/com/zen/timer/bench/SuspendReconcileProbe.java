@@ -0,0 +1,170 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.CallbackExecutors;
+import com.zen.timer.engine.TimerClock;
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.engine.TimerHandle;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用模拟时钟重现 2 小时的系统挂起：一万个计时器（1 分钟到 4 小时）在挂起前启动，恢复后检查
+ * 到期的计时器是否全部按截止时间顺序完成、其余计时器的剩余时间是否扣除了挂起时长、每个计时器是否最多收到一次补发 tick。
+ * 分别模拟挂起期间单调时钟停走（Linux，由启动时钟确认挂起时长）与照常走动（Windows）两种情况。
+ * 另外把墙上时钟向前、向后各拨 2 小时而不挂起，模拟 NTP 校时或手动改时间，检查没有计时器因此少走或完成。
+ * 出现违例时以退出码 1 结束。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.SuspendReconcileProbe 10000
+ * </pre>
+ */
+public final class SuspendReconcileProbe {
+
+    private static final long SLEEP_SECONDS = TimeUnit.HOURS.toSeconds(2);
+    private static final long MIN_SECONDS = 60;
+    private static final long MAX_SECONDS = TimeUnit.HOURS.toSeconds(4);
+
+    private SuspendReconcileProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int timers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        boolean ok = run("单调时钟停走", timers, false);
+        ok &= run("单调时钟照常走动", timers, true);
+        ok &= wallJump("墙上时钟前跳、未挂起", timers, SLEEP_SECONDS);
+        ok &= wallJump("墙上时钟后跳、未挂起", timers, -SLEEP_SECONDS);
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean run(String scenario, int timers, boolean monotonicAdvances) throws Exception {
+        SimulatedClock clock = new SimulatedClock();
+        TimerEngine engine = new TimerEngine("probe-engine", CallbackExecutors.direct(), clock);
+        long[] durations = new long[timers];
+        TimerHandle[] handles = new TimerHandle[timers];
+        AtomicIntegerArray ticks = new AtomicIntegerArray(timers);
+        long[] completionOrder = new long[timers];
+        AtomicInteger completed = new AtomicInteger();
+        Random random = new Random(42);
+        for (int i = 0; i < timers; i++) {
+            int slot = i;
+            durations[i] = MIN_SECONDS + (long) (random.nextDouble() * (MAX_SECONDS - MIN_SECONDS));
+            handles[i] = engine.schedule(durations[i], seconds -> ticks.incrementAndGet(slot),
+                    () -> completionOrder[completed.getAndIncrement()] = durations[slot]);
+        }
+        // 等待调度线程处理完所有启动命令
+        TimeUnit.MILLISECONDS.sleep(200);
+        for (int i = 0; i < timers; i++) {
+            ticks.set(i, 0);
+        }
+
+        CountDownLatch reconciled = new CountDownLatch(1);
+        engine.addClockListener(reconciled::countDown);
+        clock.sleep(TimeUnit.SECONDS.toNanos(SLEEP_SECONDS), monotonicAdvances);
+        long started = System.nanoTime();
+        engine.checkClock();
+        if (!reconciled.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("校正超时");
+        }
+        long elapsedMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+
+        int expectedCompletions = 0;
+        int wrongRemaining = 0;
+        int maxTicks = 0;
+        for (int i = 0; i < timers; i++) {
+            maxTicks = Math.max(maxTicks, ticks.get(i));
+            if (durations[i] <= SLEEP_SECONDS) {
+                expectedCompletions++;
+            } else if (handles[i].remainingSeconds() != durations[i] - SLEEP_SECONDS) {
+                wrongRemaining++;
+            }
+        }
+        int outOfOrder = 0;
+        for (int i = 1; i < completed.get(); i++) {
+            if (completionOrder[i] < completionOrder[i - 1]) {
+                outOfOrder++;
+            }
+        }
+        boolean ok = completed.get() == expectedCompletions && wrongRemaining == 0 && maxTicks <= 1 && outOfOrder == 0;
+        System.out.printf("== %s%n  timers=%d reconcile=%dus completions=%d/%d outOfOrder=%d wrongRemaining=%d "
+                        + "maxTicksPerTimer=%d clockJumps=%d  %s%n",
+                scenario, timers, elapsedMicros, completed.get(), expectedCompletions, outOfOrder, wrongRemaining,
+                maxTicks, engine.metrics().getClockJumps(), ok ? "OK" : "FAILED");
+        engine.shutdown();
+        return ok;
+    }
+
+    private static boolean wallJump(String scenario, int timers, long deltaSeconds) throws Exception {
+        SimulatedClock clock = new SimulatedClock();
+        TimerEngine engine = new TimerEngine("probe-engine", CallbackExecutors.direct(), clock);
+        long[] durations = new long[timers];
+        TimerHandle[] handles = new TimerHandle[timers];
+        AtomicInteger completed = new AtomicInteger();
+        Random random = new Random(42);
+        for (int i = 0; i < timers; i++) {
+            durations[i] = MIN_SECONDS + (long) (random.nextDouble() * (MAX_SECONDS - MIN_SECONDS));
+            handles[i] = engine.schedule(durations[i], seconds -> { }, completed::incrementAndGet);
+        }
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        CountDownLatch notified = new CountDownLatch(1);
+        engine.addClockListener(notified::countDown);
+        clock.jumpWall(TimeUnit.SECONDS.toMillis(deltaSeconds));
+        engine.checkClock();
+        boolean listenerCalled = notified.await(30, TimeUnit.SECONDS);
+
+        int lostTime = 0;
+        for (int i = 0; i < timers; i++) {
+            if (handles[i].remainingSeconds() != durations[i]) {
+                lostTime++;
+            }
+        }
+        boolean ok = listenerCalled && completed.get() == 0 && lostTime == 0;
+        System.out.printf("== %s%n  timers=%d jump=%+ds completions=%d lostTime=%d listenerCalled=%b clockJumps=%d  %s%n",
+                scenario, timers, deltaSeconds, completed.get(), lostTime, listenerCalled,
+                engine.metrics().getClockJumps(), ok ? "OK" : "FAILED");
+        engine.shutdown();
+        return ok;
+    }
+
+    /**
+     * 由测试手动推进的时钟；挂起时墙上时钟与启动时钟总是向前跳，单调时钟视平台而定。
+     */
+    private static final class SimulatedClock implements TimerClock {
+
+        private final AtomicLong nanos = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+        private final AtomicLong wallMillis = new AtomicLong(System.currentTimeMillis());
+        private final AtomicLong suspendedNanos = new AtomicLong();
+
+        void sleep(long durationNanos, boolean monotonicAdvances) {
+            if (monotonicAdvances) {
+                nanos.addAndGet(durationNanos);
+            } else {
+                suspendedNanos.addAndGet(durationNanos);
+            }
+            wallMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        }
+
+        void jumpWall(long deltaMillis) {
+            wallMillis.addAndGet(deltaMillis);
+        }
+
+        @Override
+        public long nanoTime() {
+            return nanos.get();
+        }
+
+        @Override
+        public long wallMillis() {
+            return wallMillis.get();
+        }
+
+        @Override
+        public long bootNanos() {
+            return nanos.get() + suspendedNanos.get();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.model.CountdownStatus;
+import com.zen.timer.service.SoundService;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从引擎 tick 到 {@code CountdownViewModel.handleTick} 的端到端延迟。
+ * <p>
+ * 用一个单线程执行器模拟 FX 线程，每次操作启动一个 1 秒的倒计时并等待视图模型进入完成状态，
+ * 因此样本减去 1000 ms 即为调度、派发与视图模型处理的总延迟。
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TickDispatchLatencyBenchmark {
+
+    private ExecutorService fxStandIn;
+    private TimerService timerService;
+    private CountdownViewModel viewModel;
+    private final SynchronousQueue<CountdownStatus> completions = new SynchronousQueue<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        fxStandIn = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fx-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timerService = new TimerService(fxStandIn);
+        viewModel = fxStandIn.submit(() -> new CountdownViewModel(timerService, new SilentSoundService())).get();
+        viewModel.statusProperty().addListener((obs, oldVal, newVal) -> {
+            if (newVal == CountdownStatus.COMPLETED) {
+                completions.offer(newVal);
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        timerService.shutdown();
+        fxStandIn.shutdownNow();
+    }
+
+    @Benchmark
+    public CountdownStatus oneSecondCountdown() throws Exception {
+        fxStandIn.execute(() -> viewModel.start(0, 0, 1));
+        return completions.take();
+    }
+
+    static final class SilentSoundService extends SoundService {
+        @Override
+        public void playCompletionTone() {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.CallbackExecutors;
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.engine.VirtualClock;
+import com.zen.timer.service.ThemeManager;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.view.CountdownView;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 Label 与画布两种时间显示的逐帧开销：在真实窗口中打开完整界面，用虚拟时钟让倒计时每帧前进一秒，
+ * 即每一帧都有数字变化，统计帧间隔分位数、FX 线程与渲染线程（QuantumRenderer，负责向 GPU 提交绘制命令，
+ * 软件管线下也承担光栅化）每帧消耗的 CPU 时间。需要可用的图形环境。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.TimeDisplayRenderProbe 600
+ * </pre>
+ * 加上 {@code -Dprism.order=sw} 可以在软件管线下比较，{@code -Djavafx.pulseLogger=true} 可以输出逐个脉冲的耗时明细。
+ */
+public final class TimeDisplayRenderProbe {
+
+    private static final String RENDER_THREAD_PREFIX = "QuantumRenderer";
+    private static final int WARMUP_FRAMES = 120;
+
+    private TimeDisplayRenderProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        if (!started.await(10, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("FX 工具包未能启动，请在图形环境中运行");
+        }
+        Platform.setImplicitExit(false);
+        run("label", false, frames);
+        run("canvas", true, frames);
+        Platform.exit();
+    }
+
+    private static void run(String mode, boolean canvas, int frames) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long[] intervals = new long[frames];
+        long[] fxCpu = new long[2];
+        long[] renderCpu = new long[2];
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            VirtualClock clock = new VirtualClock(System.currentTimeMillis());
+            TimerEngine engine = TimerEngine.virtual(CallbackExecutors.direct(), clock);
+            CountdownViewModel viewModel = new CountdownViewModel(new TimerService(engine),
+                    new TickDispatchLatencyBenchmark.SilentSoundService(), null, clock);
+            viewModel.initialize();
+            Stage stage = new Stage();
+            stage.setScene(new CountdownView(viewModel, new ThemeManager(), canvas).createScene());
+            stage.show();
+            viewModel.start(23, 59, 59);
+            new AnimationTimer() {
+                private int frame = -WARMUP_FRAMES;
+                private long last;
+
+                @Override
+                public void handle(long now) {
+                    if (frame == 0) {
+                        fxCpu[0] = threads.getCurrentThreadCpuTime();
+                        renderCpu[0] = renderThreadCpu(threads);
+                    } else if (frame > 0) {
+                        intervals[frame - 1] = now - last;
+                    }
+                    last = now;
+                    if (frame == frames) {
+                        fxCpu[1] = threads.getCurrentThreadCpuTime();
+                        renderCpu[1] = renderThreadCpu(threads);
+                        stop();
+                        stage.close();
+                        engine.shutdown();
+                        done.countDown();
+                        return;
+                    }
+                    frame++;
+                    engine.advance(TimeUnit.SECONDS.toNanos(1));
+                }
+            }.start();
+        });
+        done.await();
+        long[] sorted = Arrays.copyOf(intervals, frames);
+        Arrays.sort(sorted);
+        System.out.printf("%-6s frames=%d interval p50=%.2f ms p99=%.2f ms max=%.2f ms  "
+                        + "fx cpu=%.3f ms/frame  render cpu=%.3f ms/frame%n",
+                mode, frames, millis(sorted[frames / 2]), millis(sorted[Math.min(frames - 1, frames * 99 / 100)]),
+                millis(sorted[frames - 1]), millis(fxCpu[1] - fxCpu[0]) / frames,
+                millis(renderCpu[1] - renderCpu[0]) / frames);
+    }
+
+    private static long renderThreadCpu(ThreadMXBean threads) {
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith(RENDER_THREAD_PREFIX)) {
+                return threads.getThreadCpuTime(info.getThreadId());
+            }
+        }
+        return 0;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
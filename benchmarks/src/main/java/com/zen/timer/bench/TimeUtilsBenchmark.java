@@ -0,0 +1,97 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.util.FinishTimeEstimator;
+import com.zen.timer.util.TimeTextBuffer;
+import com.zen.timer.util.TimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TimeUtils} 的格式化与进度计算，并与旧版基于 {@code String.format} /
+ * {@code DateTimeFormatter} 的实现对比。配合 {@code -prof gc} 可以看到每次调用的分配量。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeUtilsBenchmark {
+
+    private static final DateTimeFormatter LEGACY_FINISH_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final TimeTextBuffer buffer = new TimeTextBuffer();
+    private final FinishTimeEstimator estimator = new FinishTimeEstimator();
+    private long seconds;
+
+    @Setup
+    public void setUp() {
+        seconds = 1_500;
+        estimator.begin(TimeUnit.MINUTES.toMillis(25));
+        TimeUtils.formatCached(0);
+    }
+
+    private long nextSeconds() {
+        seconds = (seconds + 7_919) % TimeUtils.SECONDS_PER_DAY;
+        return seconds;
+    }
+
+    @Benchmark
+    public String legacyFormat() {
+        long value = nextSeconds();
+        return String.format("%02d:%02d:%02d", value / 3600, (value % 3600) / 60, value % 60);
+    }
+
+    @Benchmark
+    public String format() {
+        return TimeUtils.format(nextSeconds());
+    }
+
+    @Benchmark
+    public String formatCached() {
+        return TimeUtils.formatCached(nextSeconds());
+    }
+
+    @Benchmark
+    public CharSequence formatIntoBuffer() {
+        return buffer.set(nextSeconds());
+    }
+
+    @Benchmark
+    public String formatDuration() {
+        return TimeUtils.formatDuration(Duration.ofSeconds(nextSeconds()));
+    }
+
+    @Benchmark
+    public double progress() {
+        return TimeUtils.progress(nextSeconds(), TimeUtils.SECONDS_PER_DAY);
+    }
+
+    @Benchmark
+    public String legacyEstimateFinishText() {
+        return LocalTime.now().plusSeconds(nextSeconds()).format(LEGACY_FINISH_FORMATTER);
+    }
+
+    @Benchmark
+    public String estimateFinishText() {
+        return TimeUtils.estimateFinishText(nextSeconds());
+    }
+
+    @Benchmark
+    public String incrementalFinishText() {
+        return estimator.current();
+    }
+}
@@ -0,0 +1,94 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.TimerEngine;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * 大量存活计时器下引擎的 CPU 与堆占用。
+ * <p>
+ * 每次测量让 {@code timers} 个按秒 tick 的计时器运行一秒，通过附加计数器报告
+ * 这一秒内进程消耗的 CPU 毫秒数，以及调度阶段测得的每个计时器的堆占用字节数。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class TimerEngineCapacityBenchmark {
+
+    private static final LongConsumer IGNORE_TICK = seconds -> { };
+    private static final Runnable IGNORE_FINISH = () -> { };
+
+    @Param({"100000"})
+    public int timers;
+
+    private TimerEngine engine;
+    private double heapBytesPerTimer;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Budget {
+        public double cpuMillisPerSecond;
+        public double heapBytesPerTimer;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            cpuMillisPerSecond = 0;
+            heapBytesPerTimer = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        engine = new TimerEngine("bench-engine", Runnable::run);
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        for (int i = 0; i < timers; i++) {
+            engine.schedule(TimeUnit.HOURS.toSeconds(10) + i % 3_600, IGNORE_TICK, IGNORE_FINISH);
+        }
+        System.gc();
+        long after = memory.getHeapMemoryUsage().getUsed();
+        heapBytesPerTimer = (after - before) / (double) timers;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public int liveForOneSecond(Budget budget) throws InterruptedException {
+        long cpuBefore = processCpuNanos();
+        Thread.sleep(1_000);
+        budget.cpuMillisPerSecond = (processCpuNanos() - cpuBefore) / 1_000_000.0;
+        budget.heapBytesPerTimer = heapBytesPerTimer;
+        return engine.activeCount();
+    }
+
+    private static long processCpuNanos() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean os) {
+            return os.getProcessCpuTime();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,84 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.TimerHandle;
+import com.zen.timer.service.TimerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * 多线程并发调用 {@link TimerService} 控制接口时的吞吐量，主倒计时分别以 1、4、16 个线程争用。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TimerServiceBenchmark {
+
+    private static final LongConsumer IGNORE_TICK = seconds -> { };
+    private static final Runnable IGNORE_FINISH = () -> { };
+
+    private TimerService service;
+
+    @Setup
+    public void setUp() {
+        service = new TimerService(Runnable::run);
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TimerHandle handleChurn() {
+        TimerHandle handle = service.schedule(3_600, IGNORE_TICK, IGNORE_FINISH);
+        handle.pause();
+        handle.resume();
+        handle.cancel();
+        return handle;
+    }
+
+    /**
+     * 一次完整的 启动 / 暂停 / 恢复 / 停止，即四个控制操作。
+     */
+    @Benchmark
+    @Threads(1)
+    public void primaryChurn1Thread() {
+        primaryChurn();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void primaryChurn4Threads() {
+        primaryChurn();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void primaryChurn16Threads() {
+        primaryChurn();
+    }
+
+    private void primaryChurn() {
+        service.start(3_600, IGNORE_TICK, IGNORE_FINISH);
+        service.pause();
+        service.resume();
+        service.stop();
+    }
+}
@@ -0,0 +1,205 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.engine.CallbackExecutors;
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.engine.TimerHandle;
+import com.zen.timer.service.TimerService;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 仿照 jcstress 的并发状态机压力测试：让控制操作与调度线程上的完成在截止时间附近反复竞争，
+ * 统计每种最终结果出现的次数，并按"可接受 / 禁止"分类。出现任何禁止结果时以退出码 1 结束。
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.zen.timer.bench.TimerStateStress 20000
+ * </pre>
+ */
+public final class TimerStateStress {
+
+    private static final long START_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long SPREAD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long AIM_JITTER_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final int ACTORS = 4;
+
+    private TimerStateStress() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int trials = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        boolean ok = true;
+        ok &= report("暂停 vs 完成", raceWithCompletion(trials, TimerHandle::pause),
+                Set.of("true, PAUSED, completions=0", "false, COMPLETED, completions=1"));
+        ok &= report("取消 vs 完成", raceWithCompletion(trials, TimerHandle::cancel),
+                Set.of("true, IDLE, completions=0", "false, COMPLETED, completions=1"));
+        ok &= report("并发暂停 / 恢复", pauseResumeStorm(Math.max(1, trials / 10)),
+                Set.of("RUNNING, pauses-resumes=0", "PAUSED, pauses-resumes=1"));
+        ok &= report("并发启动主倒计时", concurrentStarts(Math.max(1, trials / 10)),
+                Set.of("alive=1, afterStop=0"));
+        System.exit(ok ? 0 : 1);
+    }
+
+    interface Control {
+        boolean apply(TimerHandle handle);
+    }
+
+    /**
+     * 每个计时器在截止时间前后 ±50µs 内被控制一次；控制成功与完成必须恰好发生一个。
+     */
+    private static Map<String, Integer> raceWithCompletion(int trials, Control control) throws Exception {
+        TimerEngine engine = new TimerEngine("stress-engine", CallbackExecutors.direct());
+        AtomicIntegerArray completions = new AtomicIntegerArray(trials);
+        TimerHandle[] handles = new TimerHandle[trials];
+        for (int i = 0; i < trials; i++) {
+            int slot = i;
+            long delay = START_DELAY_NANOS + ThreadLocalRandom.current().nextLong(SPREAD_NANOS);
+            handles[i] = engine.scheduleNanos(delay, seconds -> { }, () -> completions.incrementAndGet(slot));
+        }
+        boolean[] results = new boolean[trials];
+        Thread[] actors = new Thread[ACTORS];
+        for (int a = 0; a < ACTORS; a++) {
+            int actor = a;
+            actors[a] = new Thread(() -> {
+                Integer[] mine = ownedSlots(trials, actor);
+                long[] aims = new long[trials];
+                for (int slot : mine) {
+                    aims[slot] = handles[slot].deadlineNanos()
+                            + ThreadLocalRandom.current().nextLong(-AIM_JITTER_NANOS, AIM_JITTER_NANOS);
+                }
+                Arrays.sort(mine, Comparator.comparingLong(slot -> aims[slot]));
+                for (int slot : mine) {
+                    while (System.nanoTime() < aims[slot]) {
+                        Thread.onSpinWait();
+                    }
+                    results[slot] = control.apply(handles[slot]);
+                }
+            }, "stress-actor-" + a);
+            actors[a].start();
+        }
+        for (Thread actor : actors) {
+            actor.join();
+        }
+        settle();
+        Map<String, Integer> outcomes = new TreeMap<>();
+        for (int i = 0; i < trials; i++) {
+            String outcome = results[i] + ", " + handles[i].status() + ", completions=" + completions.get(i);
+            outcomes.merge(outcome, 1, Integer::sum);
+        }
+        engine.shutdown();
+        return outcomes;
+    }
+
+    /**
+     * 多个线程同时对同一批长时计时器随机暂停、恢复；成功暂停与成功恢复的次数差必须与最终状态一致。
+     */
+    private static Map<String, Integer> pauseResumeStorm(int timers) throws Exception {
+        TimerEngine engine = new TimerEngine("stress-engine", CallbackExecutors.direct());
+        TimerHandle[] handles = new TimerHandle[timers];
+        for (int i = 0; i < timers; i++) {
+            handles[i] = engine.schedule(3_600, seconds -> { }, () -> { });
+        }
+        AtomicIntegerArray balance = new AtomicIntegerArray(timers);
+        CyclicBarrier start = new CyclicBarrier(ACTORS);
+        Thread[] actors = new Thread[ACTORS];
+        for (int a = 0; a < ACTORS; a++) {
+            actors[a] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                await(start);
+                for (int op = 0; op < timers * 20; op++) {
+                    int slot = random.nextInt(timers);
+                    if (random.nextBoolean()) {
+                        if (handles[slot].pause()) {
+                            balance.incrementAndGet(slot);
+                        }
+                    } else if (handles[slot].resume()) {
+                        balance.decrementAndGet(slot);
+                    }
+                }
+            }, "stress-actor-" + a);
+            actors[a].start();
+        }
+        for (Thread actor : actors) {
+            actor.join();
+        }
+        settle();
+        Map<String, Integer> outcomes = new TreeMap<>();
+        for (int i = 0; i < timers; i++) {
+            outcomes.merge(handles[i].status() + ", pauses-resumes=" + balance.get(i), 1, Integer::sum);
+        }
+        engine.shutdown();
+        return outcomes;
+    }
+
+    /**
+     * 多个线程同时启动主倒计时，最终只能有一个存活，停止后一个都不剩。
+     */
+    private static Map<String, Integer> concurrentStarts(int trials) throws Exception {
+        TimerService service = new TimerService(CallbackExecutors.direct());
+        CyclicBarrier start = new CyclicBarrier(ACTORS + 1);
+        CyclicBarrier done = new CyclicBarrier(ACTORS + 1);
+        Thread[] actors = new Thread[ACTORS];
+        for (int a = 0; a < ACTORS; a++) {
+            actors[a] = new Thread(() -> {
+                for (int trial = 0; trial < trials; trial++) {
+                    await(start);
+                    service.start(3_600, seconds -> { }, () -> { });
+                    await(done);
+                }
+            }, "stress-actor-" + a);
+            actors[a].setDaemon(true);
+            actors[a].start();
+        }
+        Map<String, Integer> outcomes = new TreeMap<>();
+        for (int trial = 0; trial < trials; trial++) {
+            await(start);
+            await(done);
+            int alive = service.activeCount();
+            service.stop();
+            outcomes.merge("alive=" + alive + ", afterStop=" + service.activeCount(), 1, Integer::sum);
+        }
+        service.shutdown();
+        return outcomes;
+    }
+
+    private static Integer[] ownedSlots(int trials, int actor) {
+        Integer[] slots = new Integer[(trials - actor + ACTORS - 1) / ACTORS];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = actor + i * ACTORS;
+        }
+        return slots;
+    }
+
+    /**
+     * 等待调度线程处理完所有控制命令与到期事件。
+     */
+    private static void settle() {
+        LockSupport.parkNanos(START_DELAY_NANOS + SPREAD_NANOS + TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static boolean report(String scenario, Map<String, Integer> outcomes, Set<String> acceptable) {
+        boolean ok = true;
+        System.out.println("== " + scenario);
+        for (Map.Entry<String, Integer> entry : outcomes.entrySet()) {
+            boolean allowed = acceptable.contains(entry.getKey());
+            ok &= allowed;
+            System.out.printf("  %-40s %10d  %s%n", entry.getKey(), entry.getValue(), allowed ? "ACCEPTABLE" : "FORBIDDEN");
+        }
+        return ok;
+    }
+}
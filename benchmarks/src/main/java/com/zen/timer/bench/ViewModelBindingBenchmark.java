@@ -0,0 +1,113 @@
+package com.zen.timer.bench;
+
+import com.zen.timer.service.SoundService;
+import com.zen.timer.service.TimerService;
+import com.zen.timer.viewmodel.CountdownViewModel;
+import javafx.beans.InvalidationListener;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * 单次 tick 在 {@link CountdownViewModel} 属性图上引发的绑定级联开销。
+ * <p>
+ * 通过截获 {@link TimerService#start} 拿到视图模型的 tick 回调并直接驱动它；
+ * 监听器的挂法与 {@code CountdownView} 一致，附加计数器报告每次 tick 平均触发的监听器调用数，
+ * 每次调用都对应界面上一个控件的重新布局请求。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ViewModelBindingBenchmark {
+
+    private static final int START_SECONDS = 23 * 3600 + 59 * 60 + 59;
+
+    private CapturingTimerService timerService;
+    private CountdownViewModel viewModel;
+    private long remaining;
+    private long listenerCalls;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Listeners {
+        public double listenerCallsPerTick;
+        private long calls;
+        private long ticks;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            listenerCallsPerTick = 0;
+            calls = 0;
+            ticks = 0;
+        }
+
+        void record(long tickCalls) {
+            calls += tickCalls;
+            ticks++;
+            listenerCallsPerTick = calls / (double) ticks;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        timerService = new CapturingTimerService();
+        viewModel = new CountdownViewModel(timerService, new TickDispatchLatencyBenchmark.SilentSoundService());
+        InvalidationListener counter = observable -> listenerCalls++;
+        viewModel.formattedTimeProperty().addListener(counter);
+        viewModel.progressProperty().addListener(counter);
+        viewModel.finishTimeTextProperty().addListener(counter);
+        viewModel.criticalProperty().addListener(counter);
+        viewModel.statusMessageProperty().addListener(counter);
+        viewModel.start(23, 59, 59);
+        remaining = START_SECONDS;
+    }
+
+    @TearDown
+    public void tearDown() {
+        timerService.shutdown();
+    }
+
+    @Benchmark
+    public long tick(Listeners listeners) {
+        remaining = remaining <= 1 ? START_SECONDS : remaining - 1;
+        long before = listenerCalls;
+        timerService.onTick.accept(remaining);
+        // 读取属性以模拟视图在下一次脉冲中重新取值
+        viewModel.formattedTimeProperty().get();
+        viewModel.progressProperty().get();
+        viewModel.finishTimeTextProperty().get();
+        viewModel.criticalProperty().get();
+        listeners.record(listenerCalls - before);
+        return remaining;
+    }
+
+    static final class CapturingTimerService extends TimerService {
+
+        private LongConsumer onTick;
+
+        CapturingTimerService() {
+            super(Runnable::run);
+        }
+
+        @Override
+        public void start(long totalSeconds, LongConsumer onTick, Runnable onFinished) {
+            this.onTick = onTick;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.zen.timer.completion;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 把每次完成以一行制表符分隔的文本（完成时间、计时器标识、名称、初始秒数）追加到文件，整批只打开一次文件。
+ */
+public final class AppendToFileAction implements CompletionAction {
+
+    private final Path file;
+
+    public AppendToFileAction(Path file) {
+        this.file = Objects.requireNonNull(file, "file 必须提供");
+    }
+
+    @Override
+    public String name() {
+        return "file:" + file.getFileName();
+    }
+
+    @Override
+    public void execute(List<CompletionEvent> batch) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (CompletionEvent event : batch) {
+                out.append(Instant.ofEpochMilli(event.completedAtMillis()).toString()).append('\t')
+                        .append(Long.toString(event.timerId())).append('\t')
+                        .append(event.label().replace('\t', ' ').replace('\n', ' ')).append('\t')
+                        .append(Long.toString(event.initialSeconds())).append('\n');
+            }
+        }
+    }
+}
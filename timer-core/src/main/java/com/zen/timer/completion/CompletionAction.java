@@ -0,0 +1,63 @@
+package com.zen.timer.completion;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * 倒计时完成后执行的一个副作用，例如播放提示音、弹出通知、写文件或运行命令。
+ * <p>
+ * 动作在 {@link CompletionPipeline} 的工作线程上执行，可以阻塞，但应响应中断：超过 {@link #timeoutMillis()}
+ * 后执行线程会被中断。同一秒内大量计时器完成时，排队的事件会成批交给 {@link #execute(List)}，
+ * 动作可以把整批合并为一次操作。
+ */
+public interface CompletionAction {
+
+    long DEFAULT_TIMEOUT_MILLIS = 5_000;
+
+    String name();
+
+    default long timeoutMillis() {
+        return DEFAULT_TIMEOUT_MILLIS;
+    }
+
+    /**
+     * 处理一批按完成顺序排列的事件，批次不会为空。
+     */
+    void execute(List<CompletionEvent> batch) throws Exception;
+
+    /**
+     * 逐个处理事件的简单动作。
+     */
+    static CompletionAction of(String name, long timeoutMillis, Consumer<CompletionEvent> handler) {
+        Objects.requireNonNull(handler, "handler 必须提供");
+        return ofBatch(name, timeoutMillis, batch -> batch.forEach(handler));
+    }
+
+    /**
+     * 整批只处理一次的动作，例如同一时刻大量计时器完成时只需响一次的提示音。
+     */
+    static CompletionAction ofBatch(String name, long timeoutMillis, Consumer<List<CompletionEvent>> handler) {
+        Objects.requireNonNull(name, "name 必须提供");
+        Objects.requireNonNull(handler, "handler 必须提供");
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("超时时间必须为正数");
+        }
+        return new CompletionAction() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public long timeoutMillis() {
+                return timeoutMillis;
+            }
+
+            @Override
+            public void execute(List<CompletionEvent> batch) {
+                handler.accept(batch);
+            }
+        };
+    }
+}
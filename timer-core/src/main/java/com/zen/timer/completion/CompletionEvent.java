@@ -0,0 +1,12 @@
+package com.zen.timer.completion;
+
+/**
+ * 一次倒计时完成，交给完成动作处理。
+ *
+ * @param timerId           计时器标识
+ * @param label             显示名称，例如预设或分段序列的名称
+ * @param initialSeconds    计时器的初始时长
+ * @param completedAtMillis 完成时的墙上时钟
+ */
+public record CompletionEvent(long timerId, String label, long initialSeconds, long completedAtMillis) {
+}
@@ -0,0 +1,216 @@
+package com.zen.timer.completion;
+
+import com.zen.timer.metrics.CompletionMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 把倒计时完成事件分发给各个 {@link CompletionAction}，使慢动作不会阻塞提交线程（通常是 FX 线程）。
+ * <p>
+ * 每个动作有一条独立的有界队列，{@link #submit(CompletionEvent)} 只做入队，从不阻塞；队列已满时丢弃该动作的这一项并计数。
+ * 同一动作任一时刻最多占用一个工作线程，它把队列中积压的事件成批取出交给动作，因此同一秒内上千个计时器完成时
+ * 只会产生少量批次，慢动作也不会占满线程池拖住其他动作。批次执行超过动作的超时时间时，工作线程会被中断。
+ */
+public final class CompletionPipeline {
+
+    private static final System.Logger LOGGER = System.getLogger(CompletionPipeline.class.getName());
+
+    /**
+     * 每个动作默认最多积压的事件数。
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4_096;
+
+    /**
+     * 单个批次最多包含的事件数。
+     */
+    public static final int MAX_BATCH = 256;
+
+    private static final int MAX_WORKERS = 4;
+
+    private final List<Lane> lanes;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService watchdog;
+    private final CompletionMetrics metrics = new CompletionMetrics();
+    private volatile boolean running = true;
+
+    public CompletionPipeline(List<CompletionAction> actions) {
+        this(actions, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity 每个动作最多积压的事件数
+     */
+    public CompletionPipeline(List<CompletionAction> actions, int queueCapacity) {
+        Objects.requireNonNull(actions, "actions 必须提供");
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("队列容量必须为正数");
+        }
+        List<Lane> created = new ArrayList<>(actions.size());
+        for (CompletionAction action : actions) {
+            created.add(new Lane(Objects.requireNonNull(action, "action 不能为空"), queueCapacity));
+        }
+        this.lanes = List.copyOf(created);
+        int threads = Math.max(1, Math.min(MAX_WORKERS, lanes.size()));
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 每个动作最多只有一个排队或运行中的批次任务，因此任务队列的容量按动作数即可
+        this.workers = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, lanes.size())), runnable -> {
+            Thread thread = new Thread(runnable, "completion-action-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "completion-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 把完成事件交给所有动作，立即返回；任一动作的队列已满时返回 false。
+     */
+    public boolean submit(CompletionEvent event) {
+        Objects.requireNonNull(event, "event 必须提供");
+        if (!running) {
+            return false;
+        }
+        long now = System.nanoTime();
+        boolean accepted = true;
+        for (Lane lane : lanes) {
+            accepted &= lane.offer(new Pending(event, now));
+        }
+        return accepted;
+    }
+
+    public CompletionMetrics metrics() {
+        return metrics;
+    }
+
+    public List<String> actionNames() {
+        return lanes.stream().map(lane -> lane.action.name()).toList();
+    }
+
+    /**
+     * 尚未执行的事件与动作组合数。
+     */
+    public int queueDepth() {
+        return metrics.getQueueDepth();
+    }
+
+    /**
+     * 停止接收新事件，并最多等待 {@code timeoutMillis} 让已入队的事件执行完。
+     */
+    public void shutdown(long timeoutMillis) {
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        watchdog.shutdownNow();
+    }
+
+    private record Pending(CompletionEvent event, long enqueuedNanos) {
+    }
+
+    /**
+     * 单个动作的队列与批次执行状态。
+     */
+    private final class Lane {
+
+        private final CompletionAction action;
+        private final BlockingQueue<Pending> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicLong activeCall = new AtomicLong();
+        private long callSequence;
+
+        private Lane(CompletionAction action, int capacity) {
+            this.action = action;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private boolean offer(Pending pending) {
+            if (!queue.offer(pending)) {
+                metrics.dropped();
+                return false;
+            }
+            metrics.enqueued();
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    workers.execute(this::drain);
+                } catch (RuntimeException ex) {
+                    // 只会在关闭之后发生，剩余的事件随流水线一起丢弃
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            List<Pending> batch = new ArrayList<>(MAX_BATCH);
+            do {
+                while (queue.drainTo(batch, MAX_BATCH) > 0) {
+                    metrics.dequeued(batch.size());
+                    run(batch);
+                    batch.clear();
+                }
+                scheduled.set(false);
+            } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+
+        private void run(List<Pending> batch) {
+            List<CompletionEvent> events = new ArrayList<>(batch.size());
+            for (Pending pending : batch) {
+                events.add(pending.event());
+            }
+            long call = ++callSequence;
+            Thread worker = Thread.currentThread();
+            Thread.interrupted();
+            activeCall.set(call);
+            ScheduledFuture<?> guard = watchdog.schedule(() -> {
+                if (activeCall.get() == call) {
+                    metrics.batchTimedOut();
+                    worker.interrupt();
+                }
+            }, action.timeoutMillis(), TimeUnit.MILLISECONDS);
+            long started = System.nanoTime();
+            try {
+                action.execute(events);
+            } catch (InterruptedException ex) {
+                LOGGER.log(System.Logger.Level.WARNING, "完成动作执行超时：" + action.name());
+            } catch (Exception ex) {
+                metrics.batchFailed();
+                LOGGER.log(System.Logger.Level.WARNING, "完成动作执行失败：" + action.name(), ex);
+            } finally {
+                activeCall.set(0);
+                guard.cancel(false);
+                Thread.interrupted();
+            }
+            long finished = System.nanoTime();
+            metrics.batchFinished(finished - started);
+            for (Pending pending : batch) {
+                metrics.recordActionLatency(finished - pending.enqueuedNanos());
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.zen.timer.completion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 每个批次运行一次本地命令，完成信息通过环境变量传入：{@code NEBULA_COMPLETED} 为本批完成的计时器数，
+ * {@code NEBULA_TIMER_LABEL}、{@code NEBULA_TIMER_ID} 为其中最后一个，{@code NEBULA_TIMER_LABELS} 为全部名称（换行分隔）。
+ * 命令不经过 shell，输出被丢弃；超时后强制结束进程。
+ */
+public final class RunCommandAction implements CompletionAction {
+
+    private final List<String> command;
+    private final long timeoutMillis;
+
+    public RunCommandAction(List<String> command, long timeoutMillis) {
+        Objects.requireNonNull(command, "command 必须提供");
+        if (command.isEmpty()) {
+            throw new IllegalArgumentException("命令不能为空");
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("超时时间必须为正数");
+        }
+        this.command = List.copyOf(command);
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * 按空白拆分命令行，不支持引号。
+     */
+    public static RunCommandAction parse(String commandLine, long timeoutMillis) {
+        return new RunCommandAction(List.of(commandLine.trim().split("\\s+")), timeoutMillis);
+    }
+
+    @Override
+    public String name() {
+        return "command:" + command.get(0);
+    }
+
+    @Override
+    public long timeoutMillis() {
+        return timeoutMillis;
+    }
+
+    @Override
+    public void execute(List<CompletionEvent> batch) throws Exception {
+        CompletionEvent last = batch.get(batch.size() - 1);
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD);
+        Map<String, String> environment = builder.environment();
+        environment.put("NEBULA_COMPLETED", Integer.toString(batch.size()));
+        environment.put("NEBULA_TIMER_ID", Long.toString(last.timerId()));
+        environment.put("NEBULA_TIMER_LABEL", last.label());
+        environment.put("NEBULA_TIMER_LABELS",
+                batch.stream().map(CompletionEvent::label).collect(Collectors.joining("\n")));
+        Process process = builder.start();
+        try {
+            if (!process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("命令执行超时：" + command.get(0));
+            }
+            if (process.exitValue() != 0) {
+                throw new IllegalStateException("命令退出码 " + process.exitValue() + "：" + command.get(0));
+            }
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+}
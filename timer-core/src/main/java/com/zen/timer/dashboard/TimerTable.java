@@ -0,0 +1,219 @@
+package com.zen.timer.dashboard;
+
+import com.zen.timer.engine.TimerClock;
+import com.zen.timer.model.CountdownStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 以列存方式保存大量倒计时的表，供仪表盘一次显示成千上万个计时器。
+ * <p>
+ * 每个计时器只占各列数组中的一个槽位，没有单独的对象、属性或监听器：运行中的计时器保存截止时间，
+ * 暂停后保存剩余纳秒数，剩余时间在读取时由时钟推算，不需要逐秒回调。名称按字典编号存放，重复的名称只保存一次。
+ * 到期检查由调用方按帧调用 {@link #sweep()}，在最近的截止时间之前直接返回。
+ * <p>
+ * 表不是线程安全的，只应在一个线程（通常是 FX 线程）上访问。
+ */
+public final class TimerTable {
+
+    private static final int INITIAL_CAPACITY = 1_024;
+    private static final byte IDLE = (byte) CountdownStatus.IDLE.ordinal();
+    private static final byte RUNNING = (byte) CountdownStatus.RUNNING.ordinal();
+    private static final byte PAUSED = (byte) CountdownStatus.PAUSED.ordinal();
+    private static final byte COMPLETED = (byte) CountdownStatus.COMPLETED.ordinal();
+    private static final CountdownStatus[] STATUSES = CountdownStatus.values();
+
+    private final TimerClock clock;
+    private long[] values;
+    private int[] initialSeconds;
+    private int[] labelIds;
+    private byte[] statuses;
+    private int size;
+    private int running;
+    private int completed;
+    private long nextDeadline = Long.MAX_VALUE;
+
+    private final List<String> labels = new ArrayList<>();
+    private final Map<String, Integer> labelIndex = new HashMap<>();
+
+    public TimerTable(TimerClock clock) {
+        this.clock = Objects.requireNonNull(clock, "clock 必须提供");
+        this.values = new long[INITIAL_CAPACITY];
+        this.initialSeconds = new int[INITIAL_CAPACITY];
+        this.labelIds = new int[INITIAL_CAPACITY];
+        this.statuses = new byte[INITIAL_CAPACITY];
+    }
+
+    /**
+     * 新增一个立即开始运行的计时器，返回它的行号。
+     */
+    public int start(String label, long seconds) {
+        Objects.requireNonNull(label, "label 必须提供");
+        if (seconds <= 0 || seconds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("时长超出范围：" + seconds);
+        }
+        if (size == values.length) {
+            grow();
+        }
+        int row = size++;
+        long deadline = clock.nanoTime() + seconds * 1_000_000_000L;
+        values[row] = deadline;
+        initialSeconds[row] = (int) seconds;
+        labelIds[row] = labelIndex.computeIfAbsent(label, key -> {
+            labels.add(key);
+            return labels.size() - 1;
+        });
+        statuses[row] = RUNNING;
+        running++;
+        nextDeadline = Math.min(nextDeadline, deadline);
+        return row;
+    }
+
+    /**
+     * 暂停运行中的计时器；不在运行时返回 false。
+     */
+    public boolean pause(int row) {
+        checkRow(row);
+        if (statuses[row] != RUNNING) {
+            return false;
+        }
+        long remaining = values[row] - clock.nanoTime();
+        if (remaining <= 0) {
+            complete(row);
+            return false;
+        }
+        values[row] = remaining;
+        statuses[row] = PAUSED;
+        running--;
+        return true;
+    }
+
+    /**
+     * 继续暂停的计时器，或重新开始已复位的计时器；其他状态返回 false。
+     */
+    public boolean resume(int row) {
+        checkRow(row);
+        if (statuses[row] != PAUSED && statuses[row] != IDLE) {
+            return false;
+        }
+        long deadline = clock.nanoTime() + values[row];
+        values[row] = deadline;
+        statuses[row] = RUNNING;
+        running++;
+        nextDeadline = Math.min(nextDeadline, deadline);
+        return true;
+    }
+
+    /**
+     * 恢复到初始时长并停止计时。
+     */
+    public void reset(int row) {
+        checkRow(row);
+        if (statuses[row] == RUNNING) {
+            running--;
+        } else if (statuses[row] == COMPLETED) {
+            completed--;
+        }
+        values[row] = initialSeconds[row] * 1_000_000_000L;
+        statuses[row] = IDLE;
+    }
+
+    /**
+     * 把已经到期的计时器标记为完成，返回本次完成的数量。最近的截止时间未到时不扫描。
+     */
+    public int sweep() {
+        long now = clock.nanoTime();
+        if (now < nextDeadline) {
+            return 0;
+        }
+        int finished = 0;
+        long next = Long.MAX_VALUE;
+        for (int row = 0; row < size; row++) {
+            if (statuses[row] != RUNNING) {
+                continue;
+            }
+            if (values[row] <= now) {
+                complete(row);
+                finished++;
+            } else if (values[row] < next) {
+                next = values[row];
+            }
+        }
+        nextDeadline = next;
+        return finished;
+    }
+
+    /**
+     * 按 {@code now} 推算的剩余秒数（向上取整），已完成时为 0。
+     */
+    public long remainingSeconds(int row, long now) {
+        checkRow(row);
+        byte status = statuses[row];
+        long remaining = status == RUNNING ? values[row] - now : status == COMPLETED ? 0 : values[row];
+        return remaining <= 0 ? 0 : (remaining + 999_999_999L) / 1_000_000_000L;
+    }
+
+    public CountdownStatus status(int row) {
+        checkRow(row);
+        return STATUSES[statuses[row]];
+    }
+
+    public String label(int row) {
+        checkRow(row);
+        return labels.get(labelIds[row]);
+    }
+
+    public long initialSeconds(int row) {
+        checkRow(row);
+        return initialSeconds[row];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int runningCount() {
+        return running;
+    }
+
+    public int completedCount() {
+        return completed;
+    }
+
+    public TimerClock clock() {
+        return clock;
+    }
+
+    /**
+     * 各列数组按已分配容量计算的字节数，不含名称字典；每个槽位固定 17 字节，扩容余量最多使其翻倍。
+     */
+    public long columnBytes() {
+        return (long) values.length * (Long.BYTES + Integer.BYTES + Integer.BYTES + Byte.BYTES);
+    }
+
+    private void complete(int row) {
+        statuses[row] = COMPLETED;
+        values[row] = 0;
+        running--;
+        completed++;
+    }
+
+    private void grow() {
+        int capacity = values.length * 2;
+        values = Arrays.copyOf(values, capacity);
+        initialSeconds = Arrays.copyOf(initialSeconds, capacity);
+        labelIds = Arrays.copyOf(labelIds, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IllegalArgumentException("行号超出范围：" + row);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.zen.timer.engine;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 无界面环境下常用的回调执行器。界面环境应由适配层提供执行器（例如 timer-fx 中对齐 FX 脉冲的实现）。
+ */
+public final class CallbackExecutors {
+
+    private CallbackExecutors() {
+    }
+
+    /**
+     * 直接在引擎调度线程上执行回调，适合回调本身极轻量的场景。
+     */
+    public static Executor direct() {
+        return Runnable::run;
+    }
+
+    /**
+     * 在一个独立的守护线程上串行执行回调，调用方负责在结束时关闭返回的执行器。
+     */
+    public static ExecutorService dedicatedThread(String threadName) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
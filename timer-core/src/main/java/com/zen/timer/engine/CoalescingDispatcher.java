@@ -0,0 +1,124 @@
+package com.zen.timer.engine;
+
+import com.zen.timer.metrics.TimerMetrics;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 合并式回调派发器。
+ * <p>
+ * 调度线程把每次 tick 写入计时器自身的原子槽位，只保留最新值；UI 线程在一次 drain 中
+ * 只应用每个计时器的最新剩余时间，积压期间的过期 tick 会被直接丢弃而不是重放。
+ * 完成回调保证恰好派发一次。drain 由构造时传入的 {@link Executor} 安排到目标线程执行，
+ * 在 tick 持续到来时最多只有一个 drain 处于待执行状态。
+ */
+public final class CoalescingDispatcher {
+
+    static final long NO_TICK = -1;
+
+    private static final int COMPLETION_NONE = 0;
+    private static final int COMPLETION_PENDING = 1;
+    private static final int COMPLETION_DELIVERED = 2;
+
+    private static final AtomicLongFieldUpdater<TimerHandle> PENDING_TICK =
+            AtomicLongFieldUpdater.newUpdater(TimerHandle.class, "pendingTick");
+    private static final AtomicIntegerFieldUpdater<TimerHandle> QUEUED =
+            AtomicIntegerFieldUpdater.newUpdater(TimerHandle.class, "queued");
+    private static final AtomicIntegerFieldUpdater<TimerHandle> COMPLETION =
+            AtomicIntegerFieldUpdater.newUpdater(TimerHandle.class, "completion");
+
+    private final Executor drainExecutor;
+    private final Runnable drainTask = this::drain;
+    private final Queue<TimerHandle> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final TimerMetrics metrics;
+    private volatile long drainRequestedAt;
+
+    public CoalescingDispatcher(Executor drainExecutor) {
+        this(drainExecutor, new TimerMetrics());
+    }
+
+    public CoalescingDispatcher(Executor drainExecutor, TimerMetrics metrics) {
+        this.drainExecutor = Objects.requireNonNull(drainExecutor, "drainExecutor 必须提供");
+        this.metrics = Objects.requireNonNull(metrics, "metrics 必须提供");
+    }
+
+    void publishTick(TimerHandle handle, long seconds) {
+        metrics.tickPublished(PENDING_TICK.getAndSet(handle, seconds) != NO_TICK);
+        enqueue(handle);
+    }
+
+    void publishCompletion(TimerHandle handle) {
+        if (COMPLETION.compareAndSet(handle, COMPLETION_NONE, COMPLETION_PENDING)) {
+            enqueue(handle);
+        }
+    }
+
+    private void enqueue(TimerHandle handle) {
+        if (QUEUED.compareAndSet(handle, 0, 1)) {
+            ready.offer(handle);
+            if (drainScheduled.compareAndSet(false, true)) {
+                drainRequestedAt = System.nanoTime();
+                drainExecutor.execute(drainTask);
+            }
+        }
+    }
+
+    /**
+     * 在目标线程上应用所有待处理的最新 tick 与完成事件。
+     */
+    public void drain() {
+        long startedAt = System.nanoTime();
+        metrics.recordDispatchDelay(startedAt - drainRequestedAt);
+        drainScheduled.set(false);
+        metrics.drained();
+        TimerHandle handle;
+        while ((handle = ready.poll()) != null) {
+            QUEUED.set(handle, 0);
+            long seconds = PENDING_TICK.getAndSet(handle, NO_TICK);
+            if (seconds != NO_TICK) {
+                metrics.tickDelivered();
+                long handlerStart = System.nanoTime();
+                handle.onTick.accept(seconds);
+                metrics.recordHandlerDuration(System.nanoTime() - handlerStart);
+            }
+            if (COMPLETION.compareAndSet(handle, COMPLETION_PENDING, COMPLETION_DELIVERED)) {
+                metrics.completionDelivered();
+                handle.onFinished.run();
+            }
+        }
+    }
+
+    public TimerMetrics metrics() {
+        return metrics;
+    }
+
+    public long publishedTicks() {
+        return metrics.getPublishedTicks();
+    }
+
+    public long deliveredTicks() {
+        return metrics.getDeliveredTicks();
+    }
+
+    /**
+     * 被更新的值覆盖、从未派发到目标线程的 tick 数量。
+     */
+    public long coalescedTicks() {
+        return metrics.getCoalescedTicks();
+    }
+
+    public long deliveredCompletions() {
+        return metrics.getCompletions();
+    }
+
+    public long drains() {
+        return metrics.getDrains();
+    }
+}
@@ -0,0 +1,80 @@
+package com.zen.timer.engine;
+
+import java.util.function.Consumer;
+
+/**
+ * 时间轮中的一个槽位，使用带哨兵的双向循环链表保存同一时间片内到期的节点。
+ */
+final class TimerBucket {
+
+    private final WheelEntry head = new WheelEntry();
+    private long expiration = -1;
+
+    TimerBucket() {
+        head.prev = head;
+        head.next = head;
+    }
+
+    void add(WheelEntry entry) {
+        entry.bucket = this;
+        entry.prev = head.prev;
+        entry.next = head;
+        head.prev.next = entry;
+        head.prev = entry;
+    }
+
+    void remove(WheelEntry entry) {
+        if (entry.bucket != this) {
+            return;
+        }
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+        entry.bucket = null;
+    }
+
+    /**
+     * 设置槽位的到期时间，若发生变化则返回 true，调用方需要把槽位重新放入到期队列。
+     */
+    boolean setExpiration(long expiration) {
+        if (this.expiration == expiration) {
+            return false;
+        }
+        this.expiration = expiration;
+        return true;
+    }
+
+    /**
+     * 槽位已空时重置到期时间并返回 true，调用方可以把它从到期队列中移除，避免一次无意义的唤醒。
+     */
+    boolean discardIfEmpty() {
+        if (head.next != head) {
+            return false;
+        }
+        expiration = -1;
+        return true;
+    }
+
+    long expiration() {
+        return expiration;
+    }
+
+    /**
+     * 先整体摘下链表再逐个交给 sink，sink 可以安全地把节点重新放回任意槽位（包括本槽位）。
+     */
+    void flush(Consumer<WheelEntry> sink) {
+        WheelEntry entry = head.next;
+        head.next = head;
+        head.prev = head;
+        expiration = -1;
+        while (entry != head) {
+            WheelEntry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+            sink.accept(entry);
+            entry = next;
+        }
+    }
+}
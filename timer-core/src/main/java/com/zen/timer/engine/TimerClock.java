@@ -0,0 +1,62 @@
+package com.zen.timer.engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 引擎使用的时钟：单调时钟决定截止时间，墙上时钟只用来发现时间跳变，启动时钟用来确认系统挂起。
+ * 默认实现直接读取 {@link System#nanoTime()} 与 {@link System#currentTimeMillis()}，模拟测试中可以替换。
+ */
+public interface TimerClock {
+
+    long nanoTime();
+
+    long wallMillis();
+
+    /**
+     * 包含系统挂起时间的启动时钟（纳秒），与 {@link #nanoTime()} 的差值只在挂起期间变化；无法取得时返回 -1。
+     * 只在发现墙上时钟跳变时读取。
+     */
+    default long bootNanos() {
+        return -1;
+    }
+
+    static TimerClock system() {
+        return SystemClock.INSTANCE;
+    }
+
+    /**
+     * 系统时钟的单例实现。
+     */
+    enum SystemClock implements TimerClock {
+        INSTANCE;
+
+        private static final Path UPTIME = Path.of("/proc/uptime");
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public long wallMillis() {
+            return System.currentTimeMillis();
+        }
+
+        /**
+         * Linux 上读取 {@code /proc/uptime}（对应 {@code CLOCK_BOOTTIME}，精度 10ms）；其他平台没有可移植的来源。
+         */
+        @Override
+        public long bootNanos() {
+            try {
+                String uptime = Files.readString(UPTIME, StandardCharsets.US_ASCII);
+                int end = uptime.indexOf(' ');
+                return Math.round(Double.parseDouble(end > 0 ? uptime.substring(0, end) : uptime.trim()) * 1e9);
+            } catch (IOException | RuntimeException ex) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,598 @@
+package com.zen.timer.engine;
+
+import com.zen.timer.metrics.TimerMetrics;
+import com.zen.timer.model.CompiledSequence;
+import com.zen.timer.model.CountdownStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * 由单个调度线程驱动的多计时器引擎。
+ * <p>
+ * 所有计时器挂在分层时间轮上，插入与取消都是 O(1)；调度线程只在最近的槽位到期时醒来，
+ * 每次推进的开销只与到期的计时器数量有关，而与存活计时器总数无关。
+ * 回调经由 {@link CoalescingDispatcher} 合并后，再通过构造时传入的 {@link Executor} 派发，
+ * 引擎本身不依赖任何 UI 框架。
+ * <p>
+ * 低功耗模式下不再派发逐秒 tick，每个计时器只挂在自己的截止时间上，完成通知照常派发；
+ * 退出低功耗模式时立即为所有运行中的计时器补发一次当前剩余秒数。
+ * <p>
+ * 分段序列与普通倒计时共用同一套机制：整个序列只有一个截止时间，tick 的值是序列的剩余秒数，
+ * 由 {@link CompiledSequence} 换算出当前分段，分段之间的切换因此没有间隙；低功耗模式下仍会在每个分段边界醒来派发一次 tick。
+ * <p>
+ * 调度线程每次醒来都比较墙上时钟与单调时钟各自走过的时间，以发现系统挂起与时钟跳变；有计时器运行时最多休眠
+ * {@link #CLOCK_CHECK_NANOS}。发现后对所有计时器做一次整体校正（见 {@link #reconcile()}），而不是逐个槽位追赶。
+ * <p>
+ * 由 {@link #virtual} 创建的引擎没有调度线程，时间只在 {@link #advance} 中按虚拟时钟推进，用于确定性的模拟与回归测试。
+ */
+public class TimerEngine {
+
+    static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int WHEEL_SIZE = 64;
+    private static final long MAX_SECONDS = TimeUnit.DAYS.toSeconds(3650);
+
+    /**
+     * 墙上时钟与单调时钟的走时差，或槽位的逾期时间超过该值时，视为系统挂起或时钟跳变。
+     */
+    private static final long CLOCK_JUMP_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    /**
+     * 有计时器运行时调度线程的最长休眠时间，保证挂起恢复后能及时发现。
+     */
+    private static final long CLOCK_CHECK_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final CoalescingDispatcher dispatcher;
+    private final TimerMetrics metrics = new TimerMetrics();
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final Map<Long, TimerHandle> handles = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong();
+    private final PriorityQueue<TimerBucket> dueBuckets =
+            new PriorityQueue<>(Comparator.comparingLong(TimerBucket::expiration));
+    private final TimingWheel wheel;
+    private final TimerClock clock;
+    private final VirtualClock virtualClock;
+    private final Executor callbackExecutor;
+    private final List<Runnable> clockListeners = new CopyOnWriteArrayList<>();
+    private final Thread driver;
+    private volatile long originNanos;
+    private long lastCheckNanos;
+    private long lastCheckWallMillis;
+    // 启动时钟减去单调时钟的差值，挂起期间单调时钟停走时它会增大；没有启动时钟时为 Long.MIN_VALUE
+    private long bootOffsetNanos;
+    private volatile boolean running = true;
+    private volatile boolean lowPower;
+
+    public TimerEngine(String threadName, Executor callbackExecutor) {
+        this(threadName, callbackExecutor, TimerClock.system());
+    }
+
+    /**
+     * 使用自定义时钟，例如在模拟测试中重现系统挂起。
+     */
+    public TimerEngine(String threadName, Executor callbackExecutor, TimerClock clock) {
+        this(threadName, callbackExecutor, clock, null);
+    }
+
+    private TimerEngine(String threadName, Executor callbackExecutor, TimerClock clock, VirtualClock virtualClock) {
+        this.virtualClock = virtualClock;
+        this.callbackExecutor = Objects.requireNonNull(callbackExecutor, "callbackExecutor 必须提供");
+        this.clock = Objects.requireNonNull(clock, "clock 必须提供");
+        this.dispatcher = new CoalescingDispatcher(callbackExecutor, metrics);
+        this.originNanos = clock.nanoTime();
+        this.lastCheckNanos = originNanos;
+        this.lastCheckWallMillis = clock.wallMillis();
+        this.bootOffsetNanos = bootOffset();
+        this.wheel = new TimingWheel(TICK_NANOS, WHEEL_SIZE, 0, dueBuckets);
+        if (virtualClock != null) {
+            this.driver = null;
+            return;
+        }
+        this.driver = new Thread(this::runLoop, threadName);
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    /**
+     * 创建由虚拟时钟驱动、没有调度线程的引擎。所有操作与 {@link #advance} 都应在同一个线程上调用；
+     * 配合 {@link CallbackExecutors#direct()} 时回调在 {@code advance} 内按时间顺序同步执行。
+     */
+    public static TimerEngine virtual(Executor callbackExecutor, VirtualClock clock) {
+        Objects.requireNonNull(clock, "clock 必须提供");
+        return new TimerEngine(null, callbackExecutor, clock, clock);
+    }
+
+    public boolean isVirtual() {
+        return virtualClock != null;
+    }
+
+    /**
+     * 把虚拟时间推进 {@code nanos}，依次处理期间到期的全部槽位；每个槽位处理时虚拟时钟恰好停在它的到期时刻。
+     */
+    public void advance(long nanos) {
+        if (virtualClock == null) {
+            throw new IllegalStateException("只有虚拟时钟驱动的引擎才能手动推进时间");
+        }
+        if (nanos < 0) {
+            throw new IllegalArgumentException("时间不能倒退：" + nanos + "ns");
+        }
+        long target = virtualClock.nanoTime() + nanos;
+        while (true) {
+            drainCommands();
+            TimerBucket head = dueBuckets.peek();
+            if (head == null || originNanos + head.expiration() > target) {
+                break;
+            }
+            virtualClock.set(Math.max(virtualClock.nanoTime(), originNanos + head.expiration()));
+            expire(head);
+        }
+        virtualClock.set(target);
+        drainCommands();
+    }
+
+    public TimerHandle schedule(long totalSeconds, LongConsumer onTick, Runnable onFinished) {
+        if (totalSeconds <= 0 || totalSeconds > MAX_SECONDS) {
+            throw new IllegalArgumentException("倒计时时长超出范围：" + totalSeconds);
+        }
+        return scheduleNanos(totalSeconds * SECOND_NANOS, onTick, onFinished);
+    }
+
+    /**
+     * 以纳秒精度的时长启动倒计时，例如从日志恢复带有不足一秒余量的计时器。
+     */
+    public TimerHandle scheduleNanos(long totalNanos, LongConsumer onTick, Runnable onFinished) {
+        return scheduleNanos(totalNanos, null, onTick, onFinished);
+    }
+
+    /**
+     * 启动一个分段序列；{@code onTick} 收到的是整个序列的剩余秒数，可用 {@link CompiledSequence#indexAt} 换算出当前分段。
+     */
+    public TimerHandle scheduleSequence(CompiledSequence sequence, LongConsumer onTick, Runnable onFinished) {
+        Objects.requireNonNull(sequence, "sequence 必须提供");
+        long totalSeconds = sequence.totalSeconds();
+        if (totalSeconds > MAX_SECONDS) {
+            throw new IllegalArgumentException("序列总时长超出范围：" + totalSeconds);
+        }
+        return scheduleNanos(totalSeconds * SECOND_NANOS, sequence, onTick, onFinished);
+    }
+
+    private TimerHandle scheduleNanos(long totalNanos, CompiledSequence sequence, LongConsumer onTick, Runnable onFinished) {
+        Objects.requireNonNull(onTick, "onTick 必须提供");
+        Objects.requireNonNull(onFinished, "onFinished 必须提供");
+        if (totalNanos <= 0 || totalNanos > MAX_SECONDS * SECOND_NANOS) {
+            throw new IllegalArgumentException("倒计时时长超出范围：" + totalNanos + "ns");
+        }
+        long startedAt = now();
+        TimerHandle handle = new TimerHandle(idSequence.incrementAndGet(), this, startedAt + totalNanos, totalNanos,
+                sequence, onTick, onFinished);
+        handles.put(handle.id(), handle);
+        long armed = handle.state;
+        submit(() -> rearm(handle, armed, startedAt));
+        return handle;
+    }
+
+    public Optional<TimerHandle> find(long id) {
+        return Optional.ofNullable(handles.get(id));
+    }
+
+    /**
+     * 按 id 暂停计时器；找不到或状态不允许暂停时返回 false。
+     */
+    public boolean pause(long id) {
+        TimerHandle handle = handles.get(id);
+        return handle != null && handle.pause();
+    }
+
+    public boolean resume(long id) {
+        TimerHandle handle = handles.get(id);
+        return handle != null && handle.resume();
+    }
+
+    public boolean cancel(long id) {
+        TimerHandle handle = handles.get(id);
+        return handle != null && handle.cancel();
+    }
+
+    public Executor callbackExecutor() {
+        return callbackExecutor;
+    }
+
+    public CoalescingDispatcher dispatcher() {
+        return dispatcher;
+    }
+
+    public TimerMetrics metrics() {
+        return metrics;
+    }
+
+    public int activeCount() {
+        return handles.size();
+    }
+
+    /**
+     * 切换低功耗模式，例如界面不可见时不需要逐秒刷新。
+     */
+    public void setLowPower(boolean enabled) {
+        submit(() -> applyLowPower(enabled));
+    }
+
+    public boolean isLowPower() {
+        return lowPower;
+    }
+
+    /**
+     * 注册时钟跳变监听器：检测到系统挂起或墙上时钟跳变、完成整体校正之后，在回调执行器上调用一次，
+     * 例如用来重新计算预计完成时间。
+     */
+    public void addClockListener(Runnable listener) {
+        clockListeners.add(Objects.requireNonNull(listener, "listener 必须提供"));
+    }
+
+    public void removeClockListener(Runnable listener) {
+        clockListeners.remove(listener);
+    }
+
+    /**
+     * 立即检查一次时钟，例如收到操作系统的唤醒通知时；通常无需调用，调度线程会定期检查。
+     */
+    public void checkClock() {
+        submit(this::detectClockJump);
+    }
+
+    public void shutdown() {
+        running = false;
+        handles.clear();
+        LockSupport.unpark(driver);
+    }
+
+    /**
+     * 在调用线程上以 CAS 完成 运行 → 暂停 的迁移。截止时间已过的计时器不能再暂停，
+     * 其完成通知由调度线程照常派发。
+     */
+    boolean pause(TimerHandle handle) {
+        while (true) {
+            long current = handle.state;
+            if (TimerHandle.statusOf(current) != CountdownStatus.RUNNING) {
+                return false;
+            }
+            long remaining = TimerHandle.valueOf(current) - now();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (handle.compareAndSetState(current, TimerHandle.pack(CountdownStatus.PAUSED, remaining))) {
+                handle.remainingSeconds = ceilSeconds(remaining);
+                submit(() -> disarm(handle));
+                return true;
+            }
+        }
+    }
+
+    boolean resume(TimerHandle handle) {
+        while (true) {
+            long current = handle.state;
+            if (TimerHandle.statusOf(current) != CountdownStatus.PAUSED) {
+                return false;
+            }
+            long resumedAt = now();
+            long next = TimerHandle.pack(CountdownStatus.RUNNING, resumedAt + TimerHandle.valueOf(current));
+            if (handle.compareAndSetState(current, next)) {
+                submit(() -> rearm(handle, next, resumedAt));
+                return true;
+            }
+        }
+    }
+
+    boolean cancel(TimerHandle handle) {
+        handles.remove(handle.id(), handle);
+        while (true) {
+            long current = handle.state;
+            CountdownStatus status = TimerHandle.statusOf(current);
+            if (status == CountdownStatus.IDLE || status == CountdownStatus.COMPLETED) {
+                return false;
+            }
+            long remaining = status == CountdownStatus.RUNNING
+                    ? Math.max(TimerHandle.valueOf(current) - now(), 0)
+                    : TimerHandle.valueOf(current);
+            if (handle.compareAndSetState(current, TimerHandle.pack(CountdownStatus.IDLE, remaining))) {
+                submit(() -> disarm(handle));
+                return true;
+            }
+        }
+    }
+
+    private void submit(Runnable command) {
+        commands.offer(command);
+        LockSupport.unpark(driver);
+    }
+
+    long now() {
+        return clock.nanoTime() - originNanos;
+    }
+
+    long originNanos() {
+        return originNanos;
+    }
+
+    private void runLoop() {
+        while (running) {
+            drainCommands();
+            TimerBucket head = dueBuckets.peek();
+            if (head == null) {
+                LockSupport.park(this);
+                metrics.driverWokeUp();
+                detectClockJump();
+                continue;
+            }
+            long wait = head.expiration() - now();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, Math.min(wait, CLOCK_CHECK_NANOS));
+                metrics.driverWokeUp();
+                detectClockJump();
+                continue;
+            }
+            if (wait < -CLOCK_JUMP_NANOS) {
+                // 单调时钟本身跨过了挂起期间，或进程曾被冻结
+                reconcile();
+                continue;
+            }
+            expire(head);
+        }
+        commands.clear();
+    }
+
+    private void expire(TimerBucket head) {
+        dueBuckets.poll();
+        wheel.advanceClock(head.expiration());
+        head.flush(this::reinsert);
+    }
+
+    /**
+     * 墙上时钟与单调时钟的走时差超过阈值时，先用启动时钟确认是否真的发生了挂起：
+     * Linux 的单调时钟在挂起期间停走，启动时钟多走出的部分就是挂起时长，把它计入所有计时器。
+     * 否则只是 NTP 校时、手动改时间或时区修正，计时器的截止时间不受影响，只通知监听器重新计算完成时间的显示。
+     * 单调时钟在挂起期间照常走动的平台（Windows）由调度循环中的槽位逾期检查处理。
+     */
+    private void detectClockJump() {
+        long nanos = clock.nanoTime();
+        long wallMillis = clock.wallMillis();
+        long skew = TimeUnit.MILLISECONDS.toNanos(wallMillis - lastCheckWallMillis) - (nanos - lastCheckNanos);
+        lastCheckNanos = nanos;
+        lastCheckWallMillis = wallMillis;
+        if (Math.abs(skew) <= CLOCK_JUMP_NANOS) {
+            return;
+        }
+        long suspended = suspendedNanos();
+        if (suspended > CLOCK_JUMP_NANOS) {
+            originNanos -= suspended;
+            reconcile();
+        } else {
+            metrics.clockJumped();
+            notifyClockListeners();
+        }
+    }
+
+    /**
+     * 自上次检查以来单调时钟停走的时长；没有启动时钟时返回 0。
+     */
+    private long suspendedNanos() {
+        long offset = bootOffset();
+        if (offset == Long.MIN_VALUE || bootOffsetNanos == Long.MIN_VALUE) {
+            bootOffsetNanos = offset;
+            return 0;
+        }
+        long suspended = offset - bootOffsetNanos;
+        bootOffsetNanos = offset;
+        return suspended;
+    }
+
+    private long bootOffset() {
+        long boot = clock.bootNanos();
+        return boot < 0 ? Long.MIN_VALUE : boot - clock.nanoTime();
+    }
+
+    /**
+     * 对所有运行中的计时器做一次整体校正：全部从时间轮摘下后按截止时间排序，已到期的依次完成，
+     * 其余各补发一次当前剩余秒数后重新挂载。过期的槽位不再逐个追赶，每个计时器最多收到一次补发通知。
+     */
+    private void reconcile() {
+        metrics.clockJumped();
+        long now = now();
+        List<Pending> live = new ArrayList<>(handles.size());
+        for (TimerHandle handle : handles.values()) {
+            handle.unlink();
+            long current = handle.state;
+            if (TimerHandle.statusOf(current) == CountdownStatus.RUNNING) {
+                live.add(new Pending(TimerHandle.valueOf(current), handle));
+            }
+        }
+        dueBuckets.removeIf(TimerBucket::discardIfEmpty);
+        wheel.advanceClock(now);
+        live.sort(Comparator.comparingLong(Pending::deadline));
+        for (Pending pending : live) {
+            catchUp(pending.handle(), now);
+        }
+        notifyClockListeners();
+    }
+
+    private void catchUp(TimerHandle handle, long now) {
+        while (true) {
+            long current = handle.state;
+            if (TimerHandle.statusOf(current) != CountdownStatus.RUNNING) {
+                return;
+            }
+            long deadline = TimerHandle.valueOf(current);
+            long seconds = ceilSeconds(deadline - now);
+            if (seconds == 0) {
+                if (complete(handle, current)) {
+                    return;
+                }
+                continue;
+            }
+            handle.remainingSeconds = seconds;
+            dispatcher.publishTick(handle, seconds);
+            arm(handle, deadline, now);
+            return;
+        }
+    }
+
+    private void notifyClockListeners() {
+        for (Runnable listener : clockListeners) {
+            callbackExecutor.execute(listener);
+        }
+    }
+
+    /**
+     * 校正时按截止时间排序用的快照，避免排序期间状态字被并发修改。
+     */
+    private record Pending(long deadline, TimerHandle handle) {
+    }
+
+    private void drainCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
+        }
+    }
+
+    /**
+     * 控制命令可能与状态迁移乱序到达调度线程，因此只有状态字仍是命令发出时的值才挂载，
+     * 过期的命令直接忽略；状态字才是唯一的事实来源。
+     */
+    private void rearm(TimerHandle handle, long expected, long now) {
+        if (handle.state == expected) {
+            handle.unlink();
+            arm(handle, TimerHandle.valueOf(expected), now);
+        }
+    }
+
+    private void disarm(TimerHandle handle) {
+        if (handle.status() != CountdownStatus.RUNNING) {
+            handle.unlink();
+        }
+    }
+
+    /**
+     * 所有运行中的计时器按新模式重新挂载；退出低功耗模式时先补发一次当前剩余秒数，界面立即同步。
+     */
+    private void applyLowPower(boolean enabled) {
+        if (lowPower == enabled) {
+            return;
+        }
+        lowPower = enabled;
+        long now = now();
+        for (TimerHandle handle : handles.values()) {
+            long current = handle.state;
+            if (TimerHandle.statusOf(current) != CountdownStatus.RUNNING) {
+                continue;
+            }
+            long deadline = TimerHandle.valueOf(current);
+            if (!enabled) {
+                long seconds = ceilSeconds(deadline - now);
+                if (seconds > 0) {
+                    handle.remainingSeconds = seconds;
+                    dispatcher.publishTick(handle, seconds);
+                }
+            }
+            handle.unlink();
+            arm(handle, deadline, now);
+        }
+        dueBuckets.removeIf(TimerBucket::discardIfEmpty);
+    }
+
+    /**
+     * 把计时器挂到下一个整秒边界，即剩余时间向上取整的秒数将要减一的时刻；低功耗模式下直接挂到截止时间。
+     */
+    private void arm(TimerHandle handle, long deadline, long now) {
+        long seconds = ceilSeconds(deadline - now);
+        handle.expiration = lowPower ? lowPowerExpiration(handle, deadline, now) : deadline - (seconds - 1) * SECOND_NANOS;
+        if (!wheel.add(handle)) {
+            fire(handle);
+        }
+    }
+
+    private void reinsert(WheelEntry entry) {
+        if (!wheel.add(entry)) {
+            fire((TimerHandle) entry);
+        }
+    }
+
+    /**
+     * 所有剩余时间都由绝对截止时间推算，调度线程的唤醒误差不会在多次 tick 之间累积。
+     */
+    private void fire(TimerHandle handle) {
+        long actual = now();
+        metrics.recordTickJitter(actual - handle.expiration);
+        long now = Math.max(actual, handle.expiration);
+        while (true) {
+            long current = handle.state;
+            if (TimerHandle.statusOf(current) != CountdownStatus.RUNNING) {
+                return;
+            }
+            long deadline = TimerHandle.valueOf(current);
+            long seconds = ceilSeconds(deadline - now);
+            if (seconds == 0) {
+                // 与并发的暂停或取消争用状态字，失败时按新状态重新判断
+                if (complete(handle, current)) {
+                    return;
+                }
+                continue;
+            }
+            handle.remainingSeconds = seconds;
+            if (lowPower) {
+                if (handle.sequence != null) {
+                    // 分段边界：界面不可见时也要通知分段切换
+                    dispatcher.publishTick(handle, seconds);
+                }
+                handle.expiration = lowPowerExpiration(handle, deadline, now);
+            } else {
+                dispatcher.publishTick(handle, seconds);
+                handle.expiration = deadline - (seconds - 1) * SECOND_NANOS;
+            }
+            if (wheel.add(handle)) {
+                return;
+            }
+            now = handle.expiration;
+        }
+    }
+
+    private boolean complete(TimerHandle handle, long current) {
+        if (!handle.compareAndSetState(current, TimerHandle.pack(CountdownStatus.COMPLETED, 0))) {
+            return false;
+        }
+        handle.remainingSeconds = 0;
+        dispatcher.publishTick(handle, 0);
+        handles.remove(handle.id(), handle);
+        dispatcher.publishCompletion(handle);
+        return true;
+    }
+
+    /**
+     * 低功耗模式下的下一次唤醒：普通倒计时直接到截止时间，分段序列到下一个分段边界。
+     */
+    private static long lowPowerExpiration(TimerHandle handle, long deadline, long now) {
+        CompiledSequence sequence = handle.sequence;
+        return sequence == null ? deadline : deadline - sequence.nextBoundaryNanos(deadline - now);
+    }
+
+    static long ceilSeconds(long nanos) {
+        if (nanos <= 0) {
+            return 0;
+        }
+        return (nanos + SECOND_NANOS - 1) / SECOND_NANOS;
+    }
+}
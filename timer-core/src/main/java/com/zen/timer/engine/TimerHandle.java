@@ -0,0 +1,126 @@
+package com.zen.timer.engine;
+
+import com.zen.timer.model.CompiledSequence;
+import com.zen.timer.model.CountdownStatus;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.LongConsumer;
+
+/**
+ * 引擎中单个倒计时的句柄，可在任意线程上暂停、恢复或取消。
+ * <p>
+ * 状态与截止时间合并保存在一个以 CAS 更新的 64 位状态字中：低 2 位为 {@link CountdownStatus}，
+ * 其余位在运行时是截止时间、暂停或取消后是剩余纳秒数。控制操作直接在调用线程上完成状态迁移，从不阻塞；
+ * 时间轮的挂载与摘除仍投递给调度线程执行。完成与暂停、取消争用同一个状态字，因此只有一方能够生效。
+ */
+public final class TimerHandle extends WheelEntry {
+
+    private static final AtomicLongFieldUpdater<TimerHandle> STATE =
+            AtomicLongFieldUpdater.newUpdater(TimerHandle.class, "state");
+    private static final int STATUS_BITS = 2;
+    private static final long STATUS_MASK = (1L << STATUS_BITS) - 1;
+    private static final CountdownStatus[] STATUSES = CountdownStatus.values();
+
+    private final long id;
+    private final TimerEngine engine;
+    final CompiledSequence sequence;
+    final LongConsumer onTick;
+    final Runnable onFinished;
+
+    volatile long state;
+    volatile long remainingSeconds;
+
+    volatile long pendingTick = CoalescingDispatcher.NO_TICK;
+    volatile int queued;
+    volatile int completion;
+
+    TimerHandle(long id, TimerEngine engine, long deadline, long remainingNanos, CompiledSequence sequence,
+                LongConsumer onTick, Runnable onFinished) {
+        this.id = id;
+        this.engine = engine;
+        this.sequence = sequence;
+        this.state = pack(CountdownStatus.RUNNING, deadline);
+        this.remainingSeconds = TimerEngine.ceilSeconds(remainingNanos);
+        this.onTick = onTick;
+        this.onFinished = onFinished;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public CountdownStatus status() {
+        return statusOf(state);
+    }
+
+    public long remainingSeconds() {
+        return remainingSeconds;
+    }
+
+    /**
+     * 以分段序列启动时返回对应的截止时间表，普通倒计时返回 null。
+     */
+    public CompiledSequence sequence() {
+        return sequence;
+    }
+
+    /**
+     * 精确到纳秒的剩余时间：运行中由截止时间实时推算，暂停或取消后保持当时的值。
+     */
+    public long remainingNanos() {
+        long current = state;
+        return switch (statusOf(current)) {
+            case RUNNING -> Math.max(valueOf(current) - engine.now(), 0);
+            case COMPLETED -> 0;
+            default -> valueOf(current);
+        };
+    }
+
+    public long remainingMillis() {
+        return remainingNanos() / 1_000_000L;
+    }
+
+    /**
+     * 以引擎时钟（默认即 {@link System#nanoTime()}）表示的绝对截止时间，仅在运行状态下有意义。
+     */
+    public long deadlineNanos() {
+        return engine.originNanos() + valueOf(state);
+    }
+
+    /**
+     * 暂停计时器；不在运行或已经到期时返回 false。
+     */
+    public boolean pause() {
+        return engine.pause(this);
+    }
+
+    /**
+     * 恢复暂停的计时器；不处于暂停状态时返回 false。
+     */
+    public boolean resume() {
+        return engine.resume(this);
+    }
+
+    /**
+     * 取消计时器；已经完成或取消时返回 false。
+     */
+    public boolean cancel() {
+        return engine.cancel(this);
+    }
+
+    boolean compareAndSetState(long expected, long next) {
+        return STATE.compareAndSet(this, expected, next);
+    }
+
+    static long pack(CountdownStatus status, long value) {
+        return (value << STATUS_BITS) | status.ordinal();
+    }
+
+    static CountdownStatus statusOf(long state) {
+        return STATUSES[(int) (state & STATUS_MASK)];
+    }
+
+    static long valueOf(long state) {
+        return state >>> STATUS_BITS;
+    }
+}
@@ -0,0 +1,63 @@
+package com.zen.timer.engine;
+
+import java.util.Queue;
+
+/**
+ * 分层时间轮。每层有固定数量的槽位，超出本层跨度的节点交给按需创建的上一层，
+ * 上层槽位到期时再把节点降级插回下层。非线程安全，只能由引擎的调度线程访问。
+ */
+final class TimingWheel {
+
+    private final long tickNanos;
+    private final int wheelSize;
+    private final long interval;
+    private final TimerBucket[] buckets;
+    private final Queue<TimerBucket> dueBuckets;
+
+    private long currentTime;
+    private TimingWheel overflow;
+
+    TimingWheel(long tickNanos, int wheelSize, long startNanos, Queue<TimerBucket> dueBuckets) {
+        this.tickNanos = tickNanos;
+        this.wheelSize = wheelSize;
+        this.interval = tickNanos * wheelSize;
+        this.dueBuckets = dueBuckets;
+        this.currentTime = startNanos - (startNanos % tickNanos);
+        this.buckets = new TimerBucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new TimerBucket();
+        }
+    }
+
+    /**
+     * 将节点放入合适的槽位。若节点已经到期则返回 false，由调用方立即触发。
+     */
+    boolean add(WheelEntry entry) {
+        long expiration = entry.expiration;
+        if (expiration < currentTime + tickNanos) {
+            return false;
+        }
+        if (expiration < currentTime + interval) {
+            long virtualId = expiration / tickNanos;
+            TimerBucket bucket = buckets[(int) (virtualId % wheelSize)];
+            bucket.add(entry);
+            if (bucket.setExpiration(virtualId * tickNanos)) {
+                dueBuckets.offer(bucket);
+            }
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel(interval, wheelSize, currentTime, dueBuckets);
+        }
+        return overflow.add(entry);
+    }
+
+    void advanceClock(long timeNanos) {
+        if (timeNanos >= currentTime + tickNanos) {
+            currentTime = timeNanos - (timeNanos % tickNanos);
+            if (overflow != null) {
+                overflow.advanceClock(currentTime);
+            }
+        }
+    }
+}
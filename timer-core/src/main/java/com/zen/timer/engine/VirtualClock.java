@@ -0,0 +1,49 @@
+package com.zen.timer.engine;
+
+/**
+ * 确定性的虚拟时钟，配合 {@link TimerEngine#virtual} 使用：时间只在 {@link TimerEngine#advance} 中流逝，
+ * 墙上时钟与单调时钟同步前进。引擎、时钟与回调都在调用 {@code advance} 的线程上运行，结果与实际耗时无关。
+ */
+public final class VirtualClock implements TimerClock {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private volatile long nanos;
+    private volatile long wallOffsetMillis;
+
+    /**
+     * @param startWallMillis 虚拟时间起点对应的墙上时间（Unix 毫秒）
+     */
+    public VirtualClock(long startWallMillis) {
+        this.wallOffsetMillis = startWallMillis;
+    }
+
+    @Override
+    public long nanoTime() {
+        return nanos;
+    }
+
+    @Override
+    public long wallMillis() {
+        return wallOffsetMillis + nanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * 虚拟时间里不会发生系统挂起，启动时钟与单调时钟一致。
+     */
+    @Override
+    public long bootNanos() {
+        return nanos;
+    }
+
+    /**
+     * 只拨动墙上时钟，模拟手动改时间或 NTP 校时；随后调用 {@link TimerEngine#checkClock()} 即可触发跳变检测。
+     */
+    public void jumpWall(long deltaMillis) {
+        wallOffsetMillis += deltaMillis;
+    }
+
+    void set(long nanos) {
+        this.nanos = nanos;
+    }
+}
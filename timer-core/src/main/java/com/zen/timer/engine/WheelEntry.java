@@ -0,0 +1,18 @@
+package com.zen.timer.engine;
+
+/**
+ * 时间轮中的侵入式链表节点，挂在某个 {@link TimerBucket} 上，插入与摘除都是 O(1)。
+ */
+class WheelEntry {
+
+    long expiration;
+    TimerBucket bucket;
+    WheelEntry prev;
+    WheelEntry next;
+
+    void unlink() {
+        if (bucket != null) {
+            bucket.remove(this);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.zen.timer.events;
+
+/**
+ * 环形缓冲区中的一个事件槽位。
+ * <p>
+ * 槽位在总线创建时一次性分配，发布线程原地改写字段，因此交给 {@link TimerEventHandler} 的实例只在
+ * {@link TimerEventHandler#onEvent} 调用期间有效，需要保留的内容应当复制出来。
+ */
+public final class TimerEvent {
+
+    TimerEventType type;
+    long timerId;
+    long remainingNanos;
+    long initialSeconds;
+    long publishedNanos;
+
+    TimerEvent() {
+    }
+
+    public TimerEventType type() {
+        return type;
+    }
+
+    public long timerId() {
+        return timerId;
+    }
+
+    /**
+     * 事件发生时的剩余时间；完成事件为 0。
+     */
+    public long remainingNanos() {
+        return remainingNanos;
+    }
+
+    public long initialSeconds() {
+        return initialSeconds;
+    }
+
+    /**
+     * 发布时的 {@link System#nanoTime()}，用于计算送达延迟。
+     */
+    public long publishedNanos() {
+        return publishedNanos;
+    }
+
+    void copyFrom(TimerEvent other) {
+        type = other.type;
+        timerId = other.timerId;
+        remainingNanos = other.remainingNanos;
+        initialSeconds = other.initialSeconds;
+        publishedNanos = other.publishedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return type + "#" + timerId + " remaining=" + remainingNanos / 1_000_000 + "ms initial=" + initialSeconds + "s";
+    }
+}
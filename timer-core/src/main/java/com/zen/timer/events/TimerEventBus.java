@@ -0,0 +1,431 @@
+package com.zen.timer.events;
+
+import com.zen.timer.metrics.EventBusMetrics;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 多消费者的计时器事件总线，底层是一个预先分配好槽位的环形缓冲区。
+ * <p>
+ * 发布方以 CAS 认领下一个序号，原地改写槽位，再按序号顺序推进游标，{@link #publish} 的常规路径不加锁、不分配内存。
+ * 事件通常只由回调线程发布，但控制方法可能来自任意线程，因此任何线程都可以发布，只是同时发布时要等前一个序号先推进游标。
+ * 每个消费者有自己的线程与序号，
+ * 按所选的 {@link WaitStrategy} 等待新事件，一次取出游标之前的全部事件（最多 {@code maxBatch} 个）成批处理，
+ * 处理完一批才更新一次序号。
+ * <p>
+ * 发布线程不会越过最慢的消费者：环已满时先短暂等待（背压），超过 {@code maxStallMillis} 仍未腾出位置，
+ * 就把拖后腿的消费者摘除并记录警告，而不是让队列无限增长或一直卡住发布线程。被摘除的消费者在下一次检查时收到
+ * {@link TimerEventHandler#onOverrun}，然后从最新的事件继续。槽位另带一个序号，消费者先复制槽位再校验序号，
+ * 因此即使读到正被覆盖的槽位也只会判定为落后，不会把写了一半的事件交给回调。
+ */
+public final class TimerEventBus implements AutoCloseable {
+
+    private static final System.Logger LOGGER = System.getLogger(TimerEventBus.class.getName());
+
+    public static final int DEFAULT_CAPACITY = 1_024;
+
+    /**
+     * 环已满时发布线程最多等待的时间，之后摘除落后的消费者。
+     */
+    public static final long DEFAULT_MAX_STALL_MILLIS = 5;
+
+    public static final int DEFAULT_MAX_BATCH = 64;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    // 阻塞等待的兜底超时，只用于防止漏掉唤醒，正常情况下由发布线程唤醒
+    private static final long BLOCKING_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long JOIN_MILLIS = 1_000;
+    private static final Consumer[] NO_CONSUMERS = new Consumer[0];
+
+    private final TimerEvent[] slots;
+    private final AtomicLongArray slotSequences;
+    private final int mask;
+    private final long maxStallNanos;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final EventBusMetrics metrics = new EventBusMetrics();
+    private volatile Consumer[] consumers = NO_CONSUMERS;
+    private volatile boolean closed;
+    // 上次算出的最慢消费者序号，没追上它之前不必重新扫描；各发布方写入的都是当时有效的下界，偶尔读到旧值只会多扫描一次
+    private volatile long cachedGating = -1;
+
+    public TimerEventBus() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_STALL_MILLIS);
+    }
+
+    /**
+     * @param capacity       环的槽位数，必须是 2 的幂
+     * @param maxStallMillis 环已满时发布线程最多等待的毫秒数，0 表示不等待、直接摘除落后的消费者
+     */
+    public TimerEventBus(int capacity, long maxStallMillis) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("环形缓冲区容量必须是不小于 2 的 2 的幂：" + capacity);
+        }
+        if (maxStallMillis < 0) {
+            throw new IllegalArgumentException("最长等待时间不能为负数");
+        }
+        this.slots = new TimerEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new TimerEvent();
+        }
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.maxStallNanos = TimeUnit.MILLISECONDS.toNanos(maxStallMillis);
+    }
+
+    /**
+     * 发布一个事件，可以在任意线程上调用。
+     *
+     * @return 总线已关闭时返回 false
+     */
+    public boolean publish(TimerEventType type, long timerId, long remainingNanos, long initialSeconds) {
+        Objects.requireNonNull(type, "type 必须提供");
+        if (closed) {
+            return false;
+        }
+        long next;
+        do {
+            next = claimed.get() + 1;
+            long wrapPoint = next - slots.length;
+            if (wrapPoint > cachedGating) {
+                awaitCapacity(wrapPoint);
+            }
+        } while (!claimed.compareAndSet(next - 1, next));
+        int index = (int) next & mask;
+        TimerEvent slot = slots[index];
+        // 槽位序号充当顺序锁：先标记为正在写入，写完字段后再填上新序号
+        slotSequences.set(index, -1);
+        VarHandle.storeStoreFence();
+        slot.type = type;
+        slot.timerId = timerId;
+        slot.remainingNanos = remainingNanos;
+        slot.initialSeconds = initialSeconds;
+        slot.publishedNanos = System.nanoTime();
+        slotSequences.setRelease(index, next);
+        // 游标按序号顺序推进：并发发布时等前一个序号写完，槽位写入只有几个字段，等待很短
+        for (int attempt = 0; cursor.get() != next - 1; attempt++) {
+            if (attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        cursor.set(next);
+        metrics.published();
+        for (Consumer consumer : consumers) {
+            if (consumer.parked) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 添加一个消费者并启动它的线程，它从下一个发布的事件开始接收。
+     *
+     * @param maxBatch 单批最多处理的事件数，批次结束时才更新一次序号
+     */
+    public Consumer addConsumer(String name, TimerEventHandler handler, WaitStrategy waitStrategy, int maxBatch) {
+        Objects.requireNonNull(name, "name 必须提供");
+        Objects.requireNonNull(handler, "handler 必须提供");
+        Objects.requireNonNull(waitStrategy, "waitStrategy 必须提供");
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("批次大小必须为正数");
+        }
+        Consumer consumer;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("事件总线已关闭");
+            }
+            consumer = new Consumer(name, handler, waitStrategy, maxBatch, cursor.get());
+            Consumer[] current = consumers;
+            Consumer[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = consumer;
+            consumers = next;
+        }
+        consumer.thread.start();
+        return consumer;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * 最近发布的事件序号，尚未发布过时为 -1。
+     */
+    public long cursor() {
+        return cursor.get();
+    }
+
+    public EventBusMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * 停止接收新事件并关闭所有消费者，每个消费者最多等待 1 秒处理完手头的批次。
+     */
+    @Override
+    public void close() {
+        Consumer[] current;
+        synchronized (this) {
+            closed = true;
+            current = consumers;
+        }
+        for (Consumer consumer : current) {
+            consumer.close();
+        }
+    }
+
+    /**
+     * 等到最慢的消费者处理完即将被覆盖的槽位；超过最长等待时间后摘除仍未跟上的消费者。
+     */
+    private void awaitCapacity(long wrapPoint) {
+        long minimum = minimumSequence();
+        if (minimum < wrapPoint) {
+            long started = System.nanoTime();
+            int attempt = 0;
+            while ((minimum = minimumSequence()) < wrapPoint) {
+                if (System.nanoTime() - started >= maxStallNanos) {
+                    evictBefore(wrapPoint);
+                    minimum = minimumSequence();
+                    break;
+                }
+                if (attempt < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (attempt < YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+                attempt++;
+            }
+            metrics.producerStalled(System.nanoTime() - started);
+        }
+        cachedGating = minimum;
+    }
+
+    private long minimumSequence() {
+        long minimum = claimed.get();
+        for (Consumer consumer : consumers) {
+            if (!consumer.detached) {
+                minimum = Math.min(minimum, consumer.sequence.get());
+            }
+        }
+        return minimum;
+    }
+
+    private void evictBefore(long wrapPoint) {
+        for (Consumer consumer : consumers) {
+            if (!consumer.detached && consumer.sequence.get() < wrapPoint) {
+                consumer.detached = true;
+                metrics.evicted();
+                LockSupport.unpark(consumer.thread);
+                // 同一个消费者只警告一次，之后的摘除只计入指标，避免持续过载时刷屏
+                if (!consumer.evictionReported) {
+                    consumer.evictionReported = true;
+                    LOGGER.log(System.Logger.Level.WARNING, "事件消费者 " + consumer.name + " 落后 " + consumer.lag()
+                            + " 个事件且 " + TimeUnit.NANOSECONDS.toMillis(maxStallNanos) + "ms 内未跟上，已暂时摘除");
+                }
+            }
+        }
+    }
+
+    /**
+     * 一个消费者：独立的线程、序号与等待方式。
+     */
+    public final class Consumer implements AutoCloseable {
+
+        private final String name;
+        private final TimerEventHandler handler;
+        private final WaitStrategy waitStrategy;
+        private final int maxBatch;
+        private final Thread thread;
+        private final AtomicLong sequence;
+        // 复制出来交给回调的事件，避免回调期间槽位被覆盖
+        private final TimerEvent view = new TimerEvent();
+        private volatile boolean running = true;
+        private volatile boolean detached;
+        private volatile boolean parked;
+        private boolean evictionReported;
+
+        private Consumer(String name, TimerEventHandler handler, WaitStrategy waitStrategy, int maxBatch, long start) {
+            this.name = name;
+            this.handler = handler;
+            this.waitStrategy = waitStrategy;
+            this.maxBatch = maxBatch;
+            this.sequence = new AtomicLong(start);
+            this.thread = new Thread(this::run, "timer-event-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public WaitStrategy waitStrategy() {
+            return waitStrategy;
+        }
+
+        /**
+         * 最近处理完的事件序号。
+         */
+        public long sequence() {
+            return sequence.get();
+        }
+
+        /**
+         * 已发布但尚未处理的事件数。
+         */
+        public long lag() {
+            return Math.max(0, cursor.get() - sequence.get());
+        }
+
+        /**
+         * 是否因落后太多而被摘除、尚未重新跟上。
+         */
+        public boolean isDetached() {
+            return detached;
+        }
+
+        /**
+         * 停止消费者线程并把它从总线上移除，最多等待 1 秒处理完手头的批次。
+         */
+        @Override
+        public void close() {
+            running = false;
+            synchronized (TimerEventBus.this) {
+                Consumer[] current = consumers;
+                int index = Arrays.asList(current).indexOf(this);
+                if (index >= 0) {
+                    Consumer[] next = new Consumer[current.length - 1];
+                    System.arraycopy(current, 0, next, 0, index);
+                    System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                    consumers = next.length == 0 ? NO_CONSUMERS : next;
+                }
+            }
+            LockSupport.unpark(thread);
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join(JOIN_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (running) {
+                if (detached) {
+                    next = rejoin(next);
+                    continue;
+                }
+                long available = cursor.get();
+                if (available < next) {
+                    idle = await(next, idle);
+                    continue;
+                }
+                idle = 0;
+                long end = Math.min(available, next + maxBatch - 1);
+                metrics.observeLag(available - next + 1);
+                long current = next;
+                while (current <= end && read(current)) {
+                    deliver(current, current == end);
+                    current++;
+                }
+                if (current <= end) {
+                    next = rejoin(current);
+                    continue;
+                }
+                sequence.setRelease(end);
+                metrics.batchDrained(end - next + 1);
+                next = end + 1;
+            }
+        }
+
+        /**
+         * 把槽位复制到 {@link #view}；槽位已被覆盖或正在写入时返回 false。
+         */
+        private boolean read(long expected) {
+            int index = (int) expected & mask;
+            if (slotSequences.getAcquire(index) != expected) {
+                return false;
+            }
+            view.copyFrom(slots[index]);
+            VarHandle.loadLoadFence();
+            return slotSequences.get(index) == expected;
+        }
+
+        private void deliver(long current, boolean endOfBatch) {
+            try {
+                handler.onEvent(view, current, endOfBatch);
+            } catch (RuntimeException ex) {
+                metrics.handlerFailed();
+                LOGGER.log(System.Logger.Level.WARNING, "事件消费者 " + name + " 处理事件失败：" + view, ex);
+            }
+            metrics.recordDeliveryLatency(System.nanoTime() - view.publishedNanos);
+        }
+
+        /**
+         * 跳过来不及处理的事件，从最新的事件继续。
+         */
+        private long rejoin(long missed) {
+            long latest = cursor.get();
+            long lost = Math.max(0, latest - missed + 1);
+            sequence.set(latest);
+            detached = false;
+            metrics.overrun(lost);
+            try {
+                handler.onOverrun(lost);
+            } catch (RuntimeException ex) {
+                metrics.handlerFailed();
+                LOGGER.log(System.Logger.Level.WARNING, "事件消费者 " + name + " 处理落后通知失败", ex);
+            }
+            return latest + 1;
+        }
+
+        private int await(long next, int idle) {
+            switch (waitStrategy) {
+                case BUSY_SPIN -> Thread.onSpinWait();
+                case YIELDING -> {
+                    if (idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+                case SLEEPING -> {
+                    if (idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else if (idle < YIELD_TRIES) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(SLEEP_NANOS);
+                    }
+                }
+                case BLOCKING -> {
+                    parked = true;
+                    // 先亮出标志再检查游标，发布线程先推进游标再读标志，两边至少有一方能看到对方
+                    if (running && !detached && cursor.get() < next) {
+                        LockSupport.parkNanos(this, BLOCKING_PARK_NANOS);
+                    }
+                    parked = false;
+                }
+            }
+            return idle == Integer.MAX_VALUE ? idle : idle + 1;
+        }
+    }
+}
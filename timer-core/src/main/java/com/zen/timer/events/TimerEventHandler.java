@@ -0,0 +1,23 @@
+package com.zen.timer.events;
+
+/**
+ * 事件总线的消费者回调，在消费者自己的线程上按序号顺序调用。
+ */
+@FunctionalInterface
+public interface TimerEventHandler {
+
+    /**
+     * @param event      只在本次调用期间有效的事件
+     * @param sequence   事件在总线上的序号，从 0 开始连续递增
+     * @param endOfBatch 是否为本批最后一个事件，适合在此时统一刷新或提交
+     */
+    void onEvent(TimerEvent event, long sequence, boolean endOfBatch);
+
+    /**
+     * 消费者落后太多被发布线程摘除、或读到已被覆盖的槽位时调用，随后从最新的事件继续。
+     *
+     * @param lostEvents 跳过的事件数
+     */
+    default void onOverrun(long lostEvents) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.zen.timer.events;
+
+/**
+ * 事件总线上的计时器事件种类。
+ */
+public enum TimerEventType {
+    /**
+     * 主倒计时启动，或从日志恢复后重新开始计时。
+     */
+    START,
+    /**
+     * 剩余秒数变化。
+     */
+    TICK,
+    PAUSE,
+    RESUME,
+    /**
+     * 主倒计时在走完之前被停止。
+     */
+    RESET,
+    /**
+     * 倒计时走完。
+     */
+    COMPLETE
+}
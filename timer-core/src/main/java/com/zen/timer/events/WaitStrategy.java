@@ -0,0 +1,23 @@
+package com.zen.timer.events;
+
+/**
+ * 消费者在没有新事件时的等待方式，在送达延迟与空闲时的 CPU 占用之间取舍。
+ */
+public enum WaitStrategy {
+    /**
+     * 一直自旋，延迟最低，但会占满一个 CPU 核心，只适合独占核心的场合。
+     */
+    BUSY_SPIN,
+    /**
+     * 短暂自旋后让出 CPU，延迟接近自旋，空闲时仍会频繁调度。
+     */
+    YIELDING,
+    /**
+     * 自旋、让出后以 100µs 为间隔休眠，延迟约为百微秒级，空闲开销很小。
+     */
+    SLEEPING,
+    /**
+     * 挂起线程，由发布线程在发布后唤醒，空闲时不占 CPU；发布线程只需读一个标志位，不加锁。
+     */
+    BLOCKING
+}
@@ -0,0 +1,399 @@
+package com.zen.timer.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * 一天的会话历史，内存中按列保存，并负责分区文件的编解码。
+ * <p>
+ * 文件分为两段：封存段按列写入（文件头、预设名称字典、各列数组、CRC32），追加段是逐条写入的行记录，
+ * 每条带有自己的校验和，读取时遇到第一条不完整或校验失败的记录即视为文件末尾。
+ * 新会话总是写入追加段，分区被封存时整体重写为只有封存段的新文件。
+ * <p>
+ * 每个分区缓存一份按用户汇总的索引（计时总长与完成数），分区有新会话时失效，下次查询时重建。
+ */
+final class DayPartition {
+
+    static final int MAGIC = 0x4E434831;
+    /**
+     * 每行在封存段中占用的字节：6 个 int 列、1 个 char 列与 1 个 byte 列。
+     */
+    static final int ROW_BYTES = 6 * Integer.BYTES + Character.BYTES + Byte.BYTES;
+
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+    private static final byte TAIL_MARKER = 0x52;
+    private static final int TAIL_FIXED_BYTES = 1 + 5 * Integer.BYTES + Character.BYTES + Character.BYTES + Byte.BYTES
+            + Integer.BYTES;
+    private static final int INITIAL_CAPACITY = 16;
+
+    final long epochDay;
+    final long dayStartMillis;
+
+    private int size;
+    private int[] userIds = new int[INITIAL_CAPACITY];
+    private int[] presetIds = new int[INITIAL_CAPACITY];
+    private int[] plannedSeconds = new int[INITIAL_CAPACITY];
+    private int[] actualSeconds = new int[INITIAL_CAPACITY];
+    private int[] startOffsetMillis = new int[INITIAL_CAPACITY];
+    private int[] wallSeconds = new int[INITIAL_CAPACITY];
+    private char[] pauseCounts = new char[INITIAL_CAPACITY];
+    private byte[] outcomes = new byte[INITIAL_CAPACITY];
+
+    private final List<String> presets = new ArrayList<>();
+    private final Map<String, Integer> presetIndex = new HashMap<>();
+
+    private int sealedRows;
+    private long fileLength;
+    private Rollup rollup;
+
+    DayPartition(long epochDay, long dayStartMillis) {
+        this.epochDay = epochDay;
+        this.dayStartMillis = dayStartMillis;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 分区文件中有效内容的长度，追加前把文件截断到这里，丢弃不完整的尾部写入。
+     */
+    long fileLength() {
+        return fileLength;
+    }
+
+    boolean hasTail() {
+        return sealedRows < size;
+    }
+
+    /**
+     * 加入一条会话并返回它在追加段中的编码；调用方负责把编码写到文件末尾。
+     */
+    ByteBuffer append(SessionRecord record) {
+        byte[] preset = record.preset().getBytes(StandardCharsets.UTF_8);
+        if (preset.length > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("预设名称过长：" + record.preset());
+        }
+        long offset = record.startedAtMillis() - dayStartMillis;
+        long wall = (record.endedAtMillis() - record.startedAtMillis() + 500) / 1000;
+        addRow(record.userId(), presetId(record.preset()), (int) record.plannedSeconds(), (int) record.actualSeconds(),
+                (int) offset, (int) Math.min(Integer.MAX_VALUE, wall), (char) record.pauseCount(),
+                record.outcome().code());
+
+        ByteBuffer tail = ByteBuffer.allocate(TAIL_FIXED_BYTES + preset.length);
+        tail.put(TAIL_MARKER)
+                .putInt(record.userId())
+                .putChar((char) preset.length)
+                .put(preset)
+                .putInt((int) record.plannedSeconds())
+                .putInt((int) record.actualSeconds())
+                .putInt((int) offset)
+                .putInt((int) Math.min(Integer.MAX_VALUE, wall))
+                .putChar((char) record.pauseCount())
+                .put(record.outcome().code());
+        tail.putInt(crc(tail.array(), 0, tail.position()));
+        tail.flip();
+        fileLength += tail.remaining();
+        return tail;
+    }
+
+    SessionRecord record(int row) {
+        long startedAt = dayStartMillis + startOffsetMillis[row];
+        return new SessionRecord(userIds[row], presets.get(presetIds[row]), plannedSeconds[row], actualSeconds[row],
+                pauseCounts[row], startedAt, startedAt + wallSeconds[row] * 1000L, SessionOutcome.fromCode(outcomes[row]));
+    }
+
+    /**
+     * 用户在这一天的计时总长；{@code userId} 为 {@link SessionHistory#ALL_USERS} 时汇总全部用户。
+     */
+    long focusSeconds(int userId) {
+        Rollup index = rollup();
+        if (userId == SessionHistory.ALL_USERS) {
+            return index.totalFocusSeconds;
+        }
+        int slot = Arrays.binarySearch(index.users, userId);
+        return slot < 0 ? 0 : index.focusSeconds[slot];
+    }
+
+    int completed(int userId) {
+        Rollup index = rollup();
+        if (userId == SessionHistory.ALL_USERS) {
+            return index.totalCompleted;
+        }
+        int slot = Arrays.binarySearch(index.users, userId);
+        return slot < 0 ? 0 : index.completed[slot];
+    }
+
+    /**
+     * 按预设累加到 {@code totals}：每个预设依次为会话数、完成数、实际计时总长、计划时长总和。
+     */
+    void accumulatePresets(int userId, Map<String, long[]> totals) {
+        long[] local = new long[presets.size() * 4];
+        boolean all = userId == SessionHistory.ALL_USERS;
+        for (int row = 0; row < size; row++) {
+            if (!all && userIds[row] != userId) {
+                continue;
+            }
+            int base = presetIds[row] * 4;
+            local[base]++;
+            if (outcomes[row] == SessionOutcome.COMPLETED.code()) {
+                local[base + 1]++;
+            }
+            local[base + 2] += actualSeconds[row];
+            local[base + 3] += plannedSeconds[row];
+        }
+        for (int preset = 0; preset < presets.size(); preset++) {
+            int base = preset * 4;
+            if (local[base] == 0) {
+                continue;
+            }
+            long[] target = totals.computeIfAbsent(presets.get(preset), key -> new long[4]);
+            for (int i = 0; i < 4; i++) {
+                target[i] += local[base + i];
+            }
+        }
+    }
+
+    /**
+     * 整个分区编码为只有封存段的文件内容。
+     */
+    ByteBuffer encodeSealed() {
+        List<byte[]> names = new ArrayList<>(presets.size());
+        int dictionaryBytes = 0;
+        for (String preset : presets) {
+            byte[] name = preset.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            dictionaryBytes += Character.BYTES + name.length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + dictionaryBytes + size * ROW_BYTES + Integer.BYTES);
+        out.putInt(MAGIC).putLong(epochDay).putInt(size).putInt(presets.size());
+        for (byte[] name : names) {
+            out.putChar((char) name.length).put(name);
+        }
+        putInts(out, userIds);
+        putInts(out, presetIds);
+        putInts(out, plannedSeconds);
+        putInts(out, actualSeconds);
+        putInts(out, startOffsetMillis);
+        putInts(out, wallSeconds);
+        out.asCharBuffer().put(pauseCounts, 0, size);
+        out.position(out.position() + size * Character.BYTES);
+        out.put(outcomes, 0, size);
+        out.putInt(crc(out.array(), 0, out.position()));
+        out.flip();
+        return out;
+    }
+
+    /**
+     * 封存后的文件已经写入磁盘时调用。
+     */
+    void sealed(long length) {
+        sealedRows = size;
+        fileLength = length;
+    }
+
+    /**
+     * 解码分区文件。封存段损坏时抛出 {@link IOException}；追加段从第一条损坏的记录起被忽略。
+     */
+    static DayPartition decode(long epochDay, long dayStartMillis, ByteBuffer in) throws IOException {
+        DayPartition partition = new DayPartition(epochDay, dayStartMillis);
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC || in.getLong() != epochDay) {
+            throw new IOException("不是会话历史分区");
+        }
+        int rows = in.getInt();
+        int dictionarySize = in.getInt();
+        if (rows < 0 || dictionarySize < 0) {
+            throw new IOException("会话历史分区已损坏");
+        }
+        try {
+            for (int i = 0; i < dictionarySize; i++) {
+                partition.presetId(readName(in));
+            }
+            partition.ensureCapacity(rows);
+            getInts(in, partition.userIds, rows);
+            getInts(in, partition.presetIds, rows);
+            getInts(in, partition.plannedSeconds, rows);
+            getInts(in, partition.actualSeconds, rows);
+            getInts(in, partition.startOffsetMillis, rows);
+            getInts(in, partition.wallSeconds, rows);
+            in.asCharBuffer().get(partition.pauseCounts, 0, rows);
+            in.position(in.position() + rows * Character.BYTES);
+            in.get(partition.outcomes, 0, rows);
+            int sealedEnd = in.position();
+            if (in.getInt() != crc(in, 0, sealedEnd)) {
+                throw new IOException("会话历史分区校验失败");
+            }
+        } catch (RuntimeException ex) {
+            throw new IOException("会话历史分区已损坏", ex);
+        }
+        for (int row = 0; row < rows; row++) {
+            if (partition.presetIds[row] < 0 || partition.presetIds[row] >= dictionarySize
+                    || SessionOutcome.fromCode(partition.outcomes[row]) == null) {
+                throw new IOException("会话历史分区已损坏");
+            }
+        }
+        partition.size = rows;
+        partition.sealedRows = rows;
+        partition.fileLength = in.position();
+        partition.decodeTail(in);
+        return partition;
+    }
+
+    private void decodeTail(ByteBuffer in) {
+        while (in.remaining() >= TAIL_FIXED_BYTES) {
+            int start = in.position();
+            if (in.get() != TAIL_MARKER) {
+                return;
+            }
+            int userId = in.getInt();
+            int nameLength = in.getChar();
+            int end = start + TAIL_FIXED_BYTES + nameLength;
+            if (end > in.limit() || in.getInt(end - Integer.BYTES) != crc(in, start, end - Integer.BYTES)) {
+                return;
+            }
+            byte[] name = new byte[nameLength];
+            in.get(name);
+            int planned = in.getInt();
+            int actual = in.getInt();
+            int offset = in.getInt();
+            int wall = in.getInt();
+            char pauses = in.getChar();
+            byte outcome = in.get();
+            if (userId < 0 || SessionOutcome.fromCode(outcome) == null) {
+                return;
+            }
+            addRow(userId, presetId(new String(name, StandardCharsets.UTF_8)), planned, actual, offset, wall, pauses,
+                    outcome);
+            in.position(end);
+            fileLength = end;
+        }
+    }
+
+    private void addRow(int userId, int presetId, int planned, int actual, int offset, int wall, char pauses,
+                        byte outcome) {
+        ensureCapacity(size + 1);
+        userIds[size] = userId;
+        presetIds[size] = presetId;
+        plannedSeconds[size] = planned;
+        actualSeconds[size] = actual;
+        startOffsetMillis[size] = offset;
+        wallSeconds[size] = wall;
+        pauseCounts[size] = pauses;
+        outcomes[size] = outcome;
+        size++;
+        rollup = null;
+    }
+
+    private int presetId(String preset) {
+        return presetIndex.computeIfAbsent(preset, key -> {
+            presets.add(key);
+            return presets.size() - 1;
+        });
+    }
+
+    private void ensureCapacity(int rows) {
+        if (rows <= userIds.length) {
+            return;
+        }
+        int capacity = Math.max(rows, userIds.length * 2);
+        userIds = Arrays.copyOf(userIds, capacity);
+        presetIds = Arrays.copyOf(presetIds, capacity);
+        plannedSeconds = Arrays.copyOf(plannedSeconds, capacity);
+        actualSeconds = Arrays.copyOf(actualSeconds, capacity);
+        startOffsetMillis = Arrays.copyOf(startOffsetMillis, capacity);
+        wallSeconds = Arrays.copyOf(wallSeconds, capacity);
+        pauseCounts = Arrays.copyOf(pauseCounts, capacity);
+        outcomes = Arrays.copyOf(outcomes, capacity);
+    }
+
+    private Rollup rollup() {
+        if (rollup == null) {
+            rollup = Rollup.build(this);
+        }
+        return rollup;
+    }
+
+    private void putInts(ByteBuffer out, int[] column) {
+        out.asIntBuffer().put(column, 0, size);
+        out.position(out.position() + size * Integer.BYTES);
+    }
+
+    private static void getInts(ByteBuffer in, int[] column, int rows) {
+        in.asIntBuffer().get(column, 0, rows);
+        in.position(in.position() + rows * Integer.BYTES);
+    }
+
+    private static String readName(ByteBuffer in) {
+        byte[] name = new byte[in.getChar()];
+        in.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(byte[] data, int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(data, from, to - from);
+        return (int) crc.getValue();
+    }
+
+    private static int crc(ByteBuffer data, int from, int to) {
+        CRC32 crc = new CRC32();
+        crc.update(data.duplicate().limit(to).position(from));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 按用户汇总的索引，用户编号升序排列以便二分查找。
+     */
+    private static final class Rollup {
+        private final int[] users;
+        private final long[] focusSeconds;
+        private final int[] completed;
+        private long totalFocusSeconds;
+        private int totalCompleted;
+
+        private Rollup(int users) {
+            this.users = new int[users];
+            this.focusSeconds = new long[users];
+            this.completed = new int[users];
+        }
+
+        static Rollup build(DayPartition partition) {
+            int rows = partition.size;
+            // 高 32 位是用户编号、低 32 位是行号，排序后同一用户的行相邻
+            long[] keys = new long[rows];
+            for (int row = 0; row < rows; row++) {
+                keys[row] = (long) partition.userIds[row] << 32 | row;
+            }
+            Arrays.sort(keys);
+            int distinct = 0;
+            for (int i = 0; i < rows; i++) {
+                if (i == 0 || keys[i] >>> 32 != keys[i - 1] >>> 32) {
+                    distinct++;
+                }
+            }
+            Rollup rollup = new Rollup(distinct);
+            int slot = -1;
+            byte completedCode = SessionOutcome.COMPLETED.code();
+            for (int i = 0; i < rows; i++) {
+                if (i == 0 || keys[i] >>> 32 != keys[i - 1] >>> 32) {
+                    rollup.users[++slot] = (int) (keys[i] >>> 32);
+                }
+                int row = (int) keys[i];
+                rollup.focusSeconds[slot] += partition.actualSeconds[row];
+                rollup.totalFocusSeconds += partition.actualSeconds[row];
+                if (partition.outcomes[row] == completedCode) {
+                    rollup.completed[slot]++;
+                    rollup.totalCompleted++;
+                }
+            }
+            return rollup;
+        }
+    }
+}
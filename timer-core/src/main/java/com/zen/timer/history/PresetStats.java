@@ -0,0 +1,19 @@
+package com.zen.timer.history;
+
+/**
+ * 一个预设在查询范围内的汇总。
+ *
+ * @param preset                预设或分段序列的名称
+ * @param sessions              会话数
+ * @param completed             其中走完的会话数
+ * @param totalActualSeconds    实际计时的总时长
+ * @param averageActualSeconds  每次会话平均实际计时
+ * @param averagePlannedSeconds 每次会话平均计划时长
+ */
+public record PresetStats(String preset, int sessions, int completed, long totalActualSeconds,
+                          double averageActualSeconds, double averagePlannedSeconds) {
+
+    public double completionRate() {
+        return sessions == 0 ? 0 : completed / (double) sessions;
+    }
+}
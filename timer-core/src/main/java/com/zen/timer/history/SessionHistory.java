@@ -0,0 +1,376 @@
+package com.zen.timer.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 计时会话的历史记录，按开始日期分区保存在一个目录中，每天一个 {@code yyyy-MM-dd.hist} 文件。
+ * <p>
+ * 新会话追加到所在分区文件的末尾；写入转到另一天的分区或关闭时，原分区整体重写为按列存放的紧凑格式。
+ * 分区在首次被查询或写入时才读入内存，之后常驻。按日、按周的总长与连续天数只读取各分区缓存的按用户汇总索引，
+ * 按预设的统计直接扫描分区的基本类型列数组。
+ * <p>
+ * 所有方法都是同步的，可以在任意线程调用。{@link #record} 在调用线程上直接写文件，切换分区时还要重写并同步整个旧分区；
+ * UI 线程应改用 {@link #recordAsync}，由后台写入线程按提交顺序写入。
+ */
+public final class SessionHistory implements Closeable {
+
+    /**
+     * 单机使用时的用户编号。
+     */
+    public static final int LOCAL_USER = 0;
+    /**
+     * 查询时表示汇总全部用户。
+     */
+    public static final int ALL_USERS = -1;
+
+    private static final System.Logger LOGGER = System.getLogger(SessionHistory.class.getName());
+    private static final String SUFFIX = ".hist";
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+
+    private final Path directory;
+    private final ZoneId zone;
+    private final TreeSet<Long> stored = new TreeSet<>();
+    private final Map<Long, DayPartition> loaded = new HashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "session-history-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DayPartition appendTarget;
+    private FileChannel appendChannel;
+
+    private SessionHistory(Path directory, ZoneId zone) throws IOException {
+        this.directory = directory;
+        this.zone = zone;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    stored.add(LocalDate.parse(name.substring(0, name.length() - SUFFIX.length())).toEpochDay());
+                } catch (DateTimeParseException ex) {
+                    LOGGER.log(System.Logger.Level.DEBUG, "忽略无法识别的历史文件：" + file);
+                }
+            }
+        }
+    }
+
+    public static SessionHistory open(Path directory) throws IOException {
+        return open(directory, ZoneId.systemDefault());
+    }
+
+    /**
+     * @param zone 划分日期所用的时区
+     */
+    public static SessionHistory open(Path directory, ZoneId zone) throws IOException {
+        Objects.requireNonNull(directory, "directory 必须提供");
+        Objects.requireNonNull(zone, "zone 必须提供");
+        Files.createDirectories(directory);
+        return new SessionHistory(directory, zone);
+    }
+
+    /**
+     * 追加一次会话，归入开始时间所在日期的分区。
+     */
+    public synchronized void record(SessionRecord record) {
+        Objects.requireNonNull(record, "record 必须提供");
+        long day = Instant.ofEpochMilli(record.startedAtMillis()).atZone(zone).toLocalDate().toEpochDay();
+        DayPartition partition = partition(day, true);
+        try {
+            if (partition != appendTarget) {
+                switchAppendTarget(partition);
+            }
+            ByteBuffer tail = partition.append(record);
+            while (tail.hasRemaining()) {
+                appendChannel.write(tail);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("无法写入会话历史：" + file(day), ex);
+        }
+    }
+
+    /**
+     * 把会话交给后台写入线程后立即返回，写入失败只记录警告；关闭后提交的会话被丢弃。
+     */
+    public void recordAsync(SessionRecord record) {
+        Objects.requireNonNull(record, "record 必须提供");
+        try {
+            writer.execute(() -> {
+                try {
+                    record(record);
+                } catch (RuntimeException ex) {
+                    LOGGER.log(System.Logger.Level.WARNING, "写入会话历史失败", ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "会话历史已关闭，丢弃会话：" + record);
+        }
+    }
+
+    /**
+     * 从 {@code from} 到 {@code to}（含）每天的计时总长（秒），数组下标为距 {@code from} 的天数。
+     */
+    public synchronized long[] dailyFocusSeconds(int userId, LocalDate from, LocalDate to) {
+        checkUser(userId);
+        long first = checkRange(from, to);
+        long[] totals = new long[(int) (to.toEpochDay() - first + 1)];
+        for (int i = 0; i < totals.length; i++) {
+            DayPartition partition = partition(first + i, false);
+            if (partition != null) {
+                totals[i] = partition.focusSeconds(userId);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * 按周（周一开始）汇总的计时总长（秒）。第一个元素是 {@code from} 所在的周，只统计范围内的日期。
+     */
+    public synchronized long[] weeklyFocusSeconds(int userId, LocalDate from, LocalDate to) {
+        checkUser(userId);
+        long first = checkRange(from, to);
+        long weekStart = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay();
+        long[] totals = new long[(int) ((to.toEpochDay() - weekStart) / 7 + 1)];
+        for (long day = first; day <= to.toEpochDay(); day++) {
+            DayPartition partition = partition(day, false);
+            if (partition != null) {
+                totals[(int) ((day - weekStart) / 7)] += partition.focusSeconds(userId);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * 范围内每个预设的会话数、完成率与平均时长，按实际计时总长从多到少排列。
+     */
+    public synchronized List<PresetStats> presetStats(int userId, LocalDate from, LocalDate to) {
+        checkUser(userId);
+        long first = checkRange(from, to);
+        Map<String, long[]> totals = new HashMap<>();
+        for (long day = first; day <= to.toEpochDay(); day++) {
+            DayPartition partition = partition(day, false);
+            if (partition != null) {
+                partition.accumulatePresets(userId, totals);
+            }
+        }
+        List<PresetStats> result = new ArrayList<>(totals.size());
+        totals.forEach((preset, sums) -> result.add(new PresetStats(preset, (int) sums[0], (int) sums[1], sums[2],
+                sums[2] / (double) sums[0], sums[3] / (double) sums[0])));
+        result.sort(Comparator.comparingLong(PresetStats::totalActualSeconds).reversed()
+                .thenComparing(PresetStats::preset));
+        return result;
+    }
+
+    /**
+     * 截至 {@code today} 的连续专注天数与历史最长连续天数。
+     */
+    public synchronized Streak streak(int userId, LocalDate today) {
+        checkUser(userId);
+        Objects.requireNonNull(today, "today 必须提供");
+        long day = today.toEpochDay();
+        if (completed(userId, day) == 0) {
+            day--;
+        }
+        int current = 0;
+        while (completed(userId, day) > 0) {
+            current++;
+            day--;
+        }
+        int longest = current;
+        int run = 0;
+        long previous = Long.MIN_VALUE;
+        for (long candidate : stored.headSet(today.toEpochDay(), true)) {
+            if (completed(userId, candidate) == 0) {
+                run = 0;
+                continue;
+            }
+            run = candidate == previous + 1 && run > 0 ? run + 1 : 1;
+            previous = candidate;
+            longest = Math.max(longest, run);
+        }
+        return new Streak(current, longest);
+    }
+
+    /**
+     * 某一天的全部会话，按写入顺序排列。
+     */
+    public synchronized List<SessionRecord> sessions(LocalDate day) {
+        DayPartition partition = partition(day.toEpochDay(), false);
+        if (partition == null) {
+            return List.of();
+        }
+        List<SessionRecord> records = new ArrayList<>(partition.size());
+        for (int row = 0; row < partition.size(); row++) {
+            records.add(partition.record(row));
+        }
+        return records;
+    }
+
+    /**
+     * 等待后台写入线程写完已提交的会话，再关闭追加中的文件，并把所有带有追加段的分区重写为按列存放的格式。
+     */
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                LOGGER.log(System.Logger.Level.WARNING, "会话历史的后台写入在 " + CLOSE_TIMEOUT_MILLIS + "ms 内未完成");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        closePartitions();
+    }
+
+    private synchronized void closePartitions() throws IOException {
+        closeAppendTarget();
+        for (DayPartition partition : loaded.values()) {
+            if (partition.hasTail()) {
+                seal(partition);
+            }
+        }
+    }
+
+    private DayPartition partition(long day, boolean create) {
+        DayPartition partition = loaded.get(day);
+        if (partition != null) {
+            return partition;
+        }
+        if (stored.contains(day)) {
+            partition = load(day);
+        } else if (create) {
+            partition = new DayPartition(day, dayStartMillis(day));
+        } else {
+            return null;
+        }
+        loaded.put(day, partition);
+        return partition;
+    }
+
+    /**
+     * 读入分区文件；封存段损坏时把文件改名保留，当天从空分区重新开始。
+     */
+    private DayPartition load(long day) {
+        Path file = file(day);
+        try {
+            return DayPartition.decode(day, dayStartMillis(day), ByteBuffer.wrap(Files.readAllBytes(file)));
+        } catch (IOException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "会话历史分区无法读取，已改名保留：" + file, ex);
+            try {
+                Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException moveFailure) {
+                LOGGER.log(System.Logger.Level.WARNING, "无法改名损坏的会话历史分区：" + file, moveFailure);
+            }
+            stored.remove(day);
+            return new DayPartition(day, dayStartMillis(day));
+        }
+    }
+
+    private void switchAppendTarget(DayPartition partition) throws IOException {
+        closeAppendTarget();
+        FileChannel channel = FileChannel.open(file(partition.epochDay), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (partition.fileLength() == 0) {
+                ByteBuffer empty = partition.encodeSealed();
+                long length = empty.remaining();
+                channel.truncate(0);
+                while (empty.hasRemaining()) {
+                    channel.write(empty, length - empty.remaining());
+                }
+                partition.sealed(length);
+            } else {
+                // 丢弃上次进程中断时不完整的尾部写入
+                channel.truncate(partition.fileLength());
+            }
+            channel.position(partition.fileLength());
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        stored.add(partition.epochDay);
+        appendTarget = partition;
+        appendChannel = channel;
+    }
+
+    private void closeAppendTarget() throws IOException {
+        if (appendChannel == null) {
+            return;
+        }
+        DayPartition partition = appendTarget;
+        appendChannel.close();
+        appendChannel = null;
+        appendTarget = null;
+        if (partition.hasTail()) {
+            seal(partition);
+        }
+    }
+
+    private void seal(DayPartition partition) throws IOException {
+        Path file = file(partition.epochDay);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer content = partition.encodeSealed();
+        long length = content.remaining();
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (content.hasRemaining()) {
+                out.write(content);
+            }
+            out.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        partition.sealed(length);
+    }
+
+    private int completed(int userId, long day) {
+        DayPartition partition = partition(day, false);
+        return partition == null ? 0 : partition.completed(userId);
+    }
+
+    private long dayStartMillis(long day) {
+        return LocalDate.ofEpochDay(day).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    private Path file(long day) {
+        return directory.resolve(LocalDate.ofEpochDay(day) + SUFFIX);
+    }
+
+    private static void checkUser(int userId) {
+        if (userId < 0 && userId != ALL_USERS) {
+            throw new IllegalArgumentException("用户编号不能为负数：" + userId);
+        }
+    }
+
+    private static long checkRange(LocalDate from, LocalDate to) {
+        Objects.requireNonNull(from, "from 必须提供");
+        Objects.requireNonNull(to, "to 必须提供");
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("结束日期早于开始日期：" + from + " ~ " + to);
+        }
+        return from.toEpochDay();
+    }
+}
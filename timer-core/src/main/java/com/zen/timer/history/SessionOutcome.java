@@ -0,0 +1,35 @@
+package com.zen.timer.history;
+
+/**
+ * 一次计时会话的结束方式，编码为单字节写入历史分区。
+ */
+public enum SessionOutcome {
+    /**
+     * 倒计时走完。
+     */
+    COMPLETED(1),
+    /**
+     * 用户在中途复位。
+     */
+    RESET(2),
+    /**
+     * 未走完也未复位就被新的倒计时取代，或程序关闭后无法恢复。
+     */
+    ABANDONED(3);
+
+    private static final SessionOutcome[] BY_CODE = {null, COMPLETED, RESET, ABANDONED};
+
+    private final byte code;
+
+    SessionOutcome(int code) {
+        this.code = (byte) code;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    static SessionOutcome fromCode(byte code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
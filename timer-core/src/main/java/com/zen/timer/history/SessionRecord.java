@@ -0,0 +1,39 @@
+package com.zen.timer.history;
+
+import java.util.Objects;
+
+/**
+ * 一次计时会话的记录。会话按开始时间所在的日期归入分区，结束时间在分区中精确到秒保存。
+ *
+ * @param userId          用户编号，单机使用时为 {@link SessionHistory#LOCAL_USER}
+ * @param preset          预设或分段序列的名称
+ * @param plannedSeconds  计划时长
+ * @param actualSeconds   实际计时的时长，不含暂停
+ * @param pauseCount      暂停次数
+ * @param startedAtMillis 开始时的墙上时钟
+ * @param endedAtMillis   结束时的墙上时钟
+ * @param outcome         结束方式
+ */
+public record SessionRecord(int userId, String preset, long plannedSeconds, long actualSeconds, int pauseCount,
+                            long startedAtMillis, long endedAtMillis, SessionOutcome outcome) {
+
+    public SessionRecord {
+        Objects.requireNonNull(preset, "preset 必须提供");
+        Objects.requireNonNull(outcome, "outcome 必须提供");
+        if (userId < 0) {
+            throw new IllegalArgumentException("用户编号不能为负数：" + userId);
+        }
+        if (plannedSeconds < 0 || plannedSeconds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("计划时长超出范围：" + plannedSeconds);
+        }
+        if (actualSeconds < 0 || actualSeconds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("实际时长超出范围：" + actualSeconds);
+        }
+        if (pauseCount < 0 || pauseCount > Character.MAX_VALUE) {
+            throw new IllegalArgumentException("暂停次数超出范围：" + pauseCount);
+        }
+        if (endedAtMillis < startedAtMillis) {
+            throw new IllegalArgumentException("结束时间早于开始时间");
+        }
+    }
+}
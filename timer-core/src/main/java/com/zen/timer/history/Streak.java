@@ -0,0 +1,10 @@
+package com.zen.timer.history;
+
+/**
+ * 连续专注天数：一天内至少走完一次倒计时即计为一天。
+ *
+ * @param current 截至查询日期的连续天数；当天尚无完成的会话时从前一天起算
+ * @param longest 历史上最长的连续天数
+ */
+public record Streak(int current, int longest) {
+}
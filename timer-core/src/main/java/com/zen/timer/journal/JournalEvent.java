@@ -0,0 +1,31 @@
+package com.zen.timer.journal;
+
+/**
+ * 日志中记录的计时器事件类型，编码为单字节写入记录头。
+ */
+public enum JournalEvent {
+    START(1),
+    PAUSE(2),
+    RESUME(3),
+    RESET(4),
+    COMPLETE(5);
+
+    private final byte code;
+
+    JournalEvent(int code) {
+        this.code = (byte) code;
+    }
+
+    byte code() {
+        return code;
+    }
+
+    static JournalEvent fromCode(byte code) {
+        for (JournalEvent event : values()) {
+            if (event.code == code) {
+                return event;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.zen.timer.journal;
+
+import com.zen.timer.model.CountdownStatus;
+
+/**
+ * 从日志恢复出的计时器状态。运行中的计时器已经扣除了停机期间流逝的时间；
+ * 若在停机期间到期，状态为 {@link CountdownStatus#COMPLETED} 且剩余时间为 0。
+ */
+public record RecoveredTimer(long timerId, long initialSeconds, long remainingMillis, CountdownStatus status) {
+}
@@ -0,0 +1,323 @@
+package com.zen.timer.journal;
+
+import com.zen.timer.model.CountdownStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 基于内存映射文件的计时器状态日志，用于在进程被强制结束后恢复正在进行的倒计时。
+ * <p>
+ * 文件由固定长度的记录顺序追加组成，每条记录带有校验和，恢复时遇到第一条校验失败的记录即视为日志末尾，
+ * 因此被截断的尾部写入会被安全忽略。写入只修改映射页，进程崩溃后由操作系统负责落盘；
+ * 为应对断电，后台守护线程按 {@code syncIntervalMillis} 的间隔调用 {@link MappedByteBuffer#force()}，
+ * 追加记录的线程（通常是 UI 线程）不等待磁盘。扩展文件失败时记录警告并停止写日志，不把异常抛给调用方。
+ * <p>
+ * 运行中的计时器以墙上时钟的绝对截止时间记录，启动时的回放会扣除停机时间，
+ * 并把回放结果压缩为每个存活计时器一条记录的新文件。
+ */
+public final class TimerJournal implements Closeable {
+
+    private static final System.Logger LOGGER = System.getLogger(TimerJournal.class.getName());
+
+    static final int MAGIC = 0x4E434A31;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 48;
+
+    private static final int MIN_CAPACITY = 64 * 1024;
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1_000;
+
+    private final Path file;
+    private final LongSupplier wallClockMillis;
+    private final long syncIntervalMillis;
+    private final List<RecoveredTimer> recovered;
+    private final ScheduledExecutorService syncer;
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+    private boolean dirty;
+
+    private TimerJournal(Path file, LongSupplier wallClockMillis, long syncIntervalMillis) throws IOException {
+        this.file = file;
+        this.wallClockMillis = wallClockMillis;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.recovered = Collections.unmodifiableList(recoverAndCompact());
+        this.syncer = syncIntervalMillis > 0 ? startSyncer(syncIntervalMillis) : null;
+    }
+
+    public static TimerJournal open(Path file) throws IOException {
+        return open(file, System::currentTimeMillis, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * @param syncIntervalMillis 后台同步的间隔；为 0 时每条记录都在追加时同步，为负数时只在 {@link #force()} 与关闭时同步
+     */
+    public static TimerJournal open(Path file, LongSupplier wallClockMillis, long syncIntervalMillis) throws IOException {
+        Objects.requireNonNull(file, "file 必须提供");
+        Objects.requireNonNull(wallClockMillis, "wallClockMillis 必须提供");
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new TimerJournal(file, wallClockMillis, syncIntervalMillis);
+    }
+
+    /**
+     * 打开日志时回放得到的存活计时器，按首次出现的顺序排列。
+     */
+    public List<RecoveredTimer> recovered() {
+        return recovered;
+    }
+
+    public void started(long timerId, long initialSeconds, long remainingMillis) {
+        appendRunning(JournalEvent.START, timerId, initialSeconds, remainingMillis);
+    }
+
+    public void resumed(long timerId, long initialSeconds, long remainingMillis) {
+        appendRunning(JournalEvent.RESUME, timerId, initialSeconds, remainingMillis);
+    }
+
+    public void paused(long timerId, long initialSeconds, long remainingMillis) {
+        append(JournalEvent.PAUSE, timerId, initialSeconds, remainingMillis, 0, wallClockMillis.getAsLong());
+    }
+
+    public void reset(long timerId, long initialSeconds) {
+        append(JournalEvent.RESET, timerId, initialSeconds, 0, 0, wallClockMillis.getAsLong());
+    }
+
+    public void completed(long timerId, long initialSeconds) {
+        append(JournalEvent.COMPLETE, timerId, initialSeconds, 0, 0, wallClockMillis.getAsLong());
+    }
+
+    /**
+     * 立即把映射页同步到磁盘。
+     */
+    public synchronized void force() {
+        if (dirty && buffer != null) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdownNow();
+        }
+        force();
+        buffer = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void appendRunning(JournalEvent event, long timerId, long initialSeconds, long remainingMillis) {
+        long now = wallClockMillis.getAsLong();
+        append(event, timerId, initialSeconds, remainingMillis, now + remainingMillis, now);
+    }
+
+    private synchronized void append(JournalEvent event, long timerId, long initialSeconds,
+                                     long remainingMillis, long deadlineMillis, long eventMillis) {
+        if (buffer == null) {
+            return;
+        }
+        if (position + RECORD_SIZE > buffer.capacity() && !grow()) {
+            return;
+        }
+        writeRecord(buffer, position, event, timerId, initialSeconds, remainingMillis, deadlineMillis, eventMillis);
+        position += RECORD_SIZE;
+        dirty = true;
+        if (syncIntervalMillis == 0) {
+            force();
+        }
+    }
+
+    /**
+     * 把映射扩大一倍；失败时停止写日志，已写入的记录仍可在下次启动时恢复。
+     */
+    private boolean grow() {
+        try {
+            remap(buffer.capacity() * 2L);
+            return true;
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.log(System.Logger.Level.WARNING, "无法扩展计时器日志，之后不再记录运行状态：" + file, ex);
+            buffer = null;
+            try {
+                channel.close();
+            } catch (IOException closeEx) {
+                LOGGER.log(System.Logger.Level.DEBUG, "关闭计时器日志失败：" + file, closeEx);
+            }
+            channel = null;
+            return false;
+        }
+    }
+
+    private ScheduledExecutorService startSyncer(long intervalMillis) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "timer-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::syncInBackground, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    /**
+     * 在同步线程上调用。只在锁内取出映射并清除脏标记，同步本身在锁外进行，追加记录不会因此等待磁盘。
+     */
+    private void syncInBackground() {
+        MappedByteBuffer target;
+        synchronized (this) {
+            if (!dirty || buffer == null) {
+                return;
+            }
+            target = buffer;
+            dirty = false;
+        }
+        try {
+            target.force();
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                dirty = true;
+            }
+            LOGGER.log(System.Logger.Level.WARNING, "同步计时器日志失败：" + file, ex);
+        }
+    }
+
+    private List<RecoveredTimer> recoverAndCompact() throws IOException {
+        Map<Long, RecoveredTimer> live = new LinkedHashMap<>();
+        Map<Long, Long> deadlines = new LinkedHashMap<>();
+        if (Files.exists(file)) {
+            replay(live, deadlines);
+        }
+        long now = wallClockMillis.getAsLong();
+        List<RecoveredTimer> result = new ArrayList<>(live.size());
+        for (RecoveredTimer timer : live.values()) {
+            if (timer.status() == CountdownStatus.RUNNING) {
+                long remaining = deadlines.get(timer.timerId()) - now;
+                result.add(remaining > 0
+                        ? new RecoveredTimer(timer.timerId(), timer.initialSeconds(), remaining, CountdownStatus.RUNNING)
+                        : new RecoveredTimer(timer.timerId(), timer.initialSeconds(), 0, CountdownStatus.COMPLETED));
+            } else {
+                result.add(timer);
+            }
+        }
+        compact(result, now);
+        return result;
+    }
+
+    private void replay(Map<Long, RecoveredTimer> live, Map<Long, Long> deadlines) throws IOException {
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = source.size();
+            if (size < HEADER_SIZE) {
+                return;
+            }
+            MappedByteBuffer in = source.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (in.getInt(0) != MAGIC || in.getInt(4) != RECORD_SIZE) {
+                return;
+            }
+            for (int offset = HEADER_SIZE; offset + RECORD_SIZE <= size; offset += RECORD_SIZE) {
+                JournalEvent event = JournalEvent.fromCode(in.get(offset + 4));
+                if (event == null || in.getInt(offset) != checksum(in, offset)) {
+                    break;
+                }
+                long timerId = in.getLong(offset + 8);
+                long initialSeconds = in.getLong(offset + 16);
+                long remainingMillis = in.getLong(offset + 24);
+                switch (event) {
+                    case START, RESUME -> {
+                        live.put(timerId, new RecoveredTimer(timerId, initialSeconds, remainingMillis, CountdownStatus.RUNNING));
+                        deadlines.put(timerId, in.getLong(offset + 32));
+                    }
+                    case PAUSE -> {
+                        live.put(timerId, new RecoveredTimer(timerId, initialSeconds, remainingMillis, CountdownStatus.PAUSED));
+                        deadlines.remove(timerId);
+                    }
+                    case RESET, COMPLETE -> {
+                        live.remove(timerId);
+                        deadlines.remove(timerId);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 把存活计时器写成新文件后原子替换旧文件。停机期间到期的计时器不再写入。
+     */
+    private void compact(List<RecoveredTimer> timers, long now) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".compact");
+        long capacity = Math.max(MIN_CAPACITY, HEADER_SIZE + (long) timers.size() * RECORD_SIZE * 2);
+        try (FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = target.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            writeHeader(out);
+            int offset = HEADER_SIZE;
+            for (RecoveredTimer timer : timers) {
+                if (timer.status() == CountdownStatus.RUNNING) {
+                    writeRecord(out, offset, JournalEvent.START, timer.timerId(), timer.initialSeconds(),
+                            timer.remainingMillis(), now + timer.remainingMillis(), now);
+                } else if (timer.status() == CountdownStatus.PAUSED) {
+                    writeRecord(out, offset, JournalEvent.PAUSE, timer.timerId(), timer.initialSeconds(),
+                            timer.remainingMillis(), 0, now);
+                } else {
+                    continue;
+                }
+                offset += RECORD_SIZE;
+            }
+            out.force();
+            position = offset;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+    }
+
+    private void remap(long capacity) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private static void writeHeader(MappedByteBuffer out) {
+        out.putInt(0, MAGIC);
+        out.putInt(4, RECORD_SIZE);
+    }
+
+    private static void writeRecord(MappedByteBuffer out, int offset, JournalEvent event, long timerId,
+                                    long initialSeconds, long remainingMillis, long deadlineMillis, long eventMillis) {
+        out.put(offset + 4, event.code());
+        out.putLong(offset + 8, timerId);
+        out.putLong(offset + 16, initialSeconds);
+        out.putLong(offset + 24, remainingMillis);
+        out.putLong(offset + 32, deadlineMillis);
+        out.putLong(offset + 40, eventMillis);
+        out.putInt(offset, checksum(out, offset));
+    }
+
+    private static int checksum(MappedByteBuffer in, int offset) {
+        long hash = 0x9E3779B97F4A7C15L ^ in.get(offset + 4);
+        for (int field = 8; field < RECORD_SIZE; field += 8) {
+            hash = (hash ^ in.getLong(offset + field)) * 0xBF58476D1CE4E5B9L;
+            hash ^= hash >>> 31;
+        }
+        int result = (int) (hash ^ (hash >>> 32));
+        return result == 0 ? 1 : result;
+    }
+}
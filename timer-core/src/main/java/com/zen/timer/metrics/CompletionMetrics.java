@@ -0,0 +1,161 @@
+package com.zen.timer.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 完成动作流水线的运行指标：队列深度及其峰值、入队与丢弃计数、批次的失败与超时次数，
+ * 以及动作延迟（入队到执行完毕）与批次耗时的直方图。所有记录方法都不分配内存。
+ */
+public final class CompletionMetrics implements CompletionMetricsMXBean {
+
+    private final LatencyHistogram actionLatency = new LatencyHistogram();
+    private final LatencyHistogram batchDuration = new LatencyHistogram();
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    public void enqueued() {
+        queued.incrementAndGet();
+        int depth = queueDepth.incrementAndGet();
+        int max = maxQueueDepth.get();
+        while (depth > max && !maxQueueDepth.compareAndSet(max, depth)) {
+            max = maxQueueDepth.get();
+        }
+    }
+
+    public void dropped() {
+        dropped.incrementAndGet();
+    }
+
+    public void dequeued(int count) {
+        queueDepth.addAndGet(-count);
+    }
+
+    public void recordActionLatency(long nanos) {
+        actionLatency.record(nanos);
+        executed.incrementAndGet();
+    }
+
+    public void batchFinished(long durationNanos) {
+        batches.incrementAndGet();
+        batchDuration.record(durationNanos);
+    }
+
+    public void batchFailed() {
+        failures.incrementAndGet();
+    }
+
+    public void batchTimedOut() {
+        timeouts.incrementAndGet();
+    }
+
+    public LatencyHistogram actionLatency() {
+        return actionLatency;
+    }
+
+    public LatencyHistogram batchDuration() {
+        return batchDuration;
+    }
+
+    @Override
+    public long getQueued() {
+        return queued.get();
+    }
+
+    @Override
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public long getExecuted() {
+        return executed.get();
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.get();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.get();
+    }
+
+    @Override
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    @Override
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    @Override
+    public long getActionLatencyP50Micros() {
+        return micros(actionLatency.percentile(0.5));
+    }
+
+    @Override
+    public long getActionLatencyP99Micros() {
+        return micros(actionLatency.percentile(0.99));
+    }
+
+    @Override
+    public long getActionLatencyMaxMicros() {
+        return micros(actionLatency.max());
+    }
+
+    @Override
+    public long getBatchDurationP99Micros() {
+        return micros(batchDuration.percentile(0.99));
+    }
+
+    @Override
+    public String dump() {
+        return String.format(Locale.ROOT,
+                "completion queued=%d dropped=%d executed=%d batches=%d failures=%d timeouts=%d depth=%d maxDepth=%d%n"
+                        + "action latency   n=%d p50=%dus p99=%dus max=%dus%n"
+                        + "batch duration   n=%d p50=%dus p99=%dus max=%dus%n",
+                queued.get(), dropped.get(), executed.get(), batches.get(), failures.get(), timeouts.get(),
+                queueDepth.get(), maxQueueDepth.get(),
+                actionLatency.count(), micros(actionLatency.percentile(0.5)), micros(actionLatency.percentile(0.99)),
+                micros(actionLatency.max()),
+                batchDuration.count(), micros(batchDuration.percentile(0.5)), micros(batchDuration.percentile(0.99)),
+                micros(batchDuration.max()));
+    }
+
+    /**
+     * 清零计数与直方图；当前队列深度反映的是实时状态，不会被清零。
+     */
+    @Override
+    public void reset() {
+        actionLatency.reset();
+        batchDuration.reset();
+        queued.set(0);
+        dropped.set(0);
+        executed.set(0);
+        batches.set(0);
+        failures.set(0);
+        timeouts.set(0);
+        maxQueueDepth.set(queueDepth.get());
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+}
@@ -0,0 +1,44 @@
+package com.zen.timer.metrics;
+
+/**
+ * 通过 JMX 暴露的完成动作指标。延迟均以微秒为单位；队列中的每一项是一个事件与一个动作的组合。
+ */
+public interface CompletionMetricsMXBean {
+
+    long getQueued();
+
+    /**
+     * 因所属动作的队列已满而被丢弃的项数。
+     */
+    long getDropped();
+
+    long getExecuted();
+
+    long getBatches();
+
+    long getFailures();
+
+    long getTimeouts();
+
+    int getQueueDepth();
+
+    int getMaxQueueDepth();
+
+    /**
+     * 从完成事件入队到所在批次执行结束的延迟。
+     */
+    long getActionLatencyP50Micros();
+
+    long getActionLatencyP99Micros();
+
+    long getActionLatencyMaxMicros();
+
+    /**
+     * 单个批次在动作中的执行耗时。
+     */
+    long getBatchDurationP99Micros();
+
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,157 @@
+package com.zen.timer.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 计时器事件总线的运行指标：发布与送达计数、发布线程的等待次数与时长、消费者的摘除与丢失事件数、
+ * 最大积压，以及发布到回调返回的延迟直方图。所有记录方法都不分配内存。
+ */
+public final class EventBusMetrics implements EventBusMetricsMXBean {
+
+    private final LatencyHistogram deliveryLatency = new LatencyHistogram();
+    private final LatencyHistogram producerStall = new LatencyHistogram();
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong lostEvents = new AtomicLong();
+    private final AtomicLong handlerFailures = new AtomicLong();
+    private final AtomicLong maxLag = new AtomicLong();
+
+    public void published() {
+        published.incrementAndGet();
+    }
+
+    public void producerStalled(long nanos) {
+        producerStall.record(nanos);
+    }
+
+    public void evicted() {
+        evictions.incrementAndGet();
+    }
+
+    public void overrun(long lost) {
+        lostEvents.addAndGet(lost);
+    }
+
+    public void handlerFailed() {
+        handlerFailures.incrementAndGet();
+    }
+
+    public void observeLag(long lag) {
+        long max = maxLag.get();
+        while (lag > max && !maxLag.compareAndSet(max, lag)) {
+            max = maxLag.get();
+        }
+    }
+
+    public void batchDrained(long events) {
+        batches.incrementAndGet();
+        delivered.addAndGet(events);
+    }
+
+    public void recordDeliveryLatency(long nanos) {
+        deliveryLatency.record(nanos);
+    }
+
+    public LatencyHistogram deliveryLatency() {
+        return deliveryLatency;
+    }
+
+    public LatencyHistogram producerStall() {
+        return producerStall;
+    }
+
+    @Override
+    public long getPublished() {
+        return published.get();
+    }
+
+    @Override
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.get();
+    }
+
+    @Override
+    public long getProducerStalls() {
+        return producerStall.count();
+    }
+
+    @Override
+    public long getProducerStallMaxMicros() {
+        return micros(producerStall.max());
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @Override
+    public long getLostEvents() {
+        return lostEvents.get();
+    }
+
+    @Override
+    public long getHandlerFailures() {
+        return handlerFailures.get();
+    }
+
+    @Override
+    public long getMaxLag() {
+        return maxLag.get();
+    }
+
+    @Override
+    public long getDeliveryLatencyP50Micros() {
+        return micros(deliveryLatency.percentile(0.5));
+    }
+
+    @Override
+    public long getDeliveryLatencyP99Micros() {
+        return micros(deliveryLatency.percentile(0.99));
+    }
+
+    @Override
+    public long getDeliveryLatencyMaxMicros() {
+        return micros(deliveryLatency.max());
+    }
+
+    @Override
+    public String dump() {
+        return String.format(Locale.ROOT,
+                "events published=%d delivered=%d batches=%d evictions=%d lost=%d failures=%d maxLag=%d%n"
+                        + "delivery latency n=%d p50=%dus p99=%dus max=%dus%n"
+                        + "producer stalls  n=%d p50=%dus p99=%dus max=%dus%n",
+                published.get(), delivered.get(), batches.get(), evictions.get(), lostEvents.get(),
+                handlerFailures.get(), maxLag.get(),
+                deliveryLatency.count(), micros(deliveryLatency.percentile(0.5)),
+                micros(deliveryLatency.percentile(0.99)), micros(deliveryLatency.max()),
+                producerStall.count(), micros(producerStall.percentile(0.5)), micros(producerStall.percentile(0.99)),
+                micros(producerStall.max()));
+    }
+
+    @Override
+    public void reset() {
+        deliveryLatency.reset();
+        producerStall.reset();
+        published.set(0);
+        delivered.set(0);
+        batches.set(0);
+        evictions.set(0);
+        lostEvents.set(0);
+        handlerFailures.set(0);
+        maxLag.set(0);
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+}
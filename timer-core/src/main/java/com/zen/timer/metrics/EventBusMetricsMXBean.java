@@ -0,0 +1,53 @@
+package com.zen.timer.metrics;
+
+/**
+ * 通过 JMX 暴露的事件总线指标。延迟均以微秒为单位。
+ */
+public interface EventBusMetricsMXBean {
+
+    long getPublished();
+
+    /**
+     * 所有消费者处理过的事件总数，每个事件按消费者各计一次。
+     */
+    long getDelivered();
+
+    long getBatches();
+
+    /**
+     * 发布线程因环已满而等待的次数。
+     */
+    long getProducerStalls();
+
+    long getProducerStallMaxMicros();
+
+    /**
+     * 因落后太多被发布线程摘除的消费者次数。
+     */
+    long getEvictions();
+
+    /**
+     * 被摘除或读到已覆盖槽位的消费者跳过的事件数。
+     */
+    long getLostEvents();
+
+    long getHandlerFailures();
+
+    /**
+     * 消费者开始一批时观察到的最大积压事件数。
+     */
+    long getMaxLag();
+
+    /**
+     * 从发布到回调返回的延迟。
+     */
+    long getDeliveryLatencyP50Micros();
+
+    long getDeliveryLatencyP99Micros();
+
+    long getDeliveryLatencyMaxMicros();
+
+    String dump();
+
+    void reset();
+}
@@ -0,0 +1,199 @@
+package com.zen.timer.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 计时器引擎的运行指标：
+ * <ul>
+ *     <li>tick 抖动：计划触发时刻与调度线程实际触发时刻之差；</li>
+ *     <li>派发延迟：请求在目标线程上执行 drain 到 drain 真正开始之差（即 runLater/脉冲排队时间）；</li>
+ *     <li>处理耗时：目标线程上单次 tick 回调的执行时间；</li>
+ *     <li>tick、完成、合并等计数器，以及调度线程的唤醒次数。</li>
+ * </ul>
+ * 所有记录方法都不分配内存。
+ */
+public final class TimerMetrics implements TimerMetricsMXBean {
+
+    private final LatencyHistogram tickJitter = new LatencyHistogram();
+    private final LatencyHistogram dispatchDelay = new LatencyHistogram();
+    private final LatencyHistogram handlerDuration = new LatencyHistogram();
+
+    private final AtomicLong publishedTicks = new AtomicLong();
+    private final AtomicLong deliveredTicks = new AtomicLong();
+    private final AtomicLong coalescedTicks = new AtomicLong();
+    private final AtomicLong completions = new AtomicLong();
+    private final AtomicLong drains = new AtomicLong();
+    private final AtomicLong driverWakeups = new AtomicLong();
+    private final AtomicLong clockJumps = new AtomicLong();
+
+    public void recordTickJitter(long nanos) {
+        tickJitter.record(nanos);
+    }
+
+    public void recordDispatchDelay(long nanos) {
+        dispatchDelay.record(nanos);
+    }
+
+    public void recordHandlerDuration(long nanos) {
+        handlerDuration.record(nanos);
+    }
+
+    public void tickPublished(boolean coalesced) {
+        publishedTicks.incrementAndGet();
+        if (coalesced) {
+            coalescedTicks.incrementAndGet();
+        }
+    }
+
+    public void tickDelivered() {
+        deliveredTicks.incrementAndGet();
+    }
+
+    public void completionDelivered() {
+        completions.incrementAndGet();
+    }
+
+    public void drained() {
+        drains.incrementAndGet();
+    }
+
+    public void driverWokeUp() {
+        driverWakeups.incrementAndGet();
+    }
+
+    public void clockJumped() {
+        clockJumps.incrementAndGet();
+    }
+
+    public LatencyHistogram tickJitter() {
+        return tickJitter;
+    }
+
+    public LatencyHistogram dispatchDelay() {
+        return dispatchDelay;
+    }
+
+    public LatencyHistogram handlerDuration() {
+        return handlerDuration;
+    }
+
+    @Override
+    public long getPublishedTicks() {
+        return publishedTicks.get();
+    }
+
+    @Override
+    public long getDeliveredTicks() {
+        return deliveredTicks.get();
+    }
+
+    @Override
+    public long getCoalescedTicks() {
+        return coalescedTicks.get();
+    }
+
+    @Override
+    public long getCompletions() {
+        return completions.get();
+    }
+
+    @Override
+    public long getDrains() {
+        return drains.get();
+    }
+
+    @Override
+    public long getDriverWakeups() {
+        return driverWakeups.get();
+    }
+
+    @Override
+    public long getClockJumps() {
+        return clockJumps.get();
+    }
+
+    @Override
+    public long getTickJitterP50Micros() {
+        return micros(tickJitter.percentile(0.5));
+    }
+
+    @Override
+    public long getTickJitterP99Micros() {
+        return micros(tickJitter.percentile(0.99));
+    }
+
+    @Override
+    public long getTickJitterMaxMicros() {
+        return micros(tickJitter.max());
+    }
+
+    @Override
+    public long getDispatchDelayP50Micros() {
+        return micros(dispatchDelay.percentile(0.5));
+    }
+
+    @Override
+    public long getDispatchDelayP99Micros() {
+        return micros(dispatchDelay.percentile(0.99));
+    }
+
+    @Override
+    public long getDispatchDelayMaxMicros() {
+        return micros(dispatchDelay.max());
+    }
+
+    @Override
+    public long getHandlerDurationP50Micros() {
+        return micros(handlerDuration.percentile(0.5));
+    }
+
+    @Override
+    public long getHandlerDurationP99Micros() {
+        return micros(handlerDuration.percentile(0.99));
+    }
+
+    @Override
+    public long getHandlerDurationMaxMicros() {
+        return micros(handlerDuration.max());
+    }
+
+    @Override
+    public String dump() {
+        StringBuilder text = new StringBuilder(512);
+        text.append(String.format(Locale.ROOT,
+                "ticks published=%d delivered=%d coalesced=%d completions=%d drains=%d wakeups=%d clockJumps=%d%n",
+                publishedTicks.get(), deliveredTicks.get(), coalescedTicks.get(), completions.get(), drains.get(),
+                driverWakeups.get(), clockJumps.get()));
+        appendHistogram(text, "tick jitter", tickJitter);
+        appendHistogram(text, "dispatch delay", dispatchDelay);
+        appendHistogram(text, "handler duration", handlerDuration);
+        return text.toString();
+    }
+
+    @Override
+    public void reset() {
+        tickJitter.reset();
+        dispatchDelay.reset();
+        handlerDuration.reset();
+        publishedTicks.set(0);
+        deliveredTicks.set(0);
+        coalescedTicks.set(0);
+        completions.set(0);
+        drains.set(0);
+        driverWakeups.set(0);
+        clockJumps.set(0);
+    }
+
+    private static void appendHistogram(StringBuilder text, String name, LatencyHistogram histogram) {
+        text.append(String.format(Locale.ROOT,
+                "%-16s n=%d mean=%dus p50=%dus p90=%dus p99=%dus p999=%dus max=%dus%n",
+                name, histogram.count(), micros(histogram.mean()), micros(histogram.percentile(0.5)),
+                micros(histogram.percentile(0.9)), micros(histogram.percentile(0.99)),
+                micros(histogram.percentile(0.999)), micros(histogram.max())));
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+}
@@ -0,0 +1,49 @@
+package com.zen.timer.metrics;
+
+/**
+ * 通过 JMX 暴露的计时器引擎指标。延迟均以微秒为单位。
+ */
+public interface TimerMetricsMXBean {
+
+    long getPublishedTicks();
+
+    long getDeliveredTicks();
+
+    long getCoalescedTicks();
+
+    long getCompletions();
+
+    long getDrains();
+
+    /**
+     * 调度线程从休眠中醒来的次数，用于评估空闲时的功耗。
+     */
+    long getDriverWakeups();
+
+    /**
+     * 检测到系统挂起或时钟跳变、并对所有计时器做过一次整体校正的次数。
+     */
+    long getClockJumps();
+
+    long getTickJitterP50Micros();
+
+    long getTickJitterP99Micros();
+
+    long getTickJitterMaxMicros();
+
+    long getDispatchDelayP50Micros();
+
+    long getDispatchDelayP99Micros();
+
+    long getDispatchDelayMaxMicros();
+
+    long getHandlerDurationP50Micros();
+
+    long getHandlerDurationP99Micros();
+
+    long getHandlerDurationMaxMicros();
+
+    String dump();
+
+    void reset();
+}
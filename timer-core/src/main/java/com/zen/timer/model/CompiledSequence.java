@@ -0,0 +1,93 @@
+package com.zen.timer.model;
+
+import java.util.Arrays;
+
+/**
+ * 展开后的分段序列，预先计算好每个分段的结束偏移，整个序列只对应一个截止时间。
+ * <p>
+ * 所有分段都是整秒，分段边界必然落在整秒 tick 上，因此只凭序列的剩余秒数就能查出当前分段及其剩余时间，
+ * 分段切换不需要重新调度，也没有额外分配。实例不可变，可在任意线程共享。
+ */
+public final class CompiledSequence {
+
+    private static final long SECOND_NANOS = 1_000_000_000L;
+
+    private final String name;
+    private final PresetDuration[] segments;
+    private final long[] endSeconds;
+    private final long[] boundaryNanos;
+
+    CompiledSequence(String name, PresetDuration[] segments) {
+        this.name = name;
+        this.segments = segments;
+        this.endSeconds = new long[segments.length];
+        long elapsed = 0;
+        for (int i = 0; i < segments.length; i++) {
+            elapsed += segments[i].seconds();
+            endSeconds[i] = elapsed;
+        }
+        // 各内部边界到达时整个序列的剩余纳秒数，按降序排列
+        this.boundaryNanos = new long[segments.length - 1];
+        for (int i = 0; i < boundaryNanos.length; i++) {
+            boundaryNanos[i] = (elapsed - endSeconds[i]) * SECOND_NANOS;
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int size() {
+        return segments.length;
+    }
+
+    public PresetDuration segment(int index) {
+        return segments[index];
+    }
+
+    public long totalSeconds() {
+        return endSeconds[endSeconds.length - 1];
+    }
+
+    /**
+     * 第 {@code index} 个分段结束时距序列开始的秒数。
+     */
+    public long endSecond(int index) {
+        return endSeconds[index];
+    }
+
+    /**
+     * 序列剩余 {@code remainingSeconds} 秒时所处的分段；序列已结束时返回最后一个分段。
+     */
+    public int indexAt(long remainingSeconds) {
+        long elapsed = totalSeconds() - remainingSeconds;
+        int found = Arrays.binarySearch(endSeconds, elapsed);
+        int index = found >= 0 ? found + 1 : -found - 1;
+        return Math.min(Math.max(index, 0), segments.length - 1);
+    }
+
+    /**
+     * 序列剩余 {@code remainingSeconds} 秒时当前分段的剩余秒数。
+     */
+    public long segmentRemaining(long remainingSeconds) {
+        long elapsed = totalSeconds() - remainingSeconds;
+        return Math.max(endSeconds[indexAt(remainingSeconds)] - elapsed, 0);
+    }
+
+    /**
+     * 序列剩余 {@code remainingNanos} 时，下一个分段边界对应的剩余纳秒数；之后没有内部边界时返回 0。
+     */
+    public long nextBoundaryNanos(long remainingNanos) {
+        int low = 0;
+        int high = boundaryNanos.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (boundaryNanos[mid] < remainingNanos) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low < boundaryNanos.length ? boundaryNanos[low] : 0;
+    }
+}
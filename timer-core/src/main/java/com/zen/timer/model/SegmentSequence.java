@@ -0,0 +1,93 @@
+package com.zen.timer.model;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 由若干带重复次数的预设组成的计时序列，例如番茄钟的"专注 / 休息"循环或间歇训练。
+ * 运行前先用 {@link #compile()} 展开为截止时间表，各分段之间的切换不再需要重新调度。
+ */
+public record SegmentSequence(String name, List<Step> steps) {
+
+    /**
+     * 展开后允许的最大分段数。
+     */
+    public static final int MAX_SEGMENTS = 10_000;
+
+    public SegmentSequence {
+        Objects.requireNonNull(name, "name 必须提供");
+        if (steps == null || steps.isEmpty()) {
+            throw new IllegalArgumentException("序列至少需要一个分段");
+        }
+        steps = List.copyOf(steps);
+        long segments = 0;
+        for (Step step : steps) {
+            segments += step.repeat();
+        }
+        if (segments > MAX_SEGMENTS) {
+            throw new IllegalArgumentException("序列分段过多：" + segments);
+        }
+    }
+
+    /**
+     * 序列中的一步：同一个预设连续运行 {@code repeat} 次。
+     */
+    public record Step(PresetDuration preset, int repeat) {
+
+        public Step {
+            Objects.requireNonNull(preset, "preset 必须提供");
+            if (preset.seconds() <= 0) {
+                throw new IllegalArgumentException("分段时长必须大于 0：" + preset.label());
+            }
+            if (repeat <= 0) {
+                throw new IllegalArgumentException("重复次数必须大于 0：" + repeat);
+            }
+        }
+    }
+
+    /**
+     * 每个预设各运行一次。
+     */
+    public static SegmentSequence of(String name, PresetDuration... presets) {
+        List<Step> steps = new ArrayList<>(presets.length);
+        for (PresetDuration preset : presets) {
+            steps.add(new Step(preset, 1));
+        }
+        return new SegmentSequence(name, steps);
+    }
+
+    /**
+     * 经典番茄钟：{@code cycles} 轮 25 分钟专注，轮间 5 分钟短休息，最后一轮之后 15 分钟长休息。
+     */
+    public static SegmentSequence pomodoro(int cycles) {
+        if (cycles <= 0) {
+            throw new IllegalArgumentException("番茄钟轮数必须大于 0：" + cycles);
+        }
+        PresetDuration focus = new PresetDuration("专注", Duration.ofMinutes(25).getSeconds());
+        PresetDuration shortBreak = new PresetDuration("短休息", Duration.ofMinutes(5).getSeconds());
+        PresetDuration longBreak = new PresetDuration("长休息", Duration.ofMinutes(15).getSeconds());
+        List<Step> steps = new ArrayList<>(cycles * 2);
+        for (int i = 0; i < cycles; i++) {
+            steps.add(new Step(focus, 1));
+            steps.add(new Step(i == cycles - 1 ? longBreak : shortBreak, 1));
+        }
+        return new SegmentSequence("番茄钟 ×" + cycles, steps);
+    }
+
+    public CompiledSequence compile() {
+        int count = 0;
+        for (Step step : steps) {
+            count += step.repeat();
+        }
+        PresetDuration[] segments = new PresetDuration[count];
+        int index = 0;
+        for (Step step : steps) {
+            for (int i = 0; i < step.repeat(); i++) {
+                segments[index++] = step.preset();
+            }
+        }
+        return new CompiledSequence(name, segments);
+    }
+}
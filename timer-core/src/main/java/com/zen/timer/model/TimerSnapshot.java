@@ -0,0 +1,48 @@
+package com.zen.timer.model;
+
+import com.zen.timer.util.TimeUtils;
+
+/**
+ * 某一时刻倒计时显示状态的不可变快照，每次 tick 整体替换一次，读取方不会看到新旧字段混杂的组合。
+ * 格式化文本与进度只在被读取时计算。
+ */
+public record TimerSnapshot(long initialSeconds, long remainingSeconds, String finishTimeText, boolean critical) {
+
+    /**
+     * 剩余时间不超过该秒数时进入临界状态。
+     */
+    public static final long CRITICAL_SECONDS = 60;
+
+    /**
+     * 进度的量化级数，足以覆盖千像素宽的进度条；长倒计时因此不会每秒都触发进度条重绘。
+     */
+    public static final int PROGRESS_STEPS = 1_000;
+
+    private static final String NO_FINISH_TEXT = "-";
+
+    /**
+     * 尚未开始、显示 {@code seconds} 的快照。
+     */
+    public static TimerSnapshot idle(long seconds) {
+        return new TimerSnapshot(seconds, seconds, NO_FINISH_TEXT, false);
+    }
+
+    public TimerSnapshot withRemaining(long seconds, String finishText) {
+        return new TimerSnapshot(initialSeconds, seconds, finishText, seconds <= CRITICAL_SECONDS);
+    }
+
+    public String formattedTime() {
+        return TimeUtils.formatCached(remainingSeconds);
+    }
+
+    /**
+     * 量化到 {@link #PROGRESS_STEPS} 级的进度。
+     */
+    public int progressStep() {
+        return (int) Math.round(TimeUtils.progress(remainingSeconds, initialSeconds) * PROGRESS_STEPS);
+    }
+
+    public double progress() {
+        return progressStep() / (double) PROGRESS_STEPS;
+    }
+}
@@ -0,0 +1,89 @@
+package com.zen.timer.preset;
+
+import com.zen.timer.model.PresetDuration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * 预设库的紧凑二进制文件格式。
+ * <p>
+ * 文件头为魔数与条目数，随后每条预设依次写入秒数（int）与标签（修改版 UTF-8），末尾是全部内容的 CRC32。
+ * 保存时先写临时文件再原子替换，读取时校验失败则抛出 {@link IOException}，由调用方决定是否退回内置预设。
+ */
+public final class PresetFile {
+
+    static final int MAGIC = 0x4E435031;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private PresetFile() {
+    }
+
+    /**
+     * 读取预设库；文件不存在时返回 {@link PresetLibrary#defaults()}。
+     */
+    public static PresetLibrary load(Path file) throws IOException {
+        Objects.requireNonNull(file, "file 必须提供");
+        if (!Files.exists(file)) {
+            return PresetLibrary.defaults();
+        }
+        try (InputStream raw = Files.newInputStream(file);
+             CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(raw, BUFFER_SIZE), new CRC32());
+             DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("不是预设文件：" + file);
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("预设文件已损坏：" + file);
+            }
+            PresetLibrary library = new PresetLibrary();
+            for (int i = 0; i < count; i++) {
+                long seconds = in.readInt() & 0xFFFF_FFFFL;
+                library.add(new PresetDuration(in.readUTF(), seconds));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("预设文件校验失败：" + file);
+            }
+            return library;
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("预设文件已损坏：" + file, ex);
+        }
+    }
+
+    public static void save(Path file, PresetLibrary library) throws IOException {
+        Objects.requireNonNull(file, "file 必须提供");
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        List<PresetDuration> presets = library.all();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream raw = Files.newOutputStream(temp);
+             CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(raw, BUFFER_SIZE), new CRC32());
+             DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeInt(presets.size());
+            for (PresetDuration preset : presets) {
+                out.writeInt((int) preset.seconds());
+                out.writeUTF(preset.label());
+            }
+            out.writeLong(checked.getChecksum().getValue());
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
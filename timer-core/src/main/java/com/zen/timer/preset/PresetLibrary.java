@@ -0,0 +1,442 @@
+package com.zen.timer.preset;
+
+import com.zen.timer.model.PresetDuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 带索引的预设库。
+ * <p>
+ * 标签中每个词的起始位置都会插入一棵以数组存储的前缀树，按前缀查找只需沿查询串走到对应节点，
+ * 再从该子树收集至多 {@code limit} 条结果，耗时与预设总数无关；另按时长维护一份有序索引，
+ * 支持按时长区间查找。纯数字或 {@code h:mm}/{@code h:mm:ss} 形式的查询同时按时长匹配（纯数字视为分钟）。
+ * <p>
+ * 非线程安全：通常在后台线程构建完成后交给 FX 线程独占使用。
+ */
+public final class PresetLibrary {
+
+    /** 每个词最多索引的字符数，更长的查询先用前缀缩小范围再逐条校验。 */
+    static final int MAX_KEY_LENGTH = 8;
+    static final int MAX_PRESET_SECONDS = Integer.MAX_VALUE;
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private PresetDuration[] presets = new PresetDuration[16];
+    private String[] normalized = new String[16];
+    private int slots;
+    private final BitSet removed = new BitSet();
+    private final Map<PresetDuration, Integer> ids = new HashMap<>();
+    private int modCount;
+
+    private int[] firstChild = new int[64];
+    private int[] lastChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private int[] postingHead = new int[64];
+    private int nodes;
+
+    private int[] postingPreset = new int[64];
+    private int[] postingNext = new int[64];
+    private int postings;
+
+    /** (父节点, 字符) 到子节点的开放寻址表。 */
+    private long[] edgeKeys = new long[128];
+    private int[] edgeValues = new int[128];
+    private int edges;
+
+    /** 高 32 位为时长秒数、低 32 位为预设编号，排序后即为时长索引。 */
+    private long[] durationIndex = new long[0];
+    private boolean durationIndexStale;
+
+    private int[] seenStamp = new int[16];
+    private int stamp;
+
+    public PresetLibrary() {
+        Arrays.fill(edgeKeys, NONE);
+        newNode();
+    }
+
+    /**
+     * 首次启动时使用的内置预设。
+     */
+    public static PresetLibrary defaults() {
+        PresetLibrary library = new PresetLibrary();
+        library.addAll(List.of(
+                new PresetDuration("番茄钟 25 分钟", Duration.ofMinutes(25).getSeconds()),
+                new PresetDuration("短休息 5 分钟", Duration.ofMinutes(5).getSeconds()),
+                new PresetDuration("长休息 15 分钟", Duration.ofMinutes(15).getSeconds()),
+                new PresetDuration("晨练 45 分钟", Duration.ofMinutes(45).getSeconds()),
+                new PresetDuration("深度工作 90 分钟", Duration.ofMinutes(90).getSeconds())
+        ));
+        return library;
+    }
+
+    /**
+     * 添加预设；已存在相同的预设时返回 {@code false}。
+     */
+    public boolean add(PresetDuration preset) {
+        Objects.requireNonNull(preset, "preset 必须提供");
+        if (preset.seconds() < 0 || preset.seconds() > MAX_PRESET_SECONDS) {
+            throw new IllegalArgumentException("预设时长超出范围：" + preset.seconds());
+        }
+        if (ids.containsKey(preset)) {
+            return false;
+        }
+        int id = slots++;
+        if (id == presets.length) {
+            presets = Arrays.copyOf(presets, id * 2);
+            normalized = Arrays.copyOf(normalized, id * 2);
+        }
+        String text = normalize(preset.label());
+        presets[id] = preset;
+        normalized[id] = text;
+        ids.put(preset, id);
+        indexLabel(text, id);
+        durationIndexStale = true;
+        modCount++;
+        return true;
+    }
+
+    public void addAll(Iterable<PresetDuration> source) {
+        for (PresetDuration preset : source) {
+            add(preset);
+        }
+    }
+
+    /**
+     * 删除预设。索引中的条目在查询时按删除标记跳过，下次保存并重新加载后才真正释放。
+     */
+    public boolean remove(PresetDuration preset) {
+        Integer id = ids.remove(preset);
+        if (id == null) {
+            return false;
+        }
+        removed.set(id);
+        modCount++;
+        return true;
+    }
+
+    public boolean contains(PresetDuration preset) {
+        return ids.containsKey(preset);
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * 每次增删都会递增，用于判断是否需要重新保存或刷新查询结果。
+     */
+    public int modCount() {
+        return modCount;
+    }
+
+    /**
+     * 按添加顺序返回全部预设。
+     */
+    public List<PresetDuration> all() {
+        List<PresetDuration> result = new ArrayList<>(size());
+        for (int id = 0; id < slots; id++) {
+            if (!removed.get(id)) {
+                result.add(presets[id]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 类型提示查询：先返回时长完全匹配的预设，再返回标签中某个词以 {@code query} 开头（不区分大小写）的预设。
+     * 空查询返回前 {@code limit} 条预设。
+     */
+    public List<PresetDuration> search(String query, int limit) {
+        String text = normalize(query == null ? "" : query.strip());
+        List<PresetDuration> result = new ArrayList<>(Math.min(limit, 64));
+        if (limit <= 0) {
+            return result;
+        }
+        nextStamp();
+        if (text.isEmpty()) {
+            for (int id = 0; id < slots && result.size() < limit; id++) {
+                if (!removed.get(id)) {
+                    result.add(presets[id]);
+                }
+            }
+            return result;
+        }
+        long seconds = parseDuration(text);
+        if (seconds >= 0) {
+            collectDuration(seconds, seconds, limit, result);
+        }
+        int node = ROOT;
+        int depth = Math.min(text.length(), MAX_KEY_LENGTH);
+        for (int i = 0; i < depth && node != NONE; i++) {
+            node = child(node, text.charAt(i));
+        }
+        if (node != NONE) {
+            collectSubtree(node, text.length() > MAX_KEY_LENGTH ? text : null, limit, result);
+        }
+        return result;
+    }
+
+    /**
+     * 返回时长位于 {@code [minSeconds, maxSeconds]} 内的预设，按时长升序排列。
+     */
+    public List<PresetDuration> byDuration(long minSeconds, long maxSeconds, int limit) {
+        List<PresetDuration> result = new ArrayList<>(Math.min(Math.max(limit, 0), 64));
+        nextStamp();
+        collectDuration(minSeconds, maxSeconds, limit, result);
+        return result;
+    }
+
+    private void collectDuration(long minSeconds, long maxSeconds, int limit, List<PresetDuration> result) {
+        if (maxSeconds < minSeconds || maxSeconds < 0 || minSeconds > MAX_PRESET_SECONDS) {
+            return;
+        }
+        long[] index = durationIndex();
+        int from = lowerBound(index, Math.max(0, minSeconds) << 32);
+        for (int i = from; i < index.length && result.size() < limit; i++) {
+            if ((index[i] >>> 32) > maxSeconds) {
+                break;
+            }
+            accept((int) index[i], result);
+        }
+    }
+
+    /**
+     * 以显式栈深度优先遍历子树，避免深层标签导致递归过深。
+     */
+    private void collectSubtree(int start, String fullQuery, int limit, List<PresetDuration> result) {
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0 && result.size() < limit) {
+            int node = stack[--top];
+            for (int p = postingHead[node]; p != NONE && result.size() < limit; p = postingNext[p]) {
+                int id = postingPreset[p];
+                if (fullQuery == null || containsWordPrefix(normalized[id], fullQuery)) {
+                    accept(id, result);
+                }
+            }
+            // 逆序入栈以保持子节点的插入顺序
+            int childCount = 0;
+            for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+                childCount++;
+            }
+            if (top + childCount > stack.length) {
+                stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + childCount));
+            }
+            int end = top + childCount;
+            for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+                stack[--end] = c;
+            }
+            top += childCount;
+        }
+    }
+
+    private void accept(int id, List<PresetDuration> result) {
+        if (removed.get(id) || seenStamp[id] == stamp) {
+            return;
+        }
+        seenStamp[id] = stamp;
+        result.add(presets[id]);
+    }
+
+    private void nextStamp() {
+        if (seenStamp.length < slots) {
+            seenStamp = Arrays.copyOf(seenStamp, presets.length);
+        }
+        if (++stamp == 0) {
+            Arrays.fill(seenStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    private void indexLabel(String text, int id) {
+        for (int start = 0; start < text.length(); start++) {
+            if (isWordStart(text, start)) {
+                int node = ROOT;
+                int end = Math.min(text.length(), start + MAX_KEY_LENGTH);
+                for (int i = start; i < end; i++) {
+                    node = childOrCreate(node, text.charAt(i));
+                }
+                addPosting(node, id);
+            }
+        }
+    }
+
+    private static boolean isWordStart(String text, int index) {
+        return !isSeparator(text.charAt(index)) && (index == 0 || isSeparator(text.charAt(index - 1)));
+    }
+
+    private static boolean isSeparator(char ch) {
+        return Character.isWhitespace(ch) || ch == '-' || ch == '_' || ch == '/' || ch == '·';
+    }
+
+    private static boolean containsWordPrefix(String text, String query) {
+        for (int start = text.indexOf(query); start >= 0; start = text.indexOf(query, start + 1)) {
+            if (isWordStart(text, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void addPosting(int node, int id) {
+        if (postings == postingPreset.length) {
+            postingPreset = Arrays.copyOf(postingPreset, postings * 2);
+            postingNext = Arrays.copyOf(postingNext, postings * 2);
+        }
+        postingPreset[postings] = id;
+        postingNext[postings] = postingHead[node];
+        postingHead[node] = postings++;
+    }
+
+    private int child(int parent, char ch) {
+        long key = edgeKey(parent, ch);
+        int mask = edgeKeys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long existing = edgeKeys[slot];
+            if (existing == NONE) {
+                return NONE;
+            }
+            if (existing == key) {
+                return edgeValues[slot];
+            }
+        }
+    }
+
+    private int childOrCreate(int parent, char ch) {
+        int existing = child(parent, ch);
+        if (existing != NONE) {
+            return existing;
+        }
+        int node = newNode();
+        if (lastChild[parent] == NONE) {
+            firstChild[parent] = node;
+        } else {
+            nextSibling[lastChild[parent]] = node;
+        }
+        lastChild[parent] = node;
+        if ((edges + 1) * 2 > edgeKeys.length) {
+            rehashEdges();
+        }
+        putEdge(edgeKey(parent, ch), node);
+        edges++;
+        return node;
+    }
+
+    private int newNode() {
+        if (nodes == firstChild.length) {
+            int capacity = nodes * 2;
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            lastChild = Arrays.copyOf(lastChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            postingHead = Arrays.copyOf(postingHead, capacity);
+        }
+        int node = nodes++;
+        firstChild[node] = NONE;
+        lastChild[node] = NONE;
+        nextSibling[node] = NONE;
+        postingHead[node] = NONE;
+        return node;
+    }
+
+    private void putEdge(long key, int node) {
+        int mask = edgeKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (edgeKeys[slot] != NONE) {
+            slot = (slot + 1) & mask;
+        }
+        edgeKeys[slot] = key;
+        edgeValues[slot] = node;
+    }
+
+    private void rehashEdges() {
+        long[] oldKeys = edgeKeys;
+        int[] oldValues = edgeValues;
+        edgeKeys = new long[oldKeys.length * 2];
+        edgeValues = new int[oldKeys.length * 2];
+        Arrays.fill(edgeKeys, NONE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != NONE) {
+                putEdge(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static long edgeKey(int parent, char ch) {
+        return ((long) parent << 16) | ch;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private long[] durationIndex() {
+        if (durationIndexStale) {
+            long[] index = new long[slots];
+            for (int id = 0; id < slots; id++) {
+                index[id] = (presets[id].seconds() << 32) | id;
+            }
+            Arrays.sort(index);
+            durationIndex = index;
+            durationIndexStale = false;
+        }
+        return durationIndex;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 解析纯数字（分钟）或 {@code h:mm}、{@code h:mm:ss} 形式的时长，不是时长时返回 -1。
+     */
+    static long parseDuration(String text) {
+        String[] parts = text.split(":", -1);
+        if (parts.length > 3) {
+            return -1;
+        }
+        long[] values = new long[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            if (part.isEmpty() || part.length() > 6) {
+                return -1;
+            }
+            for (int j = 0; j < part.length(); j++) {
+                if (part.charAt(j) < '0' || part.charAt(j) > '9') {
+                    return -1;
+                }
+            }
+            values[i] = Long.parseLong(part);
+        }
+        return switch (values.length) {
+            case 1 -> values[0] * 60;
+            case 2 -> values[0] * 3600 + values[1] * 60;
+            default -> values[0] * 3600 + values[1] * 60 + values[2];
+        };
+    }
+
+    private static String normalize(String label) {
+        return label.toLowerCase(Locale.ROOT);
+    }
+}
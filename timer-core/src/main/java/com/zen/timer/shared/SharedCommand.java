@@ -0,0 +1,30 @@
+package com.zen.timer.shared;
+
+/**
+ * 跟随进程通过命令环发给拥有者的控制命令，编码为 int 写入环中。
+ */
+public enum SharedCommand {
+    /**
+     * 开始倒计时，参数为秒数。
+     */
+    START(1),
+    PAUSE(2),
+    RESUME(3),
+    RESET(4);
+
+    private static final SharedCommand[] BY_CODE = {null, START, PAUSE, RESUME, RESET};
+
+    private final int code;
+
+    SharedCommand(int code) {
+        this.code = code;
+    }
+
+    int code() {
+        return code;
+    }
+
+    static SharedCommand fromCode(int code) {
+        return code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+    }
+}
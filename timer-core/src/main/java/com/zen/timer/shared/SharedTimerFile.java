@@ -0,0 +1,425 @@
+package com.zen.timer.shared;
+
+import com.zen.timer.model.CountdownStatus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * 在同一台机器上的多个进程之间共享计时器状态的内存映射文件。
+ * <p>
+ * 文件包含三部分：
+ * <ul>
+ *     <li>文件头：拥有者进程号、心跳时间、选举轮次，以及命令环的读写序号；</li>
+ *     <li>{@link #SLOTS} 个计时器槽位：每个槽位以顺序锁（版本号写入时为奇数）保护，只由拥有者写入，
+ *     其他进程不加锁读取，读到奇数或前后版本号不一致时重试；</li>
+ *     <li>命令环：多生产者、单消费者的有界环形缓冲，每个格子带有序号。生产者先用 CAS 把自己的进程号写入格子的
+ *     发送者字段占住格子，再用 CAS 抢占写入位置，写完内容后发布序号；拥有者按序消费并清空发送者字段。
+ *     占住格子的生产者迟迟不发布时，只有它的进程确已退出才会被跳过，仍在运行的慢生产者不会在格子被复用后
+ *     覆盖新命令。环满时 {@link #offer} 直接返回 false。</li>
+ * </ul>
+ * 拥有者通过文件锁选出：持有锁的进程驱动计时并写入槽位，进程退出或崩溃时操作系统释放锁，其他进程随即可以接管，
+ * 不依赖心跳超时，也不会同时出现两个拥有者。心跳只用于发现仍持有锁却不再响应的拥有者。
+ * <p>
+ * 槽位与环中的数值字段都按 8 字节对齐，跨进程的可见性由 {@link VarHandle} 的 acquire/release 访问保证。
+ */
+public final class SharedTimerFile implements Closeable {
+
+    public static final int SLOTS = 16;
+    public static final int COMMAND_CAPACITY = 256;
+    public static final int MAX_LABEL_BYTES = 64;
+
+    static final int MAGIC = 0x4E435331;
+    static final int LAYOUT_VERSION = 2;
+
+    private static final int OWNER_PID = 8;
+    private static final int OWNER_HEARTBEAT = 16;
+    private static final int OWNER_EPOCH = 24;
+    private static final int COMMAND_TAIL = 32;
+    private static final int COMMAND_HEAD = 40;
+    private static final int HEADER_SIZE = 64;
+
+    private static final int SLOT_SIZE = 128;
+    private static final int SLOT_STATUS = 8;
+    private static final int SLOT_LABEL_LENGTH = 12;
+    private static final int SLOT_INITIAL = 16;
+    private static final int SLOT_REMAINING = 24;
+    private static final int SLOT_UPDATED = 32;
+    private static final int SLOT_LABEL = 40;
+
+    private static final int COMMAND_SIZE = 32;
+    private static final int COMMAND_CODE = 8;
+    private static final int COMMAND_SLOT = 12;
+    private static final int COMMAND_ARGUMENT = 16;
+    private static final int COMMAND_SENDER = 24;
+
+    private static final int SLOTS_OFFSET = HEADER_SIZE;
+    private static final int RING_OFFSET = SLOTS_OFFSET + SLOTS * SLOT_SIZE;
+    static final int FILE_SIZE = RING_OFFSET + COMMAND_CAPACITY * COMMAND_SIZE;
+
+    /**
+     * 文件锁放在映射范围之外，避免在强制锁的平台上挡住对映射页的读写。
+     */
+    private static final long OWNER_LOCK_POSITION = 1L << 40;
+    private static final long INIT_LOCK_POSITION = OWNER_LOCK_POSITION + 1;
+    /**
+     * 格子超过这个时间没有发布时，检查占住它的进程是否还在运行。
+     */
+    private static final long STALLED_COMMAND_NANOS = 1_000_000_000L;
+    private static final int CLAIM_SPINS = 1_000;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final CountdownStatus[] STATUSES = CountdownStatus.values();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long pid = ProcessHandle.current().pid();
+    private volatile FileLock ownerLock;
+
+    private long stalledHead = -1;
+    private long stalledSinceNanos;
+
+    private SharedTimerFile(Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 打开或创建共享状态文件。第一个打开文件的进程负责初始化，其他进程在初始化完成前等待。
+     */
+    public static SharedTimerFile open(Path file) throws IOException {
+        Objects.requireNonNull(file, "file 必须提供");
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer;
+            FileLock init = channel.lock(INIT_LOCK_POSITION, 1, false);
+            try {
+                boolean fresh = channel.size() < FILE_SIZE;
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+                buffer.order(ByteOrder.nativeOrder());
+                if (fresh || buffer.getInt(0) != MAGIC || buffer.getInt(4) != LAYOUT_VERSION) {
+                    initialize(buffer);
+                }
+            } finally {
+                init.release();
+            }
+            return new SharedTimerFile(file, channel, buffer);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    private static void initialize(MappedByteBuffer buffer) {
+        for (int offset = 0; offset < FILE_SIZE; offset += Long.BYTES) {
+            buffer.putLong(offset, 0);
+        }
+        for (int index = 0; index < COMMAND_CAPACITY; index++) {
+            buffer.putLong(RING_OFFSET + index * COMMAND_SIZE, index);
+        }
+        buffer.putInt(4, LAYOUT_VERSION);
+        buffer.putInt(0, MAGIC);
+        buffer.force();
+    }
+
+    /**
+     * 尝试成为拥有者；已经是拥有者时直接返回 true。同一进程内已有其他实例持有锁时返回 false。
+     */
+    public synchronized boolean tryAcquireOwnership() throws IOException {
+        if (ownerLock != null) {
+            return true;
+        }
+        FileLock lock;
+        try {
+            lock = channel.tryLock(OWNER_LOCK_POSITION, 1, false);
+        } catch (OverlappingFileLockException ex) {
+            return false;
+        }
+        if (lock == null) {
+            return false;
+        }
+        LONGS.setRelease(buffer, OWNER_PID, pid);
+        LONGS.getAndAdd(buffer, OWNER_EPOCH, 1L);
+        heartbeat();
+        ownerLock = lock;
+        return true;
+    }
+
+    public boolean isOwner() {
+        return ownerLock != null;
+    }
+
+    /**
+     * 当前拥有者的进程号；从未有过拥有者时为 0。
+     */
+    public long ownerPid() {
+        return (long) LONGS.getAcquire(buffer, OWNER_PID);
+    }
+
+    /**
+     * 选举轮次，每换一次拥有者加一。
+     */
+    public long ownerEpoch() {
+        return (long) LONGS.getAcquire(buffer, OWNER_EPOCH);
+    }
+
+    public long ownerHeartbeatMillis() {
+        return (long) LONGS.getAcquire(buffer, OWNER_HEARTBEAT);
+    }
+
+    /**
+     * 拥有者定期调用，表明自己仍在运行。
+     */
+    public void heartbeat() {
+        LONGS.setRelease(buffer, OWNER_HEARTBEAT, System.currentTimeMillis());
+    }
+
+    /**
+     * 写入一个槽位。只能由拥有者在同一个线程上调用。
+     */
+    public void write(int slot, SharedTimerState state) {
+        checkOwner();
+        int base = slotOffset(slot);
+        byte[] label = truncatedLabel(state.label());
+        long version = (long) LONGS.get(buffer, base);
+        LONGS.setOpaque(buffer, base, version + 1);
+        VarHandle.storeStoreFence();
+        buffer.putInt(base + SLOT_STATUS, state.status().ordinal());
+        buffer.putInt(base + SLOT_LABEL_LENGTH, label.length);
+        buffer.putLong(base + SLOT_INITIAL, state.initialSeconds());
+        buffer.putLong(base + SLOT_REMAINING, state.remainingMillis());
+        buffer.putLong(base + SLOT_UPDATED, state.updatedAtMillis());
+        buffer.put(base + SLOT_LABEL, label);
+        LONGS.setRelease(buffer, base, version + 2);
+    }
+
+    /**
+     * 槽位当前的版本号，用于廉价地判断内容是否变化；写入进行中时为奇数。
+     */
+    public long version(int slot) {
+        return (long) LONGS.getAcquire(buffer, slotOffset(slot));
+    }
+
+    /**
+     * 不加锁地读取一个槽位，与拥有者的写入冲突时重试。
+     */
+    public SharedTimerState read(int slot) {
+        int base = slotOffset(slot);
+        byte[] label = new byte[MAX_LABEL_BYTES];
+        for (int attempt = 0; ; attempt++) {
+            long before = (long) LONGS.getAcquire(buffer, base);
+            if ((before & 1) == 0) {
+                int status = buffer.getInt(base + SLOT_STATUS);
+                int labelLength = buffer.getInt(base + SLOT_LABEL_LENGTH);
+                long initialSeconds = buffer.getLong(base + SLOT_INITIAL);
+                long remainingMillis = buffer.getLong(base + SLOT_REMAINING);
+                long updatedAtMillis = buffer.getLong(base + SLOT_UPDATED);
+                buffer.get(base + SLOT_LABEL, label);
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getVolatile(buffer, base) == before) {
+                    if (status < 0 || status >= STATUSES.length || labelLength < 0 || labelLength > MAX_LABEL_BYTES) {
+                        return new SharedTimerState(CountdownStatus.IDLE, 0, 0, updatedAtMillis, "");
+                    }
+                    return new SharedTimerState(STATUSES[status], initialSeconds, remainingMillis, updatedAtMillis,
+                            new String(label, 0, labelLength, StandardCharsets.UTF_8));
+                }
+            }
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * 把命令放入命令环，任何进程都可以调用；环已满时返回 false。
+     */
+    public boolean offer(SharedCommand command, int slot, long argument) {
+        Objects.requireNonNull(command, "command 必须提供");
+        slotOffset(slot);
+        for (int attempt = 0; ; attempt++) {
+            long tail = (long) LONGS.getVolatile(buffer, COMMAND_TAIL);
+            int cell = commandOffset(tail);
+            long difference = (long) LONGS.getAcquire(buffer, cell) - tail;
+            if (difference < 0) {
+                return false;
+            }
+            if (difference == 0) {
+                long claimant = (long) LONGS.getVolatile(buffer, cell + COMMAND_SENDER);
+                if (claimant == 0) {
+                    if (LONGS.compareAndSet(buffer, cell + COMMAND_SENDER, 0L, pid)) {
+                        // 只有占住格子的生产者能把写入位置推过它，失败说明读到的位置已过时
+                        if (LONGS.compareAndSet(buffer, COMMAND_TAIL, tail, tail + 1)) {
+                            buffer.putInt(cell + COMMAND_CODE, command.code());
+                            buffer.putInt(cell + COMMAND_SLOT, slot);
+                            buffer.putLong(cell + COMMAND_ARGUMENT, argument);
+                            LONGS.setRelease(buffer, cell, tail + 1);
+                            return true;
+                        }
+                        LONGS.setRelease(buffer, cell + COMMAND_SENDER, 0L);
+                    }
+                    continue;
+                }
+                // 占住格子的进程在抢到写入位置之前退出时，由后来的生产者释放格子
+                if (attempt >= CLAIM_SPINS && !isAlive(claimant)
+                        && (long) LONGS.getVolatile(buffer, COMMAND_TAIL) == tail) {
+                    LONGS.compareAndSet(buffer, cell + COMMAND_SENDER, claimant, 0L);
+                    continue;
+                }
+            }
+            if (attempt < CLAIM_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * 拥有者取出最多 {@code max} 条命令交给 {@code consumer}，返回处理的条数。只能在一个线程上调用。
+     */
+    public int drain(CommandConsumer consumer, int max) {
+        checkOwner();
+        int drained = 0;
+        while (drained < max) {
+            long head = (long) LONGS.getAcquire(buffer, COMMAND_HEAD);
+            int cell = commandOffset(head);
+            long sequence = (long) LONGS.getAcquire(buffer, cell);
+            if (sequence != head + 1) {
+                if (!skipStalled(head, cell)) {
+                    break;
+                }
+                continue;
+            }
+            SharedCommand command = SharedCommand.fromCode(buffer.getInt(cell + COMMAND_CODE));
+            int slot = buffer.getInt(cell + COMMAND_SLOT);
+            long argument = buffer.getLong(cell + COMMAND_ARGUMENT);
+            long sender = buffer.getLong(cell + COMMAND_SENDER);
+            LONGS.setRelease(buffer, cell + COMMAND_SENDER, 0L);
+            LONGS.setRelease(buffer, cell, head + COMMAND_CAPACITY);
+            LONGS.setRelease(buffer, COMMAND_HEAD, head + 1);
+            stalledHead = -1;
+            if (command != null && slot >= 0 && slot < SLOTS) {
+                consumer.accept(command, slot, argument, sender);
+            }
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 已有生产者抢到位置却迟迟没有发布时，每隔 {@link #STALLED_COMMAND_NANOS} 检查一次占住格子的进程，
+     * 进程已退出才跳过该格子；仍在运行的生产者（例如正在 GC 暂停）终会发布，继续等待。
+     */
+    private boolean skipStalled(long head, int cell) {
+        long tail = (long) LONGS.getVolatile(buffer, COMMAND_TAIL);
+        if (tail <= head) {
+            stalledHead = -1;
+            return false;
+        }
+        long now = System.nanoTime();
+        if (stalledHead != head) {
+            stalledHead = head;
+            stalledSinceNanos = now;
+            return false;
+        }
+        if (now - stalledSinceNanos < STALLED_COMMAND_NANOS) {
+            return false;
+        }
+        long claimant = (long) LONGS.getVolatile(buffer, cell + COMMAND_SENDER);
+        if (claimant != 0 && isAlive(claimant)) {
+            stalledSinceNanos = now;
+            return false;
+        }
+        LONGS.setRelease(buffer, cell + COMMAND_SENDER, 0L);
+        LONGS.setRelease(buffer, cell, head + COMMAND_CAPACITY);
+        LONGS.setRelease(buffer, COMMAND_HEAD, head + 1);
+        stalledHead = -1;
+        return true;
+    }
+
+    /**
+     * 命令环中尚未处理的命令数。
+     */
+    public int pendingCommands() {
+        long tail = (long) LONGS.getVolatile(buffer, COMMAND_TAIL);
+        long head = (long) LONGS.getVolatile(buffer, COMMAND_HEAD);
+        return (int) Math.max(0, tail - head);
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * 释放拥有权并关闭文件，其他进程随后可以接管。
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        FileLock lock = ownerLock;
+        ownerLock = null;
+        if (lock != null && lock.isValid()) {
+            lock.release();
+        }
+        channel.close();
+    }
+
+    private void checkOwner() {
+        if (ownerLock == null) {
+            throw new IllegalStateException("只有拥有者才能执行该操作：" + file);
+        }
+    }
+
+    private static boolean isAlive(long pid) {
+        return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+    }
+
+    private static int slotOffset(int slot) {
+        if (slot < 0 || slot >= SLOTS) {
+            throw new IllegalArgumentException("槽位超出范围：" + slot);
+        }
+        return SLOTS_OFFSET + slot * SLOT_SIZE;
+    }
+
+    private static int commandOffset(long sequence) {
+        return RING_OFFSET + (int) (sequence & (COMMAND_CAPACITY - 1)) * COMMAND_SIZE;
+    }
+
+    private static byte[] truncatedLabel(String label) {
+        String text = label == null ? "" : label;
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        while (bytes.length > MAX_LABEL_BYTES) {
+            text = text.substring(0, text.offsetByCodePoints(0, text.codePointCount(0, text.length()) - 1));
+            bytes = text.getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes;
+    }
+
+    /**
+     * 拥有者处理命令的回调。
+     */
+    @FunctionalInterface
+    public interface CommandConsumer {
+        void accept(SharedCommand command, int slot, long argument, long senderPid);
+    }
+}
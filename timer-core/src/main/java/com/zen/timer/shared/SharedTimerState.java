@@ -0,0 +1,26 @@
+package com.zen.timer.shared;
+
+import com.zen.timer.model.CountdownStatus;
+
+/**
+ * 共享状态文件中一个计时器槽位的内容。
+ *
+ * @param status          计时器状态
+ * @param initialSeconds  初始时长
+ * @param remainingMillis 写入时的剩余毫秒数
+ * @param updatedAtMillis 写入时拥有者的墙上时钟；运行中的计时器可据此推算当前剩余时间
+ * @param label           预设或分段序列的名称，可能为空字符串
+ */
+public record SharedTimerState(CountdownStatus status, long initialSeconds, long remainingMillis, long updatedAtMillis,
+                               String label) {
+
+    /**
+     * 按 {@code nowMillis} 推算的剩余毫秒数；只有运行中的计时器会随时间减少。
+     */
+    public long remainingMillisAt(long nowMillis) {
+        if (status != CountdownStatus.RUNNING) {
+            return remainingMillis;
+        }
+        return Math.max(0, remainingMillis - Math.max(0, nowMillis - updatedAtMillis));
+    }
+}
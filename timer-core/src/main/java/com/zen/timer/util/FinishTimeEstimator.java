@@ -0,0 +1,102 @@
+package com.zen.timer.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 预计完成时间的增量估算器。
+ * <p>
+ * 每个运行片段（开始或继续）只计算一次完成时刻并缓存格式化后的文本；之后的每次 tick
+ * 只比较墙上时钟与单调时钟的差值，只有检测到系统时间跳变或时区变化时才重新计算，
+ * 因此 tick 路径上没有任何日期时间对象的分配，显示的完成时间也不会来回跳动一秒。
+ */
+public final class FinishTimeEstimator {
+
+    private static final String NOW_TEXT = "现在";
+    private static final String NONE_TEXT = "-";
+    private static final long JUMP_TOLERANCE_MILLIS = 1_000;
+    private static final int ZONE_CHECK_INTERVAL = 60;
+
+    private final LongSupplier wallClockMillis;
+    private final LongSupplier monotonicNanos;
+    private final Supplier<ZoneId> zoneSupplier;
+
+    private long anchorWallMillis;
+    private long anchorNanos;
+    private long finishNanos;
+    private ZoneId zone;
+    private int ticksSinceZoneCheck;
+    private String text = NONE_TEXT;
+    private boolean active;
+
+    public FinishTimeEstimator() {
+        this(System::currentTimeMillis, System::nanoTime, ZoneId::systemDefault);
+    }
+
+    public FinishTimeEstimator(LongSupplier wallClockMillis, LongSupplier monotonicNanos, Supplier<ZoneId> zoneSupplier) {
+        this.wallClockMillis = wallClockMillis;
+        this.monotonicNanos = monotonicNanos;
+        this.zoneSupplier = zoneSupplier;
+    }
+
+    /**
+     * 开始一个新的运行片段，返回预计完成时间文本。
+     */
+    public String begin(long remainingMillis) {
+        if (remainingMillis <= 0) {
+            clear();
+            text = NOW_TEXT;
+            return text;
+        }
+        long nowNanos = monotonicNanos.getAsLong();
+        finishNanos = nowNanos + remainingMillis * 1_000_000L;
+        active = true;
+        recompute(nowNanos, zoneSupplier.get());
+        return text;
+    }
+
+    /**
+     * 在 tick 中调用：时钟未跳变时直接返回缓存的文本实例。
+     */
+    public String current() {
+        if (!active) {
+            return text;
+        }
+        long nowNanos = monotonicNanos.getAsLong();
+        long expectedWall = anchorWallMillis + (nowNanos - anchorNanos) / 1_000_000L;
+        long drift = wallClockMillis.getAsLong() - expectedWall;
+        if (drift > JUMP_TOLERANCE_MILLIS || drift < -JUMP_TOLERANCE_MILLIS) {
+            recompute(nowNanos, zone);
+        }
+        if (++ticksSinceZoneCheck >= ZONE_CHECK_INTERVAL) {
+            ticksSinceZoneCheck = 0;
+            ZoneId latest = zoneSupplier.get();
+            if (!latest.equals(zone)) {
+                recompute(nowNanos, latest);
+            }
+        }
+        return text;
+    }
+
+    /**
+     * 结束当前片段（暂停、复位或完成），之后 {@link #current()} 返回 "-"。
+     */
+    public void clear() {
+        active = false;
+        text = NONE_TEXT;
+    }
+
+    private void recompute(long nowNanos, ZoneId zone) {
+        this.zone = zone;
+        anchorNanos = nowNanos;
+        anchorWallMillis = wallClockMillis.getAsLong();
+        ticksSinceZoneCheck = 0;
+        long finishWallMillis = anchorWallMillis + (finishNanos - nowNanos) / 1_000_000L;
+        long epochSecond = Math.floorDiv(finishWallMillis, 1_000L);
+        int offsetSeconds = zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        long secondOfDay = Math.floorMod(epochSecond + offsetSeconds, TimeUtils.SECONDS_PER_DAY);
+        text = TimeUtils.formatCached(secondOfDay);
+    }
+}
@@ -0,0 +1,59 @@
+package com.zen.timer.util;
+
+/**
+ * 可复用的 HH:mm:ss 文本缓冲区，实现 {@link CharSequence}，每次更新只改写内部字符数组。
+ * 非线程安全，适合由单个线程（如 FX 线程）持有并反复写入。
+ */
+public final class TimeTextBuffer implements CharSequence {
+
+    private final char[] chars = new char[TimeUtils.MAX_FORMATTED_LENGTH];
+    private int length;
+
+    public TimeTextBuffer() {
+        set(0);
+    }
+
+    public TimeTextBuffer set(long seconds) {
+        length = TimeUtils.formatInto(seconds, chars, 0);
+        return this;
+    }
+
+    public char[] buffer() {
+        return chars;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    public boolean contentEquals(CharSequence other) {
+        if (other == null || other.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[i] != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
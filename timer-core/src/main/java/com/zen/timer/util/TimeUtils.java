@@ -0,0 +1,158 @@
+package com.zen.timer.util;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * 时间相关的工具方法。
+ */
+public final class TimeUtils {
+
+    /**
+     * 一天内的秒数，也是 {@link #formatCached(long)} 缓存的字符串数量。
+     */
+    public static final int SECONDS_PER_DAY = 86_400;
+
+    /**
+     * {@link #formatInto} 可能写出的最大字符数：19 位小时 + ":mm:ss"。
+     */
+    public static final int MAX_FORMATTED_LENGTH = 25;
+
+    private static final char[] DIGIT_TENS = new char[100];
+    private static final char[] DIGIT_ONES = new char[100];
+
+    static {
+        for (int i = 0; i < 100; i++) {
+            DIGIT_TENS[i] = (char) ('0' + i / 10);
+            DIGIT_ONES[i] = (char) ('0' + i % 10);
+        }
+    }
+
+    private TimeUtils() {
+    }
+
+    public static long toSeconds(int hours, int minutes, int seconds) {
+        return hours * 3600L + minutes * 60L + seconds;
+    }
+
+    public static String format(long seconds) {
+        long absSeconds = Math.max(seconds, 0);
+        if (absSeconds < SECONDS_PER_DAY) {
+            char[] chars = new char[8];
+            writeClock((int) absSeconds, chars, 0);
+            return new String(chars);
+        }
+        char[] chars = new char[MAX_FORMATTED_LENGTH];
+        int length = formatInto(absSeconds, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * 与 {@link #format(long)} 相同，但一天以内的时长直接返回预先生成的共享字符串实例，
+     * 不产生任何分配。缓存在首次调用时构建。
+     */
+    public static String formatCached(long seconds) {
+        long absSeconds = Math.max(seconds, 0);
+        if (absSeconds < SECONDS_PER_DAY) {
+            return DayTextCache.TEXTS[(int) absSeconds];
+        }
+        return format(absSeconds);
+    }
+
+    /**
+     * 使用两位数查表把时长写入 {@code dst}，返回写入的字符数。小时不足两位时补零，超过两位时完整输出。
+     */
+    public static int formatInto(long seconds, char[] dst, int offset) {
+        long absSeconds = Math.max(seconds, 0);
+        long hours = absSeconds / 3600;
+        int rest = (int) (absSeconds % 3600);
+        int pos = offset;
+        if (hours < 100) {
+            dst[pos++] = DIGIT_TENS[(int) hours];
+            dst[pos++] = DIGIT_ONES[(int) hours];
+        } else {
+            int digits = 0;
+            for (long h = hours; h > 0; h /= 10) {
+                digits++;
+            }
+            for (int i = digits - 1; i >= 0; i--) {
+                dst[pos + i] = (char) ('0' + hours % 10);
+                hours /= 10;
+            }
+            pos += digits;
+        }
+        int minutes = rest / 60;
+        int secs = rest % 60;
+        dst[pos++] = ':';
+        dst[pos++] = DIGIT_TENS[minutes];
+        dst[pos++] = DIGIT_ONES[minutes];
+        dst[pos++] = ':';
+        dst[pos++] = DIGIT_TENS[secs];
+        dst[pos++] = DIGIT_ONES[secs];
+        return pos - offset;
+    }
+
+    /**
+     * 把一天内的秒数写成固定 8 个字符的 HH:mm:ss。
+     */
+    static void writeClock(int secondOfDay, char[] dst, int offset) {
+        int hours = secondOfDay / 3600;
+        int rest = secondOfDay % 3600;
+        int minutes = rest / 60;
+        int secs = rest % 60;
+        dst[offset] = DIGIT_TENS[hours];
+        dst[offset + 1] = DIGIT_ONES[hours];
+        dst[offset + 2] = ':';
+        dst[offset + 3] = DIGIT_TENS[minutes];
+        dst[offset + 4] = DIGIT_ONES[minutes];
+        dst[offset + 5] = ':';
+        dst[offset + 6] = DIGIT_TENS[secs];
+        dst[offset + 7] = DIGIT_ONES[secs];
+    }
+
+    public static double progress(long remainingSeconds, long initialSeconds) {
+        if (initialSeconds <= 0) {
+            return 0;
+        }
+        double consumed = initialSeconds - Math.max(remainingSeconds, 0);
+        return Math.min(1.0, Math.max(0.0, consumed / (double) initialSeconds));
+    }
+
+    public static int hoursPart(long seconds) {
+        return (int) (seconds / 3600);
+    }
+
+    public static int minutesPart(long seconds) {
+        return (int) ((seconds % 3600) / 60);
+    }
+
+    public static int secondsPart(long seconds) {
+        return (int) (seconds % 60);
+    }
+
+    public static String estimateFinishText(long seconds) {
+        if (seconds <= 0) {
+            return "现在";
+        }
+        LocalTime finish = LocalTime.now().plusSeconds(seconds);
+        return formatCached(finish.toSecondOfDay());
+    }
+
+    public static String formatDuration(Duration duration) {
+        long seconds = duration.getSeconds();
+        return format(seconds);
+    }
+
+    private static final class DayTextCache {
+
+        private static final String[] TEXTS = new String[SECONDS_PER_DAY];
+
+        static {
+            char[] chars = new char[8];
+            for (int i = 0; i < SECONDS_PER_DAY; i++) {
+                writeClock(i, chars, 0);
+                TEXTS[i] = new String(chars);
+            }
+        }
+    }
+}
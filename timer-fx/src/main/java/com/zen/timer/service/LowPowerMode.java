@@ -0,0 +1,52 @@
+package com.zen.timer.service;
+
+import javafx.beans.InvalidationListener;
+import javafx.stage.Stage;
+
+import java.util.Objects;
+
+/**
+ * 跟随窗口可见性切换计时引擎的低功耗模式。
+ * <p>
+ * 窗口隐藏或最小化时界面不需要逐秒刷新，引擎只在各计时器的截止时间醒来派发完成；
+ * 窗口重新显示时引擎立即补发一次剩余时间，界面无需等到下一个整秒。
+ * JavaFX 不提供窗口被其他窗口完全遮挡的通知，这种情况仍按可见处理。需在 FX 线程上调用。
+ */
+public final class LowPowerMode {
+
+    private final Stage stage;
+    private final TimerService timerService;
+    private final InvalidationListener visibilityListener = observable -> update();
+
+    private LowPowerMode(Stage stage, TimerService timerService) {
+        this.stage = stage;
+        this.timerService = timerService;
+    }
+
+    public static LowPowerMode attach(Stage stage, TimerService timerService) {
+        Objects.requireNonNull(stage, "stage 必须提供");
+        Objects.requireNonNull(timerService, "timerService 必须提供");
+        LowPowerMode mode = new LowPowerMode(stage, timerService);
+        stage.showingProperty().addListener(mode.visibilityListener);
+        stage.iconifiedProperty().addListener(mode.visibilityListener);
+        mode.update();
+        return mode;
+    }
+
+    public boolean isHidden() {
+        return !stage.isShowing() || stage.isIconified();
+    }
+
+    /**
+     * 停止跟随窗口状态并恢复逐秒 tick。
+     */
+    public void detach() {
+        stage.showingProperty().removeListener(visibilityListener);
+        stage.iconifiedProperty().removeListener(visibilityListener);
+        timerService.setLowPower(false);
+    }
+
+    private void update() {
+        timerService.setLowPower(isHidden());
+    }
+}
@@ -0,0 +1,34 @@
+package com.zen.timer.service;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * 把任务对齐到 JavaFX 的下一次渲染脉冲执行。
+ * <p>
+ * 只有在有任务待执行时才启动内部的 {@link AnimationTimer}，执行完毕后立即停止，
+ * 空闲时不会在每个脉冲上唤醒 FX 线程。
+ */
+class PulseExecutor extends AnimationTimer implements Executor {
+
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void execute(Runnable task) {
+        pending.offer(task);
+        Platform.runLater(this::start);
+    }
+
+    @Override
+    public void handle(long now) {
+        stop();
+        Runnable task;
+        while ((task = pending.poll()) != null) {
+            task.run();
+        }
+    }
+}
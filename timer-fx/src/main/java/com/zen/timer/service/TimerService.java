@@ -0,0 +1,295 @@
+package com.zen.timer.service;
+
+import com.zen.timer.engine.CoalescingDispatcher;
+import com.zen.timer.engine.TimerEngine;
+import com.zen.timer.engine.TimerHandle;
+import com.zen.timer.events.TimerEventBus;
+import com.zen.timer.events.TimerEventType;
+import com.zen.timer.metrics.TimerMetrics;
+import com.zen.timer.model.CompiledSequence;
+import com.zen.timer.model.CountdownStatus;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+
+/**
+ * 基于分层时间轮引擎的倒计时服务。
+ * <p>
+ * {@link #start} / {@link #pause} / {@link #resume} 维持原有的"单个主倒计时"语义，
+ * {@link #schedule} 则可以在同一个调度线程上并行运行任意数量的倒计时，并通过句柄或 id 控制。
+ * <p>
+ * 所有控制方法都不加锁：主倒计时只是一个原子引用，运行、暂停与完成状态由句柄的 CAS 状态字维护，
+ * 因此任意线程的控制调用都不会互相阻塞，也不会与调度线程上的 tick 争用锁。
+ * <p>
+ * 接上 {@link TimerEventBus} 后，主倒计时的启动、tick、暂停、恢复、复位与完成还会发布到总线上，
+ * 其他消费者不必再各自挂接回调。
+ */
+public class TimerService {
+
+    private final TimerEngine engine;
+    private final Executor callbackExecutor;
+    private final AtomicReference<TimerHandle> activeHandle = new AtomicReference<>();
+    private volatile TimerEventBus eventBus;
+    private volatile long activeInitialSeconds;
+
+    public TimerService() {
+        this(new PulseExecutor());
+    }
+
+    /**
+     * 使用自定义的回调执行器，例如在无界面环境或基准测试中替代 FX 线程。
+     */
+    public TimerService(Executor callbackExecutor) {
+        this(new TimerEngine("countdown-timer", callbackExecutor));
+    }
+
+    /**
+     * 使用现成的引擎，例如由 {@link TimerEngine#virtual} 创建、按虚拟时间推进的引擎。
+     */
+    public TimerService(TimerEngine engine) {
+        this.engine = Objects.requireNonNull(engine, "engine 必须提供");
+        this.callbackExecutor = engine.callbackExecutor();
+    }
+
+    public void start(long totalSeconds, LongConsumer onTick, Runnable onFinished) {
+        startMain(TimerEventType.START, totalSeconds, onTick, onFinished);
+    }
+
+    /**
+     * 以毫秒精度启动主倒计时，用于恢复带有不足一秒余量的计时器。
+     */
+    public void startMillis(long remainingMillis, LongConsumer onTick, Runnable onFinished) {
+        Objects.requireNonNull(onTick, "onTick 必须提供");
+        Objects.requireNonNull(onFinished, "onFinished 必须提供");
+        long initialSeconds = (Math.max(remainingMillis, 0) + 999) / 1_000;
+        EventForwarder forwarder = forwarder(initialSeconds, onTick, onFinished);
+        if (remainingMillis <= 0) {
+            replaceActive(null);
+            callbackExecutor.execute(forwarder != null ? forwarder : onFinished);
+            return;
+        }
+        TimerHandle handle = forwarder != null
+                ? engine.scheduleNanos(TimeUnit.MILLISECONDS.toNanos(remainingMillis), forwarder, forwarder)
+                : engine.scheduleNanos(TimeUnit.MILLISECONDS.toNanos(remainingMillis), onTick, onFinished);
+        activate(TimerEventType.START, handle, initialSeconds, forwarder);
+    }
+
+    /**
+     * 以分段序列作为主倒计时：{@code onTick} 收到序列的剩余秒数，分段之间在调度线程上无缝切换。
+     */
+    public void startSequence(CompiledSequence sequence, LongConsumer onTick, Runnable onFinished) {
+        EventForwarder forwarder = forwarder(sequence.totalSeconds(), onTick, onFinished);
+        TimerHandle handle = forwarder != null
+                ? engine.scheduleSequence(sequence, forwarder, forwarder)
+                : engine.scheduleSequence(sequence, onTick, onFinished);
+        activate(TimerEventType.START, handle, sequence.totalSeconds(), forwarder);
+    }
+
+    /**
+     * 按秒数重新启动主倒计时，用于暂停后原句柄已不存在的情况；事件总线上记为恢复而不是启动。
+     */
+    public void resume(long remainingSeconds, LongConsumer onTick, Runnable onFinished) {
+        startMain(TimerEventType.RESUME, remainingSeconds, onTick, onFinished);
+    }
+
+    /**
+     * 按暂停瞬间保存的纳秒级剩余时间恢复主倒计时。没有处于暂停状态的主倒计时时返回 false。
+     */
+    public boolean resume() {
+        TimerHandle handle = activeHandle.get();
+        if (handle == null || !handle.resume()) {
+            return false;
+        }
+        publish(TimerEventType.RESUME, handle.id(), handle.remainingNanos());
+        return true;
+    }
+
+    /**
+     * 暂停主倒计时，保留截止时间之前的精确剩余纳秒数，而不是丢弃不足一秒的部分。
+     * 主倒计时已经到期时暂停不会生效，完成回调照常派发。
+     */
+    public boolean pause() {
+        TimerHandle handle = activeHandle.get();
+        if (handle == null || !handle.pause()) {
+            return false;
+        }
+        publish(TimerEventType.PAUSE, handle.id(), handle.remainingNanos());
+        return true;
+    }
+
+    /**
+     * 主倒计时的当前状态；没有主倒计时时为 {@link CountdownStatus#IDLE}。
+     */
+    public CountdownStatus status() {
+        TimerHandle handle = activeHandle.get();
+        return handle == null ? CountdownStatus.IDLE : handle.status();
+    }
+
+    /**
+     * 主倒计时的剩余毫秒数；暂停时为暂停瞬间的值。
+     */
+    public long remainingMillis() {
+        TimerHandle handle = activeHandle.get();
+        return handle == null ? 0 : handle.remainingMillis();
+    }
+
+    public void stop() {
+        replaceActive(null);
+    }
+
+    /**
+     * 把主倒计时的事件发布到 {@code bus}，传入 null 则停止发布。tick 与完成在回调线程上发布，
+     * 控制事件在调用控制方法的线程上发布，总线的发布同样不加锁，控制方法仍可在任意线程上调用。
+     */
+    public void useEventBus(TimerEventBus bus) {
+        this.eventBus = bus;
+    }
+
+    /**
+     * 启动一个独立的倒计时，不影响主倒计时，返回的句柄可用于暂停、恢复与取消。
+     */
+    public TimerHandle schedule(long totalSeconds, LongConsumer onTick, Runnable onFinished) {
+        return engine.schedule(totalSeconds, onTick, onFinished);
+    }
+
+    public Optional<TimerHandle> find(long id) {
+        return engine.find(id);
+    }
+
+    public boolean pause(long id) {
+        return engine.pause(id);
+    }
+
+    public boolean resume(long id) {
+        return engine.resume(id);
+    }
+
+    public boolean cancel(long id) {
+        return engine.cancel(id);
+    }
+
+    /**
+     * tick 合并派发的统计信息，例如被合并丢弃的过期 tick 数量。
+     */
+    public CoalescingDispatcher dispatcher() {
+        return engine.dispatcher();
+    }
+
+    /**
+     * tick 抖动、派发延迟与处理耗时等运行指标，可注册为 JMX MBean。
+     */
+    public TimerMetrics metrics() {
+        return engine.metrics();
+    }
+
+    public int activeCount() {
+        return engine.activeCount();
+    }
+
+    /**
+     * 开启后不再派发逐秒 tick，只在各计时器到期时唤醒一次；关闭时立即补发当前剩余时间。
+     */
+    public void setLowPower(boolean enabled) {
+        engine.setLowPower(enabled);
+    }
+
+    public boolean isLowPower() {
+        return engine.isLowPower();
+    }
+
+    /**
+     * 系统挂起恢复或墙上时钟跳变后，引擎校正完所有计时器时在回调线程上调用 {@code listener}。
+     */
+    public void addClockListener(Runnable listener) {
+        engine.addClockListener(listener);
+    }
+
+    private void startMain(TimerEventType type, long totalSeconds, LongConsumer onTick, Runnable onFinished) {
+        Objects.requireNonNull(onTick, "onTick 必须提供");
+        Objects.requireNonNull(onFinished, "onFinished 必须提供");
+        EventForwarder forwarder = forwarder(Math.max(totalSeconds, 0), onTick, onFinished);
+        if (totalSeconds <= 0) {
+            replaceActive(null);
+            callbackExecutor.execute(forwarder != null ? forwarder : onFinished);
+            return;
+        }
+        TimerHandle handle = forwarder != null
+                ? engine.schedule(totalSeconds, forwarder, forwarder)
+                : engine.schedule(totalSeconds, onTick, onFinished);
+        activate(type, handle, totalSeconds, forwarder);
+    }
+
+    private EventForwarder forwarder(long initialSeconds, LongConsumer onTick, Runnable onFinished) {
+        TimerEventBus bus = eventBus;
+        return bus == null ? null : new EventForwarder(bus, initialSeconds, onTick, onFinished);
+    }
+
+    private void activate(TimerEventType type, TimerHandle handle, long initialSeconds, EventForwarder forwarder) {
+        if (forwarder != null) {
+            forwarder.timerId = handle.id();
+        }
+        replaceActive(handle);
+        activeInitialSeconds = initialSeconds;
+        publish(type, handle.id(), handle.remainingNanos());
+    }
+
+    /**
+     * 原子地换上新的主倒计时并取消旧的；并发启动时最后换上的一方生效，其余都会被取消。
+     * 旧的主倒计时尚未结束时在事件总线上记为复位。
+     */
+    private void replaceActive(TimerHandle next) {
+        TimerHandle previous = activeHandle.getAndSet(next);
+        if (previous != null && previous.cancel()) {
+            publish(TimerEventType.RESET, previous.id(), previous.remainingNanos());
+        }
+    }
+
+    private void publish(TimerEventType type, long timerId, long remainingNanos) {
+        TimerEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(type, timerId, remainingNanos, activeInitialSeconds);
+        }
+    }
+
+    public void shutdown() {
+        // 关闭时不再发布复位事件，消费者随总线一起关闭
+        eventBus = null;
+        replaceActive(null);
+        engine.shutdown();
+    }
+
+    /**
+     * 在回调线程上先把 tick 与完成发布到事件总线，再交给原来的回调。
+     */
+    private static final class EventForwarder implements LongConsumer, Runnable {
+
+        private final TimerEventBus bus;
+        private final long initialSeconds;
+        private final LongConsumer onTick;
+        private final Runnable onFinished;
+        private volatile long timerId;
+
+        private EventForwarder(TimerEventBus bus, long initialSeconds, LongConsumer onTick, Runnable onFinished) {
+            this.bus = bus;
+            this.initialSeconds = initialSeconds;
+            this.onTick = onTick;
+            this.onFinished = onFinished;
+        }
+
+        @Override
+        public void accept(long remainingSeconds) {
+            bus.publish(TimerEventType.TICK, timerId, TimeUnit.SECONDS.toNanos(remainingSeconds), initialSeconds);
+            onTick.accept(remainingSeconds);
+        }
+
+        @Override
+        public void run() {
+            bus.publish(TimerEventType.COMPLETE, timerId, 0, initialSeconds);
+            onFinished.run();
+        }
+    }
+}